@@ -0,0 +1,55 @@
+package com.thalyson.digitalcourses.course_platform_backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cache do catálogo público. Cada região tem TTL e tamanho máximo próprios
+ * (api.cache.&lt;região&gt;.ttl-seconds / max-size) e registra estatísticas, publicadas pelo
+ * Actuator como cache.gets, cache.puts e cache.evictions. Para trocar a implementação basta
+ * expor outro {@link CacheManager} com as mesmas regiões.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String COURSES = "courses";
+    public static final String CATEGORIES = "categories";
+    public static final String COURSE_MODULES = "course-modules";
+    public static final String MODULE_LESSONS = "module-lessons";
+    public static final String COURSE_OUTLINES = "course-outlines";
+
+    private static final List<String> REGIONS = List.of(COURSES, CATEGORIES, COURSE_MODULES, MODULE_LESSONS, COURSE_OUTLINES);
+
+    @Bean
+    public CacheManager cacheManager(@Value("${api.cache.enabled:true}") boolean enabled, Environment environment) {
+        if (!enabled) {
+            return new NoOpCacheManager();
+        }
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Somente as regiões declaradas; um nome desconhecido em @Cacheable falha em vez de criar cache sem limite.
+        cacheManager.setCacheNames(List.of());
+        cacheManager.setAllowNullValues(false);
+        for (String region : REGIONS) {
+            long ttlSeconds = environment.getProperty("api.cache." + region + ".ttl-seconds", Long.class, 300L);
+            long maxSize = environment.getProperty("api.cache." + region + ".max-size", Long.class, 1000L);
+            cacheManager.registerCustomCache(region, Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                    .recordStats()
+                    .build());
+        }
+        return cacheManager;
+    }
+}
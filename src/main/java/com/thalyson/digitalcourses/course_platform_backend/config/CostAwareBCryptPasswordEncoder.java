@@ -0,0 +1,50 @@
+package com.thalyson.digitalcourses.course_platform_backend.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt que pede rehash sempre que o custo gravado difere do configurado, para cima ou para
+ * baixo. O BCryptPasswordEncoder padrão só considera hashes com custo menor.
+ */
+public class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    public static final String ID = "bcrypt";
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$.{53}$");
+
+    private final int strength;
+
+    public CostAwareBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Encoder com prefixo {id}. Hashes antigos, sem prefixo, continuam sendo aceitos como BCrypt
+     * e são regravados com o prefixo no próximo login.
+     */
+    public static DelegatingPasswordEncoder delegating(int strength) {
+        PasswordEncoder bcrypt = new CostAwareBCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(ID, Map.of(ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            return false;
+        }
+        return Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
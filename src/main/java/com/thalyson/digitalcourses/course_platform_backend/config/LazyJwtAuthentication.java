@@ -0,0 +1,106 @@
+package com.thalyson.digitalcourses.course_platform_backend.config;
+
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Autenticação de um token JWT já verificado, em que o usuário só é carregado no primeiro acesso
+ * ao principal ou às authorities. Rotas permitAll e regras que exigem apenas "authenticated"
+ * não disparam nenhuma consulta.
+ *
+ * <p>Se o usuário do token não existir mais, o acesso ao principal lança
+ * {@link BadCredentialsException}, tratada como 401.
+ */
+public class LazyJwtAuthentication implements Authentication {
+
+    private final String subject;
+    private final transient Function<String, Optional<UserJPA>> loader;
+    private volatile UserJPA user;
+
+    public LazyJwtAuthentication(String subject, Function<String, Optional<UserJPA>> loader) {
+        this.subject = subject;
+        this.loader = loader;
+    }
+
+    private UserJPA user() {
+        UserJPA resolved = user;
+        if (resolved == null) {
+            synchronized (this) {
+                resolved = user;
+                if (resolved == null) {
+                    resolved = loader.apply(subject)
+                            .orElseThrow(() -> new BadCredentialsException("Usuário associado ao token não foi encontrado."));
+                    user = resolved;
+                }
+            }
+        }
+        return resolved;
+    }
+
+    public boolean isResolved() {
+        return user != null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return user();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return user().getAuthorities();
+    }
+
+    @Override
+    public String getName() {
+        return subject;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        if (isAuthenticated) {
+            throw new IllegalArgumentException("LazyJwtAuthentication já é criada autenticada");
+        }
+        throw new UnsupportedOperationException("Não é possível desautenticar um token JWT verificado");
+    }
+
+    // equals, hashCode e toString usam apenas o subject para não carregar o usuário por acidente.
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Objects.equals(subject, ((LazyJwtAuthentication) o).subject);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(subject);
+    }
+
+    @Override
+    public String toString() {
+        return "LazyJwtAuthentication[subject=" + subject + ", resolved=" + isResolved() + "]";
+    }
+}
@@ -1,10 +1,12 @@
 package com.thalyson.digitalcourses.course_platform_backend.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,7 +18,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
@@ -24,6 +25,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -41,6 +43,7 @@ public class SecurityConfigurations {
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(req -> {
                     req.requestMatchers(HttpMethod.POST, "/login").permitAll();
+                    req.requestMatchers(HttpMethod.POST, "/login/refresh").permitAll();
                     req.requestMatchers(HttpMethod.POST, "/register/instructor").permitAll();
                     req.requestMatchers(HttpMethod.POST, "/register/student").permitAll();
 
@@ -50,9 +53,12 @@ public class SecurityConfigurations {
                     req.requestMatchers("/v3/api-docs/**").permitAll();
                     req.requestMatchers("/test/protected/public").permitAll();
                     req.requestMatchers("/admin/**").hasRole("ADMIN");
+                    req.requestMatchers("/actuator/health").permitAll();
+                    req.requestMatchers("/actuator/**").hasRole("ADMIN");
                     req.requestMatchers(HttpMethod.POST, "/courses", "/courses/*/modules", "/modules/*/lessons")
                             .hasAnyRole("INSTRUCTOR", "ADMIN");
                     req.requestMatchers(HttpMethod.GET, "/categories/**").permitAll();
+                    req.requestMatchers(HttpMethod.GET, "/autocomplete").permitAll();
                     req.requestMatchers(HttpMethod.GET, "/enrollments/user/*").permitAll();
                     req.requestMatchers(HttpMethod.GET, "/enrollments/course/*").permitAll();
                     req.requestMatchers(HttpMethod.GET, "/enrollments/*").permitAll();
@@ -67,9 +73,26 @@ public class SecurityConfigurations {
                 .build();
     }
 
+    @Value("${api.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${api.security.password-hashing.threads:0}")
+    private int passwordHashingThreads;
+
+    @Value("${api.security.password-hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${api.security.password-hashing.timeout-ms:2000}")
+    private long passwordHashingTimeoutMs;
+
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry){
+        // Por padrão deixa metade dos núcleos livre para o restante da API.
+        int threads = passwordHashingThreads > 0
+                ? passwordHashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(CostAwareBCryptPasswordEncoder.delegating(bcryptStrength), threads, passwordHashingQueueCapacity,
+                Duration.ofMillis(passwordHashingTimeoutMs), meterRegistry);
     }
 
     @Bean
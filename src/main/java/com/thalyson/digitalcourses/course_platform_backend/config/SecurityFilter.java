@@ -3,6 +3,7 @@ package com.thalyson.digitalcourses.course_platform_backend.config;
 import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.thalyson.digitalcourses.course_platform_backend.service.PrincipalCache;
 import com.thalyson.digitalcourses.course_platform_backend.service.TokenService;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
@@ -11,7 +12,9 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -29,10 +32,15 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private UserRepository repository;
 
+    @Autowired
+    private PrincipalCache principalCache;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Value("${api.security.token.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response , FilterChain filterChain)
             throws ServletException, IOException {
@@ -41,18 +49,21 @@ public class SecurityFilter extends OncePerRequestFilter {
 
         if (tokenJWT != null) {
             try {
-                var subject = tokenService.getSubject(tokenJWT);
-
-                Optional<UserJPA> optionalUser = repository.findByEmail(subject);
-
-                if (optionalUser.isEmpty()) {
-                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Usuário associado ao token não foi encontrado.");
-                    return;
+                var decodedJWT = tokenService.verify(tokenJWT);
+
+                Optional<UserJPA> claimsPrincipal = statelessPrincipal
+                        ? tokenService.principalFromClaims(decodedJWT)
+                        : Optional.empty();
+
+                Authentication authentication;
+                if (claimsPrincipal.isPresent()) {
+                    var user = claimsPrincipal.get();
+                    authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                } else {
+                    // O usuário só é buscado (cache ou banco) quando o principal ou as roles forem usados.
+                    authentication = new LazyJwtAuthentication(decodedJWT.getSubject(),
+                            subject -> principalCache.get(subject, repository::findByEmail));
                 }
-
-                var user = optionalUser.get();
-
-                var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
             } catch (TokenExpiredException e){
@@ -0,0 +1,42 @@
+package com.thalyson.digitalcourses.course_platform_backend.controller;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosSugestaoAutocomplete;
+import com.thalyson.digitalcourses.course_platform_backend.service.AutocompleteIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/autocomplete")
+@Tag(name = "Autocomplete", description = "Sugestões de cursos e categorias enquanto o usuário digita")
+public class AutocompleteController {
+
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
+
+    @GetMapping
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Sugere cursos e categorias por prefixo", description = "Retorna cursos publicados e categorias com alguma palavra começando pelo prefixo informado, ignorando maiúsculas e acentos. Respondido da memória, sem consulta ao banco.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso (lista vazia se nada corresponder)")
+    })
+    public ResponseEntity<List<DadosSugestaoAutocomplete>> suggest(
+            @Parameter(description = "Início do título ou de uma palavra do título", required = true)
+            @RequestParam String prefix,
+            @Parameter(description = "Quantidade máxima de sugestões (máximo 20)")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(autocompleteIndex.suggest(prefix, limit));
+    }
+}
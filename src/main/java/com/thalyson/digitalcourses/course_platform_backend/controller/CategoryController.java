@@ -2,6 +2,7 @@ package com.thalyson.digitalcourses.course_platform_backend.controller;
 
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosCadastroCategory;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoCategory;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosResumoCategory;
 import com.thalyson.digitalcourses.course_platform_backend.model.CategoryJPA;
 import com.thalyson.digitalcourses.course_platform_backend.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,7 +24,6 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.net.URI;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/categories")
@@ -56,11 +56,17 @@ public class CategoryController {
     @Operation(summary = "Lista todas as categorias", description = "Retorna uma lista de todas as categorias. Acesso permitido a todos os usuários.")
     @ApiResponse(responseCode = "200", description = "Lista de categorias retornada com sucesso")
     public ResponseEntity<List<DadosDetalhamentoCategory>> listAllCategories() {
-        List<CategoryJPA> categories = categoryService.findAll();
-        List<DadosDetalhamentoCategory> dadosDetalhamento = categories.stream()
-                .map(DadosDetalhamentoCategory::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dadosDetalhamento);
+        return ResponseEntity.ok(categoryService.findAllDetails());
+    }
+
+    @GetMapping("/summary")
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Lista as categorias com a quantidade de cursos publicados",
+            description = "Retorna todas as categorias ordenadas por nome com a quantidade de cursos publicados em cada uma. " +
+                    "As contagens vêm de um resumo recalculado em segundo plano e podem levar alguns instantes para refletir alterações recentes.")
+    @ApiResponse(responseCode = "200", description = "Resumo de categorias retornado com sucesso")
+    public ResponseEntity<List<DadosResumoCategory>> listCategorySummary() {
+        return ResponseEntity.ok(categoryService.findSummary());
     }
 
     @GetMapping("/{id}")
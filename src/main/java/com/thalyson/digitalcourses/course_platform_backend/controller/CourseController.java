@@ -1,8 +1,13 @@
 package com.thalyson.digitalcourses.course_platform_backend.controller;
 
+import com.thalyson.digitalcourses.course_platform_backend.dto.CatalogVersion;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoCourse;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosCadastroCourse;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosFiltroCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosNavegacaoCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosOutlineCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosPaginaCursor;
 import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
 import com.thalyson.digitalcourses.course_platform_backend.service.CourseService;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
@@ -19,13 +24,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 @RestController
@@ -59,11 +67,135 @@ public class CourseController {
     @Operation(summary = "Lista todos os cursos", description = "Retorna uma lista paginada de todos os cursos, visível para todos os usuários.")
     @ApiResponse(responseCode = "200", description = "Lista de cursos retornada com sucesso")
     public ResponseEntity<Page<DadosDetalhamentoCourse>> listAllCourses(
-            @Parameter(description = "Configurações de paginação") @PageableDefault(size = 10, sort = {"title"}) Pageable pageable
+            @Parameter(description = "Configurações de paginação") @PageableDefault(size = 10, sort = {"title"}) Pageable pageable,
+            WebRequest webRequest
     ) {
+        CatalogVersion version = courseService.findListVersion();
+        if (webRequest.checkNotModified(version.eTag(pageKey(pageable)), version.lastModifiedMillis())) {
+            return null;
+        }
         Page<CourseJPA> coursesPage = courseService.findAll(pageable);
         Page<DadosDetalhamentoCourse> dadosDetalhamentoPage = coursesPage.map(DadosDetalhamentoCourse::new);
-        return ResponseEntity.ok(dadosDetalhamentoPage);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(dadosDetalhamentoPage);
+    }
+
+    @GetMapping(params = {"fields", "!cursor"})
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Lista os cursos com campos selecionados", description = "Igual à listagem paginada, mas cada curso traz apenas os campos informados em fields. Sem instructor e category, instrutor e categoria nem são consultados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de cursos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Campo ou ordenação desconhecidos")
+    })
+    public ResponseEntity<Page<Map<String, Object>>> listCoursesWithFields(
+            @Parameter(description = "Campos separados por vírgula, ex.: id,title,thumbnailUrl")
+            @RequestParam String fields,
+            @Parameter(description = "Configurações de paginação") @PageableDefault(size = 10, sort = {"title"}) Pageable pageable
+    ) {
+        return ResponseEntity.ok(courseService.findAllSparse(pageable, fields));
+    }
+
+    @GetMapping(params = {"cursor", "!fields"})
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Lista os cursos por cursor", description = "Listagem ordenada por título sem OFFSET: envie cursor vazio na primeira página e depois o nextCursor recebido. O total só é calculado com includeTotal=true.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de cursos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    public ResponseEntity<DadosPaginaCursor<DadosDetalhamentoCourse>> listCoursesByCursor(
+            @Parameter(description = "Cursor devolvido pela página anterior; vazio para a primeira página")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de cursos por página (máximo 100)")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Se true, inclui o total de cursos na resposta")
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(courseService.findAllByCursor(cursor, size, includeTotal));
+    }
+
+    @GetMapping(params = {"cursor", "fields"})
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Lista os cursos por cursor com campos selecionados", description = "Igual à listagem por cursor, mas cada curso traz apenas os campos informados em fields.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de cursos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou campo inválidos")
+    })
+    public ResponseEntity<DadosPaginaCursor<Map<String, Object>>> listCoursesByCursorWithFields(
+            @Parameter(description = "Cursor devolvido pela página anterior; vazio para a primeira página")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Campos separados por vírgula, ex.: id,title,thumbnailUrl")
+            @RequestParam String fields,
+            @Parameter(description = "Quantidade de cursos por página (máximo 100)")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Se true, inclui o total de cursos na resposta")
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(courseService.findAllByCursorSparse(cursor, size, includeTotal, fields));
+    }
+
+    @GetMapping("/browse")
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Navega pelos cursos com filtros e facetas", description = "Lista os cursos ordenados por título, filtrando por categoria, instrutor e publicação, e retorna a quantidade de cursos por valor de cada faceta.")
+    @ApiResponse(responseCode = "200", description = "Página de cursos e contagens retornadas com sucesso")
+    public ResponseEntity<DadosNavegacaoCourse> browseCourses(
+            @Parameter(description = "Filtra por categoria")
+            @RequestParam(required = false) Integer categoryId,
+            @Parameter(description = "Filtra por instrutor")
+            @RequestParam(required = false) Long instructorId,
+            @Parameter(description = "Filtra por cursos publicados (true) ou não publicados (false)")
+            @RequestParam(required = false) Boolean published,
+            @Parameter(description = "Número da página, começando em 0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Quantidade de cursos por página (máximo 100)")
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        DadosFiltroCourse filter = new DadosFiltroCourse(categoryId, instructorId, published);
+        return ResponseEntity.ok(courseService.browse(filter, page, size));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Busca cursos por texto", description = "Busca nos títulos e descrições dos cursos publicados, ordenando por relevância. Aceita a sintaxe de busca web (\"frase exata\", -termo, OR). Pagina por cursor: envie o nextCursor recebido para a próxima página.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultados da busca retornados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Termo de busca vazio ou cursor inválido")
+    })
+    public ResponseEntity<DadosPaginaCursor<DadosDetalhamentoCourse>> searchCourses(
+            @Parameter(description = "Termo de busca", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Filtra os resultados por categoria")
+            @RequestParam(required = false) Integer categoryId,
+            @Parameter(description = "Cursor devolvido pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de cursos por página (máximo 100)")
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(courseService.search(q, categoryId, cursor, size));
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Busca um curso por ID com campos selecionados", description = "Retorna apenas os campos informados em fields.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Curso encontrado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Campo desconhecido"),
+            @ApiResponse(responseCode = "404", description = "Curso não encontrado")
+    })
+    public ResponseEntity<Map<String, Object>> getCourseByIdWithFields(
+            @Parameter(description = "ID do curso a ser buscado", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Campos separados por vírgula, ex.: id,title,thumbnailUrl")
+            @RequestParam String fields,
+            WebRequest webRequest
+    ) {
+        CatalogVersion version = courseService.findVersion(id)
+                .orElseThrow(() -> new NoSuchElementException("Curso não encontrado com ID: " + id));
+        if (webRequest.checkNotModified(version.eTag(id), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        Map<String, Object> course = courseService.findSparseById(id, fields)
+                .orElseThrow(() -> new NoSuchElementException("Curso não encontrado com ID: " + id));
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(course);
     }
 
     @GetMapping("/{id}")
@@ -77,11 +209,43 @@ public class CourseController {
     })
     public ResponseEntity<DadosDetalhamentoCourse> getCourseById(
             @Parameter(description = "ID do curso a ser buscado", required = true)
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest webRequest
     ) {
-        CourseJPA course = courseService.findById(id)
+        CatalogVersion version = courseService.findVersion(id)
+                .orElseThrow(() -> new NoSuchElementException("Curso não encontrado com ID: " + id));
+        if (webRequest.checkNotModified(version.eTag(id), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        DadosDetalhamentoCourse course = courseService.findDetailsById(id)
                 .orElseThrow(() -> new NoSuchElementException("Curso não encontrado com ID: " + id));
-        return ResponseEntity.ok(new DadosDetalhamentoCourse(course));
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(course);
+    }
+
+    @GetMapping("/{id}/outline")
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Busca a estrutura completa de um curso", description = "Retorna o curso com todos os seus módulos e aulas em uma única resposta, sem repetir os dados do curso em cada item.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estrutura do curso retornada com sucesso",
+                    content = @Content(schema = @Schema(implementation = DadosOutlineCourse.class))),
+            @ApiResponse(responseCode = "304", description = "A estrutura não mudou desde a versão informada em If-None-Match"),
+            @ApiResponse(responseCode = "404", description = "Curso não encontrado")
+    })
+    public ResponseEntity<DadosOutlineCourse> getCourseOutline(
+            @Parameter(description = "ID do curso", required = true)
+            @PathVariable Long id,
+            WebRequest webRequest
+    ) {
+        CatalogVersion version = courseService.findOutlineVersion(id)
+                .orElseThrow(() -> new NoSuchElementException("Curso não encontrado com ID: " + id));
+        if (webRequest.checkNotModified(version.eTag(id), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        DadosOutlineCourse outline = courseService.findOutline(id)
+                .orElseThrow(() -> new NoSuchElementException("Curso não encontrado com ID: " + id));
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(outline);
     }
 
     @PutMapping("/{id}")
@@ -97,9 +261,10 @@ public class CourseController {
     public ResponseEntity<DadosDetalhamentoCourse> updateCourse(
             @Parameter(description = "ID do curso a ser atualizado", required = true)
             @PathVariable Long id,
-            @RequestBody @Valid DadosAtualizacaoCourse dados
+            @RequestBody @Valid DadosAtualizacaoCourse dados,
+            @AuthenticationPrincipal UserJPA authenticatedUser
             ) {
-        CourseJPA updatedCourse = courseService.update(id, dados);
+        CourseJPA updatedCourse = courseService.update(id, dados, authenticatedUser);
         return ResponseEntity.ok(new DadosDetalhamentoCourse(updatedCourse));
     }
 
@@ -118,4 +283,12 @@ public class CourseController {
         courseService.delete(id, authenticatedUser);
         return ResponseEntity.noContent().build();
     }
+
+    // A versão é a mesma para todas as páginas; o ETag leva página, tamanho e ordenação para não
+    // validar uma página com o ETag de outra.
+    private static String pageKey(Pageable pageable) {
+        StringBuilder key = new StringBuilder("courses-").append(pageable.getPageNumber()).append('-').append(pageable.getPageSize());
+        pageable.getSort().forEach(order -> key.append('-').append(order.getProperty()).append('.').append(order.getDirection()));
+        return key.toString();
+    }
 }
@@ -3,10 +3,14 @@ package com.thalyson.digitalcourses.course_platform_backend.controller;
 import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoEnrollment;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoPlayback;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosCadastroEnrollment;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoEnrollment;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoPlayback;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosSincronizacaoProgress;
 import com.thalyson.digitalcourses.course_platform_backend.model.EnrollmentJPA;
 import com.thalyson.digitalcourses.course_platform_backend.service.EnrollmentService;
+import com.thalyson.digitalcourses.course_platform_backend.service.PlaybackPositionService;
 import com.thalyson.digitalcourses.course_platform_backend.exception.ResourceNotFoundException;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
@@ -30,7 +34,6 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/enrollments")
@@ -41,6 +44,9 @@ public class EnrollmentController {
     @Autowired
     private EnrollmentService enrollmentService;
 
+    @Autowired
+    private PlaybackPositionService playbackPositionService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -70,7 +76,7 @@ public class EnrollmentController {
 
         EnrollmentJPA newEnrollment = enrollmentService.create(dados);
         URI uri = uriBuilder.path("/enrollments/{id}").buildAndExpand(newEnrollment.getId()).toUri();
-        return ResponseEntity.created(uri).body(new DadosDetalhamentoEnrollment(newEnrollment));
+        return ResponseEntity.created(uri).body(enrollmentService.toDetails(newEnrollment));
     }
 
     @GetMapping("/user/{userId}")
@@ -88,10 +94,7 @@ public class EnrollmentController {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + userId));
 
         List<EnrollmentJPA> enrollments = enrollmentService.findByUser(user);
-        List<DadosDetalhamentoEnrollment> response = enrollments.stream()
-                .map(DadosDetalhamentoEnrollment::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(enrollmentService.toDetails(enrollments));
     }
 
     @GetMapping("/course/{courseId}")
@@ -109,10 +112,7 @@ public class EnrollmentController {
                 .orElseThrow(() -> new ResourceNotFoundException("Curso não encontrado com ID: " + courseId));
 
         List<EnrollmentJPA> enrollments = enrollmentService.findByCourse(course);
-        List<DadosDetalhamentoEnrollment> response = enrollments.stream()
-                .map(DadosDetalhamentoEnrollment::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(enrollmentService.toDetails(enrollments));
     }
 
     @GetMapping("/{id}")
@@ -132,7 +132,7 @@ public class EnrollmentController {
         EnrollmentJPA enrollment = enrollmentService.findById(id, loggedInUser);
 
 
-        return ResponseEntity.ok(new DadosDetalhamentoEnrollment(enrollment));
+        return ResponseEntity.ok(enrollmentService.toDetails(enrollment));
     }
 
     @PutMapping("/{enrollmentId}/progress")
@@ -151,8 +151,58 @@ public class EnrollmentController {
             @RequestBody @Valid DadosAtualizacaoEnrollment dados,
             @AuthenticationPrincipal UserJPA loggedInUser
     ) {
-        EnrollmentJPA updatedEnrollment = enrollmentService.updateEnrollment(enrollmentId, dados, loggedInUser);
-        return ResponseEntity.ok(new DadosDetalhamentoEnrollment(updatedEnrollment));
+        return ResponseEntity.ok(enrollmentService.updateEnrollment(enrollmentId, dados, loggedInUser));
+    }
+
+    @PostMapping("/progress/sync")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Sincroniza conclusões feitas offline", description = "Registra de uma vez várias conclusões de aula, de uma ou mais matrículas. O lote é validado por inteiro antes da gravação. Apenas o dono das matrículas ou um administrador pode realizar a ação.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conclusões registradas; retorna as matrículas atualizadas"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos (ex: aula não pertence ao curso da matrícula)"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado a alguma das matrículas"),
+            @ApiResponse(responseCode = "404", description = "Matrícula não encontrada")
+    })
+    public ResponseEntity<List<DadosDetalhamentoEnrollment>> syncProgress(
+            @RequestBody @Valid DadosSincronizacaoProgress dados,
+            @AuthenticationPrincipal UserJPA loggedInUser
+    ) {
+        return ResponseEntity.ok(enrollmentService.syncProgress(dados, loggedInUser));
+    }
+
+    @PutMapping("/{enrollmentId}/playback")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Registra a posição de reprodução de uma aula", description = "Recebe os segundos já assistidos de uma aula, enviados periodicamente pelo player. A posição é gravada em lote alguns segundos depois; ao passar da fração configurada da duração, a aula é concluída. Apenas o dono da matrícula ou um administrador pode realizar a ação.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posição registrada com sucesso",
+                    content = @Content(schema = @Schema(implementation = DadosDetalhamentoPlayback.class))),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos (ex: aula não pertence ao curso)"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "404", description = "Matrícula ou aula não encontrada")
+    })
+    public ResponseEntity<DadosDetalhamentoPlayback> updatePlayback(
+            @Parameter(description = "ID da matrícula", required = true)
+            @PathVariable Long enrollmentId,
+            @RequestBody @Valid DadosAtualizacaoPlayback dados,
+            @AuthenticationPrincipal UserJPA loggedInUser
+    ) {
+        return ResponseEntity.ok(playbackPositionService.report(enrollmentId, dados, loggedInUser));
+    }
+
+    @GetMapping("/{enrollmentId}/playback")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Lista as posições de reprodução de uma matrícula", description = "Retorna, por aula, o ponto em que o aluno parou. Apenas o dono da matrícula ou um administrador pode realizar a ação.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posições retornadas com sucesso"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "404", description = "Matrícula não encontrada")
+    })
+    public ResponseEntity<List<DadosDetalhamentoPlayback>> getPlayback(
+            @Parameter(description = "ID da matrícula", required = true)
+            @PathVariable Long enrollmentId,
+            @AuthenticationPrincipal UserJPA loggedInUser
+    ) {
+        return ResponseEntity.ok(playbackPositionService.findByEnrollment(enrollmentId, loggedInUser));
     }
 
     @DeleteMapping("/{enrollmentId}")
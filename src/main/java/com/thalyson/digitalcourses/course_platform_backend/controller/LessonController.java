@@ -2,13 +2,12 @@ package com.thalyson.digitalcourses.course_platform_backend.controller;
 
 
 import com.thalyson.digitalcourses.course_platform_backend.exception.ResourceNotFoundException;
+import com.thalyson.digitalcourses.course_platform_backend.dto.CatalogVersion;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoLesson;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosCadastroLesson;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoLesson;
 import com.thalyson.digitalcourses.course_platform_backend.model.LessonJPA;
 import com.thalyson.digitalcourses.course_platform_backend.service.LessonService;
-import com.thalyson.digitalcourses.course_platform_backend.model.ModuleJPA;
-import com.thalyson.digitalcourses.course_platform_backend.service.ModuleService;
 import com.thalyson.digitalcourses.course_platform_backend.validation.annotation.ExistingModule;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,17 +20,20 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 
 @RestController
@@ -44,9 +46,6 @@ public class LessonController {
     @Autowired
     private LessonService lessonService;
 
-    @Autowired
-    private ModuleService moduleService;
-
     @PostMapping
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Cria uma nova aula em um módulo", description = "Permite que um instrutor ou administrador adicione uma nova aula a um módulo existente.")
@@ -83,13 +82,41 @@ public class LessonController {
     })
     public ResponseEntity<List<DadosDetalhamentoLesson>> listLessonsByModule(
             @Parameter(description = "ID do módulo para listar as aulas", required = true)
-            @PathVariable Long moduleId
+            @PathVariable Long moduleId,
+            WebRequest webRequest
     ) {
-        ModuleJPA module = moduleService.findById(moduleId).get();
-        List<LessonJPA> lessons = lessonService.listByModule(module);
-        List<DadosDetalhamentoLesson> dadosDetalhamento = lessons.stream().map(DadosDetalhamentoLesson::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dadosDetalhamento);
+        CatalogVersion version = lessonService.findListVersion(moduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Módulo não encontrado com ID: " + moduleId));
+        if (webRequest.checkNotModified(version.eTag(moduleId), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        List<DadosDetalhamentoLesson> dadosDetalhamento = lessonService.listDetailsByModule(moduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Módulo não encontrado com ID: " + moduleId));
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(dadosDetalhamento);
+    }
+
+    @GetMapping(params = "fields")
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Lista as aulas de um módulo com campos selecionados", description = "Retorna apenas os campos informados em fields. Sem module, módulo, curso, instrutor e categoria não são consultados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de aulas retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Campo desconhecido"),
+            @ApiResponse(responseCode = "404", description = "Módulo não encontrado")
+    })
+    public ResponseEntity<List<Map<String, Object>>> listLessonsByModuleWithFields(
+            @Parameter(description = "ID do módulo para listar as aulas", required = true)
+            @PathVariable Long moduleId,
+            @Parameter(description = "Campos separados por vírgula, ex.: id,title,durationSeconds")
+            @RequestParam String fields,
+            WebRequest webRequest
+    ) {
+        CatalogVersion version = lessonService.findListVersion(moduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Módulo não encontrado com ID: " + moduleId));
+        if (webRequest.checkNotModified(version.eTag(moduleId), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(lessonService.listSparseByModule(moduleId, fields));
     }
 
     @GetMapping("/{lessonId}")
@@ -104,15 +131,21 @@ public class LessonController {
             @Parameter(description = "ID do módulo", required = true)
             @PathVariable @ExistingModule Long moduleId,
             @Parameter(description = "ID da aula a ser buscada", required = true)
-            @PathVariable Long lessonId
+            @PathVariable Long lessonId,
+            WebRequest webRequest
     ) {
+        Optional<CatalogVersion> version = lessonService.findVersion(moduleId, lessonId);
+        if (version.isPresent() && webRequest.checkNotModified(version.get().eTag(lessonId), version.get().lastModifiedMillis())) {
+            return null;
+        }
+
         LessonJPA lesson = lessonService.findById(lessonId)
                 .orElseThrow(() -> new NoSuchElementException("Aula não encontrada com ID: " + lessonId));
 
         if (!lesson.getModule().getId().equals(moduleId)) {
             throw new ResourceNotFoundException("Aula com ID " + lessonId + " não pertence ao módulo com ID " + moduleId + ".");
         }
-        return ResponseEntity.ok(new DadosDetalhamentoLesson(lesson));
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(new DadosDetalhamentoLesson(lesson));
     }
 
     @PutMapping("/{lessonId}")
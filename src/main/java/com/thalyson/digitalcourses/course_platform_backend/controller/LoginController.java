@@ -1,6 +1,10 @@
 package com.thalyson.digitalcourses.course_platform_backend.controller;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosLogin;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosRefreshToken;
+import com.thalyson.digitalcourses.course_platform_backend.service.LoginRateLimiter;
+import com.thalyson.digitalcourses.course_platform_backend.service.RefreshTokenService;
 import com.thalyson.digitalcourses.course_platform_backend.service.TokenService;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,11 +13,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -30,20 +36,61 @@ public class LoginController {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     @PostMapping
-    @Operation(summary = "Realiza o login do usuário", description = "Autentica o usuário com email e senha e retorna um token JWT.")
+    @Operation(summary = "Realiza o login do usuário", description = "Autentica o usuário com email e senha e retorna um token JWT e um refresh token.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Login bem-sucedido, retorna o token JWT",
+            @ApiResponse(responseCode = "200", description = "Login bem-sucedido, retorna o token JWT e o refresh token",
                     content = @Content(schema = @Schema(implementation = DadosTokenJWT.class))),
             @ApiResponse(responseCode = "400", description = "Credenciais inválidas ou dados de entrada incorretos"),
-            @ApiResponse(responseCode = "401", description = "Credenciais inválidas.")
+            @ApiResponse(responseCode = "401", description = "Credenciais inválidas."),
+            @ApiResponse(responseCode = "429", description = "Muitas tentativas para o mesmo IP ou email."),
+            @ApiResponse(responseCode = "503", description = "Serviço de autenticação sobrecarregado.")
     })
-    public ResponseEntity<DadosTokenJWT> Login(@RequestBody @Valid DadosLogin dados){
+    public ResponseEntity<DadosTokenJWT> Login(@RequestBody @Valid DadosLogin dados, HttpServletRequest request){
+        loginRateLimiter.acquire(request.getRemoteAddr(), dados.email());
         var authenticationToken = new UsernamePasswordAuthenticationToken(dados.email(), dados.password());
         var authentication = manager.authenticate(authenticationToken);
-        var jwtToken = tokenService.gerarToken((UserJPA) authentication.getPrincipal());
-        return ResponseEntity.ok(new DadosTokenJWT(jwtToken));
+        var user = (UserJPA) authentication.getPrincipal();
+        var jwtToken = tokenService.gerarToken(user);
+        var refreshToken = refreshTokenService.issue(user);
+        return ResponseEntity.ok(new DadosTokenJWT(jwtToken, refreshToken));
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Renova o token JWT", description = "Troca um refresh token válido por um novo token JWT e um novo refresh token. O refresh token usado deixa de ser aceito.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens renovados com sucesso",
+                    content = @Content(schema = @Schema(implementation = DadosTokenJWT.class))),
+            @ApiResponse(responseCode = "400", description = "Refresh token não informado"),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado ou já utilizado.")
+    })
+    public ResponseEntity<DadosTokenJWT> refresh(@RequestBody @Valid DadosRefreshToken dados){
+        var rotated = refreshTokenService.rotate(dados.refreshToken());
+        var jwtToken = tokenService.gerarToken(rotated.user());
+        return ResponseEntity.ok(new DadosTokenJWT(jwtToken, rotated.refreshToken()));
     }
 
-    public record DadosTokenJWT(String token) {}
+    @PostMapping("/revoke")
+    @Operation(summary = "Encerra as sessões do usuário", description = "Revoga todos os refresh tokens do usuário autenticado.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Refresh tokens revogados"),
+            @ApiResponse(responseCode = "401", description = "Usuário não autenticado.")
+    })
+    public ResponseEntity<Void> revoke(@AuthenticationPrincipal UserJPA loggedInUser){
+        refreshTokenService.revokeAll(loggedInUser.getId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record DadosTokenJWT(String token, String refreshToken) {
+        public DadosTokenJWT(String token) {
+            this(token, null);
+        }
+    }
 }
@@ -4,6 +4,7 @@ package com.thalyson.digitalcourses.course_platform_backend.controller;
 import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
 import com.thalyson.digitalcourses.course_platform_backend.service.CourseService;
 import com.thalyson.digitalcourses.course_platform_backend.exception.ResourceNotFoundException;
+import com.thalyson.digitalcourses.course_platform_backend.dto.CatalogVersion;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoModule;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosCadastroModule;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoModule;
@@ -20,14 +21,18 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/courses/{courseId}/modules")
@@ -81,13 +86,38 @@ public class ModuleController {
     })
     public ResponseEntity<List<DadosDetalhamentoModule>> listModulesByCourse(
             @Parameter(description = "ID do curso para listar os módulos", required = true)
-            @PathVariable Long courseId
+            @PathVariable Long courseId,
+            WebRequest webRequest
     ) {
-        CourseJPA course = courseService.findById(courseId)
+        CatalogVersion version = courseService.findModulesVersion(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Curso não encontrado com ID: " + courseId));
+        if (webRequest.checkNotModified(version.eTag(courseId), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(moduleService.listDetailsByCourse(courseId));
+    }
+
+    @GetMapping(params = "fields")
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Lista os módulos de um curso com campos selecionados", description = "Retorna apenas os campos informados em fields. Sem course, o curso não é consultado.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de módulos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Campo desconhecido"),
+            @ApiResponse(responseCode = "404", description = "Curso não encontrado")
+    })
+    public ResponseEntity<List<Map<String, Object>>> listModulesByCourseWithFields(
+            @Parameter(description = "ID do curso para listar os módulos", required = true)
+            @PathVariable Long courseId,
+            @Parameter(description = "Campos separados por vírgula, ex.: id,title,orderIndex")
+            @RequestParam String fields,
+            WebRequest webRequest
+    ) {
+        CatalogVersion version = courseService.findModulesVersion(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Curso não encontrado com ID: " + courseId));
-        List<ModuleJPA> modules = moduleService.listModulesByCourse(course);
-        List<DadosDetalhamentoModule> dadosDetalhamento = modules.stream().map(DadosDetalhamentoModule::new).toList();
-        return ResponseEntity.ok(dadosDetalhamento);
+        if (webRequest.checkNotModified(version.eTag(courseId), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(moduleService.listSparseByCourse(courseId, fields));
     }
 
     @GetMapping("/{moduleId}")
@@ -102,8 +132,14 @@ public class ModuleController {
             @Parameter(description = "ID do curso", required = true)
             @PathVariable Long courseId,
             @Parameter(description = "ID do módulo a ser buscado", required = true)
-            @PathVariable Long moduleId
+            @PathVariable Long moduleId,
+            WebRequest webRequest
     ) {
+        Optional<CatalogVersion> version = moduleService.findVersion(courseId, moduleId);
+        if (version.isPresent() && webRequest.checkNotModified(version.get().eTag(moduleId), version.get().lastModifiedMillis())) {
+            return null;
+        }
+
         ModuleJPA module = moduleService.findById(moduleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Módulo não encontrado com ID: " + moduleId));
 
@@ -111,7 +147,7 @@ public class ModuleController {
             throw new ResourceNotFoundException("Módulo com ID " + moduleId + " não pertence ao curso com ID " + courseId + ".");
         }
 
-        return ResponseEntity.ok(new DadosDetalhamentoModule(module));
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(new DadosDetalhamentoModule(module));
     }
 
     @PutMapping("/{moduleId}")
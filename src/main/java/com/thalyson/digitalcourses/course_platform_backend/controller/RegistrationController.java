@@ -1,6 +1,7 @@
 package com.thalyson.digitalcourses.course_platform_backend.controller;
 
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosRegistroUsuario;
+import com.thalyson.digitalcourses.course_platform_backend.service.LoginRateLimiter;
 import com.thalyson.digitalcourses.course_platform_backend.service.TokenService;
 import com.thalyson.digitalcourses.course_platform_backend.model.RoleJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.RoleRepository;
@@ -12,6 +13,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -48,15 +50,22 @@ public class RegistrationController {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     @PostMapping("/register/student")
     @Operation(summary = "Registra um novo estudante", description = "Cria um novo usuário com o perfil de 'STUDENT'.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Estudante registrado com sucesso",
                     content = @Content(schema = @Schema(implementation = DadosUsuarioDetalhes.class))),
             @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos (email já em uso, etc.)"),
-            @ApiResponse(responseCode = "500", description = "Erro interno no servidor (role não encontrada)")
+            @ApiResponse(responseCode = "429", description = "Muitas tentativas para o mesmo IP ou email."),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor (role não encontrada)"),
+            @ApiResponse(responseCode = "503", description = "Serviço de autenticação sobrecarregado.")
     })
-    public ResponseEntity registerStudent(@RequestBody @Valid DadosRegistroUsuario dados, UriComponentsBuilder uriBuilder){
+    public ResponseEntity registerStudent(@RequestBody @Valid DadosRegistroUsuario dados, UriComponentsBuilder uriBuilder,
+                                          HttpServletRequest request){
+        loginRateLimiter.acquire(request.getRemoteAddr(), dados.email());
         String hashedPassword = passwordEncoder.encode(dados.password());
 
         Optional<RoleJPA> studentRoleOptional = roleRepository.findByName("ROLE_STUDENT");
@@ -79,9 +88,13 @@ public class RegistrationController {
             @ApiResponse(responseCode = "201", description = "Instrutor registrado com sucesso",
                     content = @Content(schema = @Schema(implementation = DadosUsuarioDetalhes.class))),
             @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos (email já em uso, etc.)"),
-            @ApiResponse(responseCode = "500", description = "Erro interno no servidor (role não encontrada)")
+            @ApiResponse(responseCode = "429", description = "Muitas tentativas para o mesmo IP ou email."),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor (role não encontrada)"),
+            @ApiResponse(responseCode = "503", description = "Serviço de autenticação sobrecarregado.")
     })
-    public ResponseEntity registerInstructor(@RequestBody @Valid DadosRegistroUsuario dados, UriComponentsBuilder uriBuilder) {
+    public ResponseEntity registerInstructor(@RequestBody @Valid DadosRegistroUsuario dados, UriComponentsBuilder uriBuilder,
+                                             HttpServletRequest request) {
+        loginRateLimiter.acquire(request.getRemoteAddr(), dados.email());
         String hashedPassword = passwordEncoder.encode(dados.password());
 
         Optional<RoleJPA> instructorRoleOptional = roleRepository.findByName("ROLE_INSTRUCTOR");
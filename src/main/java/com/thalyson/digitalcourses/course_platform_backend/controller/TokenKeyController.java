@@ -0,0 +1,40 @@
+package com.thalyson.digitalcourses.course_platform_backend.controller;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosRotacaoChaveToken;
+import com.thalyson.digitalcourses.course_platform_backend.service.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/token-keys")
+@Tag(name = "Administração", description = "Endpoints administrativos")
+@SecurityRequirement(name = "bearer-key")
+public class TokenKeyController {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @PutMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rotaciona a chave de assinatura dos tokens", description = "Novos tokens passam a ser assinados com a chave informada. Tokens assinados com a chave atual continuam válidos até a próxima rotação. A rotação vale apenas para a instância que recebeu a requisição.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Chave rotacionada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos ou identificador igual ao da chave atual"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado")
+    })
+    public ResponseEntity<Void> rotateKey(@RequestBody @Valid DadosRotacaoChaveToken dados) {
+        tokenService.rotateKey(dados.keyId(), dados.secret());
+        return ResponseEntity.noContent().build();
+    }
+}
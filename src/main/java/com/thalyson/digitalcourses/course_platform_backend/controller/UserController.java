@@ -20,6 +20,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.NoSuchElementException;
+
 @RestController
 @RequestMapping("/users")
 @Tag(name = "Usuários", description = "Endpoints para gerenciamento do perfil do usuário autenticado")
@@ -43,7 +45,9 @@ public class UserController {
     public ResponseEntity<DadosDetalhamentoUserr> getMyProfile() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserJPA authenticatedUser = (UserJPA) authentication.getPrincipal();
-        return ResponseEntity.ok(new DadosDetalhamentoUserr(authenticatedUser));
+        UserJPA user = userService.findById(authenticatedUser.getId())
+                .orElseThrow(() -> new NoSuchElementException("Usuário não encontrado com ID: " + authenticatedUser.getId()));
+        return ResponseEntity.ok(new DadosDetalhamentoUserr(user));
     }
 
     @PutMapping("/me")
@@ -0,0 +1,27 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Versão de um recurso do catálogo para GET condicional: o maior updatedAt entre o recurso e
+ * tudo o que vem embutido no DTO (curso, instrutor, categoria), e, nas listas, a quantidade de
+ * itens, para que uma exclusão também mude o ETag.
+ */
+public record CatalogVersion(LocalDateTime lastModified, Long count) {
+
+    public static CatalogVersion of(LocalDateTime lastModified) {
+        return new CatalogVersion(lastModified, null);
+    }
+
+    public String eTag(Object id) {
+        long micros = lastModified == null ? 0 : ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), lastModified);
+        String value = id + "-" + Long.toHexString(micros);
+        return "\"" + (count == null ? value : value + "-" + count) + "\"";
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
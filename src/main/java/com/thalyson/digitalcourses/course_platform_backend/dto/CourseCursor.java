@@ -0,0 +1,39 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição em uma listagem de cursos ordenada por (chave, id): o título na listagem do catálogo,
+ * a relevância na busca. Trafega como texto opaco em base64url; o cliente só devolve o valor
+ * recebido em nextCursor.
+ */
+public record CourseCursor(String sortKey, Long id) {
+
+    public String encode() {
+        String raw = id + ":" + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CourseCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Cursor inválido.");
+            }
+            return new CourseCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException e erros de base64 também são IllegalArgumentException.
+            throw new IllegalArgumentException("Cursor inválido.", e);
+        }
+    }
+
+    public float sortKeyAsFloat() {
+        try {
+            return Float.parseFloat(sortKey);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido.", e);
+        }
+    }
+}
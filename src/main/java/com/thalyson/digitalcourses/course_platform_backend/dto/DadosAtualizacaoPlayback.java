@@ -0,0 +1,17 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+@Schema(description = "Posição atual do aluno no vídeo de uma aula, enviada periodicamente pelo player.")
+public record DadosAtualizacaoPlayback(
+        @NotNull(message = "O ID da aula é obrigatório.")
+        @Schema(description = "ID da aula em reprodução. Deve existir no curso matriculado.", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+        Long lessonId,
+        @NotNull(message = "A posição é obrigatória.")
+        @PositiveOrZero(message = "A posição não pode ser negativa.")
+        @Schema(description = "Segundos já assistidos da aula", example = "125", requiredMode = Schema.RequiredMode.REQUIRED)
+        Integer positionSeconds
+) {
+}
@@ -0,0 +1,15 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Conclusão de uma aula registrada offline")
+public record DadosConclusaoLesson(
+        @NotNull(message = "O ID da matrícula é obrigatório.")
+        @Schema(description = "ID da matrícula", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+        Long enrollmentId,
+        @NotNull(message = "O ID da aula é obrigatório.")
+        @Schema(description = "ID da aula concluída. Deve existir no curso da matrícula.", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+        Long lessonId
+) {
+}
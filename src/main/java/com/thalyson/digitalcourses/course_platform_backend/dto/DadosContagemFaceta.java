@@ -0,0 +1,14 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Quantidade de cursos para um valor de faceta")
+public record DadosContagemFaceta(
+        @Schema(description = "Valor a enviar no filtro correspondente", example = "3")
+        String value,
+        @Schema(description = "Texto para exibição", example = "Tecnologia")
+        String label,
+        @Schema(description = "Quantidade de cursos com este valor, considerando os demais filtros", example = "42")
+        long count
+) {
+}
@@ -31,15 +31,25 @@ public record DadosDetalhamentoEnrollment(
         LocalDateTime updatedAt) {
 
     public DadosDetalhamentoEnrollment(EnrollmentJPA enrollment){
+        this(enrollment, enrollment.getCompletedLessonIds());
+    }
+
+    public DadosDetalhamentoEnrollment(EnrollmentJPA enrollment, Set<Long> completedLessonIds){
+        this(enrollment, enrollment.getCompletionStatus(), enrollment.getProgressPercentage(), completedLessonIds,
+                (enrollment.getLastWatchedLesson() != null ? new DadosDetalhamentoLesson(enrollment.getLastWatchedLesson()) : null));
+    }
+
+    public DadosDetalhamentoEnrollment(EnrollmentJPA enrollment, String completionStatus, BigDecimal progressPercentage,
+                                       Set<Long> completedLessonIds, DadosDetalhamentoLesson lastWatchedLesson){
         this(
                 enrollment.getId(),
                 (enrollment.getUser() != null ? new DadosDetalhamentoUser(enrollment.getUser()) : null),
                 (enrollment.getCourse() != null ? new DadosDetalhamentoCourse(enrollment.getCourse()) : null),
                 enrollment.getEnrollmentDate(),
-                enrollment.getCompletionStatus(),
-                enrollment.getProgressPercentage(),
-                enrollment.getCompletedLessonIds(),
-                (enrollment.getLastWatchedLesson() != null ? new DadosDetalhamentoLesson(enrollment.getLastWatchedLesson()) : null),
+                completionStatus,
+                progressPercentage,
+                completedLessonIds,
+                lastWatchedLesson,
                 enrollment.getCreatedAt(),
                 enrollment.getUpdatedAt()
         );
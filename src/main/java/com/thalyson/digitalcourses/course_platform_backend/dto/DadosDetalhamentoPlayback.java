@@ -0,0 +1,15 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Ponto em que o aluno parou em uma aula")
+public record DadosDetalhamentoPlayback(
+        @Schema(description = "ID da aula", example = "1")
+        Long lessonId,
+        @Schema(description = "Segundos já assistidos da aula", example = "125")
+        Integer positionSeconds,
+        @Schema(description = "Data e hora do último envio da posição", example = "2025-08-06T11:30:00")
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,16 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Contagens por faceta. Cada faceta aplica todos os filtros exceto o seu próprio, para que o usuário veja as alternativas.")
+public record DadosFacetasCourse(
+        @Schema(description = "Cursos por categoria")
+        List<DadosContagemFaceta> categories,
+        @Schema(description = "Cursos por instrutor (os 50 com mais cursos)")
+        List<DadosContagemFaceta> instructors,
+        @Schema(description = "Cursos publicados e não publicados")
+        List<DadosContagemFaceta> published
+) {
+}
@@ -0,0 +1,7 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+/**
+ * Filtros da navegação de cursos; campos nulos não filtram.
+ */
+public record DadosFiltroCourse(Integer categoryId, Long instructorId, Boolean published) {
+}
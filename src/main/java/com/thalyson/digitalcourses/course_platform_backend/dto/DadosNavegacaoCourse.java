@@ -0,0 +1,22 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página da navegação filtrada de cursos, com as contagens por faceta")
+public record DadosNavegacaoCourse(
+        @Schema(description = "Cursos da página, ordenados por título")
+        List<DadosDetalhamentoCourse> content,
+        @Schema(description = "Número da página, começando em 0", example = "0")
+        int page,
+        @Schema(description = "Quantidade máxima de itens por página", example = "10")
+        int size,
+        @Schema(description = "Total de cursos que atendem aos filtros", example = "42")
+        long totalElements,
+        @Schema(description = "Total de páginas", example = "5")
+        int totalPages,
+        @Schema(description = "Contagens por categoria, instrutor e publicação")
+        DadosFacetasCourse facets
+) {
+}
@@ -0,0 +1,13 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Estrutura completa de um curso: detalhes, módulos e aulas, cada um aparecendo uma única vez")
+public record DadosOutlineCourse(
+        @Schema(description = "Dados do curso")
+        DadosDetalhamentoCourse course,
+        @Schema(description = "Módulos do curso, em ordem")
+        List<DadosOutlineModule> modules) {
+}
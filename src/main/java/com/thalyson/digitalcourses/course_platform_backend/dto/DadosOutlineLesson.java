@@ -0,0 +1,31 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import com.thalyson.digitalcourses.course_platform_backend.model.LessonJPA;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Aula na estrutura de um curso, sem os dados do módulo e do curso")
+public record DadosOutlineLesson(
+        @Schema(description = "ID único da aula", example = "1")
+        Long id,
+        @Schema(description = "Título da aula", example = "Introdução aos Arrays")
+        String title,
+        @Schema(description = "Descrição detalhada da aula", example = "Nesta aula, você aprenderá sobre arrays.")
+        String description,
+        @Schema(description = "URL do vídeo da aula no YouTube", example = "https://www.youtube.com/watch?v=xxxxxxxxxxx")
+        String youtubeVideoUrl,
+        @Schema(description = "Duração da aula em segundos", example = "1200")
+        Integer durationSeconds,
+        @Schema(description = "Índice de ordenação da aula dentro do módulo", example = "1")
+        Integer orderIndex) {
+
+    public DadosOutlineLesson(LessonJPA lesson) {
+        this(
+                lesson.getId(),
+                lesson.getTitle(),
+                lesson.getDescription(),
+                lesson.getYoutubeVideoUrl(),
+                lesson.getDurationSeconds(),
+                lesson.getOrderIndex()
+        );
+    }
+}
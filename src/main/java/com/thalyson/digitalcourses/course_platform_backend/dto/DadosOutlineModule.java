@@ -0,0 +1,24 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import com.thalyson.digitalcourses.course_platform_backend.model.ModuleJPA;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Módulo na estrutura de um curso, com as suas aulas")
+public record DadosOutlineModule(
+        @Schema(description = "ID único do módulo", example = "1")
+        Long id,
+        @Schema(description = "Título do módulo", example = "Módulo 1: Java Básico")
+        String title,
+        @Schema(description = "Descrição detalhada do módulo", example = "Conceitos introdutórios da linguagem Java.")
+        String description,
+        @Schema(description = "Índice de ordenação do módulo dentro do curso", example = "1")
+        Integer orderIndex,
+        @Schema(description = "Aulas do módulo, em ordem")
+        List<DadosOutlineLesson> lessons) {
+
+    public DadosOutlineModule(ModuleJPA module, List<DadosOutlineLesson> lessons) {
+        this(module.getId(), module.getTitle(), module.getDescription(), module.getOrderIndex(), lessons);
+    }
+}
@@ -0,0 +1,19 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página de resultados paginada por cursor")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DadosPaginaCursor<T>(
+        @Schema(description = "Itens da página")
+        List<T> content,
+        @Schema(description = "Cursor para buscar a próxima página; ausente na última página")
+        String nextCursor,
+        @Schema(description = "Quantidade máxima de itens por página", example = "10")
+        int size,
+        @Schema(description = "Total de itens; enviado somente quando solicitado com includeTotal=true", example = "42")
+        Long totalElements) {
+}
@@ -0,0 +1,11 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Refresh token para emissão de um novo token de acesso")
+public record DadosRefreshToken(
+        @NotBlank
+        @Schema(description = "Refresh token recebido no login ou na última renovação", requiredMode = Schema.RequiredMode.REQUIRED)
+        String refreshToken
+){}
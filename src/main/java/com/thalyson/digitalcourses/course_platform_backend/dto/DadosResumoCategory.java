@@ -0,0 +1,14 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Categoria com a quantidade de cursos publicados")
+public record DadosResumoCategory(
+        @Schema(description = "ID da categoria", example = "1")
+        Integer id,
+        @Schema(description = "Nome da categoria", example = "Tecnologia")
+        String name,
+        @Schema(description = "Quantidade de cursos publicados na categoria", example = "12")
+        long publishedCourses
+) {
+}
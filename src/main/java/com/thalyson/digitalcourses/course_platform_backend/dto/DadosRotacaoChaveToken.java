@@ -0,0 +1,17 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Nova chave de assinatura dos tokens JWT")
+public record DadosRotacaoChaveToken(
+        @NotBlank
+        @Size(max = 64)
+        @Schema(description = "Identificador da nova chave, enviado no cabeçalho 'kid' dos tokens", example = "2025-08", requiredMode = Schema.RequiredMode.REQUIRED)
+        String keyId,
+        @NotBlank
+        @Size(min = 32)
+        @Schema(description = "Segredo HMAC da nova chave (mínimo 32 caracteres)", requiredMode = Schema.RequiredMode.REQUIRED)
+        String secret
+){}
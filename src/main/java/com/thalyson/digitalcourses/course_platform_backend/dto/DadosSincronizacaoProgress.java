@@ -0,0 +1,19 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Conclusões de aulas acumuladas offline, de uma ou mais matrículas, enviadas de uma vez.")
+public record DadosSincronizacaoProgress(
+        @NotEmpty(message = "Informe ao menos uma conclusão.")
+        @Size(max = 1000, message = "Envie no máximo {max} conclusões por vez.")
+        @Schema(description = "Conclusões na ordem em que aconteceram; a última de cada matrícula vira a última aula assistida.",
+                requiredMode = Schema.RequiredMode.REQUIRED)
+        List<@Valid @NotNull DadosConclusaoLesson> completions
+) {
+}
@@ -0,0 +1,14 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Sugestão de autocomplete para um curso ou uma categoria")
+public record DadosSugestaoAutocomplete(
+        @Schema(description = "Tipo do item sugerido", example = "COURSE", allowableValues = {"COURSE", "CATEGORY"})
+        String type,
+        @Schema(description = "ID do curso ou da categoria", example = "1")
+        Long id,
+        @Schema(description = "Título do curso ou nome da categoria", example = "Spring Boot Avançado")
+        String text
+) {
+}
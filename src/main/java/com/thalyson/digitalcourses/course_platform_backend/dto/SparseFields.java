@@ -0,0 +1,76 @@
+package com.thalyson.digitalcourses.course_platform_backend.dto;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Campos pedidos no parâmetro {@code fields} (ex.: {@code fields=id,title,thumbnailUrl}), na ordem
+ * em que aparecem na resposta. Associações como {@code instructor} são pedidas pelo nome e vêm
+ * completas.
+ */
+public final class SparseFields {
+
+    private final Set<String> names;
+
+    private SparseFields(Set<String> names) {
+        this.names = names;
+    }
+
+    public static SparseFields parse(String fields, Set<String> allowed) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String field : fields == null ? new String[0] : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Campo desconhecido em fields: '" + name + "'. Disponíveis: "
+                        + String.join(", ", allowed.stream().sorted().toList()) + ".");
+            }
+            names.add(name);
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um campo em fields.");
+        }
+        return new SparseFields(names);
+    }
+
+    public List<String> names() {
+        return List.copyOf(names);
+    }
+
+    /**
+     * @return true se todos os campos pedidos são colunas da própria tabela, sem associações
+     */
+    public boolean within(Set<String> columns) {
+        return columns.containsAll(names);
+    }
+
+    /**
+     * Reduz um DTO completo aos campos pedidos.
+     */
+    public Map<String, Object> project(Record dto) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (RecordComponent component : dto.getClass().getRecordComponents()) {
+            if (names.contains(component.getName())) {
+                values.put(component.getName(), read(component, dto));
+            }
+        }
+        Map<String, Object> ordered = new LinkedHashMap<>();
+        names.forEach(name -> ordered.put(name, values.get(name)));
+        return ordered;
+    }
+
+    private static Object read(RecordComponent component, Record dto) {
+        try {
+            return component.getAccessor().invoke(dto);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Não foi possível ler o campo " + component.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.thalyson.digitalcourses.course_platform_backend.exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
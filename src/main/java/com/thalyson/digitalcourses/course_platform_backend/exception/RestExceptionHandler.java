@@ -5,6 +5,7 @@ import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -157,6 +158,53 @@ public class RestExceptionHandler {
         return ResponseEntity.status(status).body(error);
     }
 
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<StandardErrorDto> handleInvalidRefreshTokenException(InvalidRefreshTokenException ex, WebRequest request) {
+        log.warn("Refresh token recusado: {}", ex.getMessage());
+        HttpStatus status = HttpStatus.UNAUTHORIZED;
+        StandardErrorDto error = new StandardErrorDto(
+                Instant.now(),
+                status.value(),
+                "Falha na autenticação",
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return ResponseEntity.status(status).body(error);
+    }
+
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<StandardErrorDto> handleTooManyLoginAttemptsException(TooManyLoginAttemptsException ex, WebRequest request) {
+        log.warn("Tentativa recusada pelo limitador: {}", request.getDescription(false));
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        StandardErrorDto error = new StandardErrorDto(
+                Instant.now(),
+                status.value(),
+                "Muitas requisições",
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(error);
+    }
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<StandardErrorDto> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException ex, WebRequest request) {
+        log.warn("Cálculo de hash de senha recusado: {}", ex.getMessage());
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        StandardErrorDto error = new StandardErrorDto(
+                Instant.now(),
+                status.value(),
+                "Serviço indisponível",
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     @ExceptionHandler({EntityNotFoundException.class, NoSuchElementException.class, ConstraintViolationException.class, ResourceNotFoundException.class})
     public ResponseEntity<StandardErrorDto> handleNotFoundErrors(Exception ex, WebRequest request) {
         log.warn("Recurso não encontrado: {}", ex.getMessage());
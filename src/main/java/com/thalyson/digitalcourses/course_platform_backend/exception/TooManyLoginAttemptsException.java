@@ -0,0 +1,17 @@
+package com.thalyson.digitalcourses.course_platform_backend.exception;
+
+import java.time.Duration;
+
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyLoginAttemptsException(Duration retryAfter) {
+        super("Muitas tentativas. Tente novamente em alguns instantes.");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -38,6 +38,10 @@ public class CourseJPA {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Mantido pelo EnrollmentProgressService direto no banco; a entidade só lê.
+    @Column(insertable = false, updatable = false)
+    private int lessonCount;
+
     public CourseJPA() {
     }
 
@@ -100,6 +104,10 @@ public class CourseJPA {
         return updatedAt;
     }
 
+    public int getLessonCount() {
+        return lessonCount;
+    }
+
     public void setInstructor(UserJPA instructor) {
         this.instructor = instructor;
     }
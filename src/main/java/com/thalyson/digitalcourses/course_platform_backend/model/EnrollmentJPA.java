@@ -41,7 +41,15 @@ public class EnrollmentJPA {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    // Mantido pelo EnrollmentProgressService direto no banco; a entidade só lê.
+    @Column(insertable = false, updatable = false)
+    private int completedCount;
+
+    // LessonBitmap das aulas concluídas, escrito pelo CompletedLessonBitmaps; nulo até a conversão.
+    @Column(insertable = false, updatable = false)
+    private byte[] completedLessons;
+
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "enrollment_completed_lessons", joinColumns = @JoinColumn(name = "enrollment_id"))
     @Column(name = "lesson_id")
     private Set<Long> completedLessonIds = new HashSet<>();
@@ -68,6 +76,14 @@ public class EnrollmentJPA {
         this.progressPercentage = BigDecimal.ZERO;
     }
 
+    public int getCompletedCount() {
+        return completedCount;
+    }
+
+    public byte[] getCompletedLessons() {
+        return completedLessons;
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,396 @@
+package com.thalyson.digitalcourses.course_platform_backend.model;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Conjunto de inteiros não negativos no formato do Roaring Bitmap: os 16 bits altos escolhem um
+ * contêiner e os 16 baixos ficam nele, como lista ordenada enquanto houver até 4096 valores e
+ * como mapa de 65536 bits acima disso. Guarda as aulas concluídas de uma matrícula pela posição
+ * de cada aula no curso (lessons.course_ordinal) e é gravado em enrollments.completed_lessons.
+ *
+ * <p>Formato de {@link #toBytes()}: versão (1 byte), quantidade de contêineres (2 bytes) e, para
+ * cada um, chave (2), tipo (1), cardinalidade - 1 (2) e os valores: 2 bytes por valor na lista ou
+ * 1024 longs no mapa. Não é thread-safe.
+ */
+public final class LessonBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte ARRAY = 0;
+    private static final byte BITMAP = 1;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int size;
+    private int cardinality;
+
+    public static LessonBitmap of(int... values) {
+        LessonBitmap bitmap = new LessonBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * @param bytes conteúdo gerado por {@link #toBytes()}; nulo ou vazio é um conjunto vazio
+     */
+    public static LessonBitmap fromBytes(byte[] bytes) {
+        LessonBitmap bitmap = new LessonBitmap();
+        if (bytes == null || bytes.length == 0) {
+            return bitmap;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.get() != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Versão desconhecida de bitmap de aulas");
+            }
+            int count = buffer.getChar();
+            bitmap.keys = new char[count];
+            bitmap.containers = new Container[count];
+            for (int i = 0; i < count; i++) {
+                char key = buffer.getChar();
+                byte type = buffer.get();
+                int containerCardinality = buffer.getChar() + 1;
+                Container container = switch (type) {
+                    case ARRAY -> ArrayContainer.read(buffer, containerCardinality);
+                    case BITMAP -> BitmapContainer.read(buffer, containerCardinality);
+                    default -> throw new IllegalArgumentException("Tipo de contêiner desconhecido: " + type);
+                };
+                if (i > 0 && key <= bitmap.keys[i - 1]) {
+                    throw new IllegalArgumentException("Contêineres fora de ordem no bitmap de aulas");
+                }
+                bitmap.keys[i] = key;
+                bitmap.containers[i] = container;
+                bitmap.cardinality += containerCardinality;
+            }
+            bitmap.size = count;
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Bytes sobrando no bitmap de aulas");
+            }
+            return bitmap;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Bitmap de aulas truncado", e);
+        }
+    }
+
+    /**
+     * @return true se o valor não estava no conjunto
+     */
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Posição de aula inválida: " + value);
+        }
+        char high = (char) (value >>> 16);
+        int index = Arrays.binarySearch(keys, 0, size, high);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, high, new ArrayContainer());
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add((char) value);
+        if (containers[index].cardinality() == before) {
+            return false;
+        }
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * @return true se o valor estava no conjunto
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        Container updated = container.remove((char) value);
+        if (updated.cardinality() == before) {
+            return false;
+        }
+        cardinality--;
+        if (updated.cardinality() == 0) {
+            removeContainer(index);
+        } else {
+            containers[index] = updated;
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * @return os valores em ordem crescente
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality];
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            offset = containers[i].copyTo(values, offset, keys[i] << 16);
+        }
+        return values;
+    }
+
+    public byte[] toBytes() {
+        int length = 3;
+        for (int i = 0; i < size; i++) {
+            length += 5 + containers[i].serializedSize();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.put(FORMAT_VERSION);
+        buffer.putChar((char) size);
+        for (int i = 0; i < size; i++) {
+            Container container = containers[i];
+            buffer.putChar(keys[i]);
+            buffer.put(container instanceof BitmapContainer ? BITMAP : ARRAY);
+            buffer.putChar((char) (container.cardinality() - 1));
+            container.write(buffer);
+        }
+        return buffer.array();
+    }
+
+    private void insertContainer(int index, char key, Container container) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    private abstract static sealed class Container permits ArrayContainer, BitmapContainer {
+        abstract int cardinality();
+
+        abstract boolean contains(char low);
+
+        // Devolvem o contêiner resultante, que troca de tipo ao cruzar ARRAY_MAX.
+        abstract Container add(char low);
+
+        abstract Container remove(char low);
+
+        abstract int copyTo(int[] target, int offset, int base);
+
+        abstract int serializedSize();
+
+        abstract void write(ByteBuffer buffer);
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this.values = new char[4];
+        }
+
+        private ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        static ArrayContainer read(ByteBuffer buffer, int cardinality) {
+            if (cardinality > ARRAY_MAX) {
+                throw new IllegalArgumentException("Lista de aulas acima do limite do contêiner");
+            }
+            char[] values = new char[cardinality];
+            for (int i = 0; i < cardinality; i++) {
+                values[i] = buffer.getChar();
+                if (i > 0 && values[i] <= values[i - 1]) {
+                    throw new IllegalArgumentException("Valores fora de ordem no bitmap de aulas");
+                }
+            }
+            return new ArrayContainer(values, cardinality);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        Container add(char low) {
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(low);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, values.length * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+
+        @Override
+        int copyTo(int[] target, int offset, int base) {
+            for (int i = 0; i < cardinality; i++) {
+                target[offset++] = base | values[i];
+            }
+            return offset;
+        }
+
+        @Override
+        int serializedSize() {
+            return cardinality * 2;
+        }
+
+        @Override
+        void write(ByteBuffer buffer) {
+            for (int i = 0; i < cardinality; i++) {
+                buffer.putChar(values[i]);
+            }
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this.words = new long[BITMAP_WORDS];
+        }
+
+        static BitmapContainer read(ByteBuffer buffer, int cardinality) {
+            BitmapContainer container = new BitmapContainer();
+            int counted = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                container.words[i] = buffer.getLong();
+                counted += Long.bitCount(container.words[i]);
+            }
+            if (counted != cardinality) {
+                throw new IllegalArgumentException("Cardinalidade divergente no bitmap de aulas");
+            }
+            container.cardinality = cardinality;
+            return container;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        Container add(char low) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                words[low >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                return this;
+            }
+            words[low >>> 6] &= ~bit;
+            cardinality--;
+            return cardinality <= ARRAY_MAX ? toArrayContainer() : this;
+        }
+
+        private ArrayContainer toArrayContainer() {
+            char[] values = new char[cardinality];
+            int offset = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    values[offset++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return new ArrayContainer(values, cardinality);
+        }
+
+        @Override
+        int copyTo(int[] target, int offset, int base) {
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    target[offset++] = base | ((word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return offset;
+        }
+
+        @Override
+        int serializedSize() {
+            return BITMAP_WORDS * 8;
+        }
+
+        @Override
+        void write(ByteBuffer buffer) {
+            for (long word : words) {
+                buffer.putLong(word);
+            }
+        }
+    }
+}
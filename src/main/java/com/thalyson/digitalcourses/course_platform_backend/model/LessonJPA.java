@@ -29,6 +29,10 @@ public class LessonJPA {
 
     private Integer orderIndex;
 
+    // Índice da aula no bitmap de aulas concluídas; atribuído uma vez, na inclusão.
+    @Column(updatable = false)
+    private Integer courseOrdinal;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -80,6 +84,10 @@ public class LessonJPA {
         return orderIndex;
     }
 
+    public Integer getCourseOrdinal() {
+        return courseOrdinal;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -108,6 +116,10 @@ public class LessonJPA {
         this.orderIndex = orderIndex;
     }
 
+    public void setCourseOrdinal(Integer courseOrdinal) {
+        this.courseOrdinal = courseOrdinal;
+    }
+
     public void updateFields(DadosAtualizacaoLesson dados) {
         if (dados.title() != null && !dados.title().isBlank()) {
             this.title = dados.title();
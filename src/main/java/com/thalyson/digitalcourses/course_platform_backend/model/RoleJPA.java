@@ -47,12 +47,12 @@ public class RoleJPA implements GrantedAuthority {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         RoleJPA roleJPA = (RoleJPA) o;
-        return Objects.equals(id, roleJPA.id);
+        return Objects.equals(name, roleJPA.name);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Objects.hash(name);
     }
 
 
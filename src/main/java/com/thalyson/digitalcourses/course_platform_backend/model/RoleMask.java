@@ -0,0 +1,60 @@
+package com.thalyson.digitalcourses.course_platform_backend.model;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bits da coluna users.role_mask. Os valores precisam bater com a função
+ * role_mask_of_user da migration V7.
+ */
+public final class RoleMask {
+
+    public static final int STUDENT = 1;
+    public static final int INSTRUCTOR = 1 << 1;
+    public static final int ADMIN = 1 << 2;
+
+    private static final String[] ROLE_NAMES = {"ROLE_STUDENT", "ROLE_INSTRUCTOR", "ROLE_ADMIN"};
+
+    // Uma lista imutável por combinação possível de bits.
+    private static final List<List<GrantedAuthority>> AUTHORITIES = new ArrayList<>();
+
+    static {
+        for (int mask = 0; mask < 1 << ROLE_NAMES.length; mask++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (int bit = 0; bit < ROLE_NAMES.length; bit++) {
+                if ((mask & (1 << bit)) != 0) {
+                    authorities.add(new SimpleGrantedAuthority(ROLE_NAMES[bit]));
+                }
+            }
+            AUTHORITIES.add(List.copyOf(authorities));
+        }
+    }
+
+    private RoleMask() {
+    }
+
+    public static int of(String roleName) {
+        for (int bit = 0; bit < ROLE_NAMES.length; bit++) {
+            if (ROLE_NAMES[bit].equals(roleName)) {
+                return 1 << bit;
+            }
+        }
+        return 0;
+    }
+
+    public static int of(Collection<? extends GrantedAuthority> roles) {
+        int mask = 0;
+        for (GrantedAuthority role : roles) {
+            mask |= of(role.getAuthority());
+        }
+        return mask;
+    }
+
+    public static List<GrantedAuthority> authorities(int mask) {
+        return AUTHORITIES.get(mask & (AUTHORITIES.size() - 1));
+    }
+}
@@ -0,0 +1,33 @@
+package com.thalyson.digitalcourses.course_platform_backend.model;
+
+import com.thalyson.digitalcourses.course_platform_backend.service.EmailBloomFilter;
+import com.thalyson.digitalcourses.course_platform_backend.service.PrincipalCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+public class UserEntityListener {
+
+    @Autowired
+    @Lazy
+    private PrincipalCache principalCache;
+
+    @Autowired
+    @Lazy
+    private EmailBloomFilter emailBloomFilter;
+
+    @PostPersist
+    @PostUpdate
+    public void onUserSaved(UserJPA user) {
+        // Incluído antes do commit: se a transação falhar, sobra apenas um falso positivo.
+        emailBloomFilter.add(user.getEmail());
+        principalCache.invalidateAfterCommit(user.getEmail());
+    }
+
+    @PostRemove
+    public void onUserRemoved(UserJPA user) {
+        principalCache.invalidateAfterCommit(user.getEmail());
+    }
+}
@@ -2,6 +2,7 @@ package com.thalyson.digitalcourses.course_platform_backend.model;
 
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoUser;
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
@@ -12,6 +13,7 @@ import java.util.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserEntityListener.class)
 public class UserJPA implements UserDetails {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,8 +26,10 @@ public class UserJPA implements UserDetails {
     private LocalDateTime createdAt;
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+    private int tokenVersion;
+    private int roleMask;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -38,12 +42,16 @@ public class UserJPA implements UserDetails {
         this.password = password;
         this.firstName = firstName;
         this.lastName = lastName;
-        this.roles = roles;
+        setRoles(roles);
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return this.roles;
+        return RoleMask.authorities(roleMask);
+    }
+
+    public boolean hasRole(int roleBit) {
+        return (roleMask & roleBit) != 0;
     }
 
     @Override
@@ -110,6 +118,22 @@ public class UserJPA implements UserDetails {
         return roles;
     }
 
+    public int getRoleMask() {
+        return roleMask;
+    }
+
+    public void setRoleMask(int roleMask) {
+        this.roleMask = roleMask;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void incrementTokenVersion() {
+        this.tokenVersion++;
+    }
+
     public void setEmail(String email) {
         this.email = email;
     }
@@ -132,6 +156,18 @@ public class UserJPA implements UserDetails {
 
     public void setRoles(Set<RoleJPA> roles) {
         this.roles = roles;
+        if (roles != null) {
+            this.roleMask = RoleMask.of(roles);
+        }
+    }
+
+    // O trigger de user_roles também recalcula a máscara; aqui ela fica correta já no INSERT/UPDATE.
+    @PrePersist
+    @PreUpdate
+    void syncRoleMask() {
+        if (roles != null && Hibernate.isInitialized(roles)) {
+            this.roleMask = RoleMask.of(roles);
+        }
     }
 
     @Override
@@ -158,7 +194,7 @@ public class UserJPA implements UserDetails {
         this.lastName = lastName;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
-        this.roles = roles;
+        setRoles(roles);
     }
 
     public void updateFields(DadosAtualizacaoUser dados) {
@@ -180,7 +216,7 @@ public class UserJPA implements UserDetails {
                 ", email='" + email + '\'' +
                 ", firstName='" + firstName + '\'' +
                 ", lastName='" + lastName + '\'' +
-                ", roles=" + roles +
+                ", roleMask=" + roleMask +
                 '}';
     }
 }
@@ -2,11 +2,26 @@ package com.thalyson.digitalcourses.course_platform_backend.repository;
 
 import com.thalyson.digitalcourses.course_platform_backend.model.CategoryJPA;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<CategoryJPA, Integer> {
     Optional<CategoryJPA> findByName(String name);
 
     Optional<CategoryJPA> findByNameIgnoreCase(String name);
+
+    interface CategorySummary {
+        Integer getId();
+        String getName();
+        Long getPublishedCourses();
+    }
+
+    // Soma as contagens já agregadas em course_facet_counts: uma linha por categoria, sem ler courses.
+    @Query(value = "SELECT cat.id AS id, cat.name AS name, " +
+            "CAST(COALESCE(SUM(f.course_count) FILTER (WHERE f.is_published), 0) AS bigint) AS \"publishedCourses\" " +
+            "FROM categories cat LEFT JOIN course_facet_counts f ON f.category_id = cat.id " +
+            "GROUP BY cat.id, cat.name ORDER BY cat.name", nativeQuery = true)
+    List<CategorySummary> summarizePublishedCourses();
 }
@@ -0,0 +1,15 @@
+package com.thalyson.digitalcourses.course_platform_backend.repository;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosFiltroCourse;
+import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
+
+import java.util.List;
+
+public interface CourseBrowseRepository {
+
+    /**
+     * Cursos que atendem aos filtros, ordenados por (title, id), com instrutor e categoria
+     * carregados. Não faz contagem; o total vem de {@code course_facet_counts}.
+     */
+    List<CourseJPA> findFiltered(DadosFiltroCourse filter, int offset, int limit);
+}
@@ -0,0 +1,43 @@
+package com.thalyson.digitalcourses.course_platform_backend.repository;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosFiltroCourse;
+import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+class CourseBrowseRepositoryImpl implements CourseBrowseRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Só os filtros informados entram no SQL, para que cada combinação use o índice composto dela
+    // em vez de um plano genérico com "(:x IS NULL OR ...)".
+    @Override
+    public List<CourseJPA> findFiltered(DadosFiltroCourse filter, int offset, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT c FROM CourseJPA c JOIN FETCH c.instructor JOIN FETCH c.category WHERE 1 = 1");
+        if (filter.categoryId() != null) {
+            jpql.append(" AND c.category.id = :categoryId");
+        }
+        if (filter.instructorId() != null) {
+            jpql.append(" AND c.instructor.id = :instructorId");
+        }
+        // Literal em vez de parâmetro: o planejador só usa os índices parciais "WHERE is_published"
+        // quando o valor aparece no próprio SQL.
+        if (filter.published() != null) {
+            jpql.append(filter.published() ? " AND c.isPublished = true" : " AND (c.isPublished = false OR c.isPublished IS NULL)");
+        }
+        jpql.append(" ORDER BY c.title, c.id");
+
+        TypedQuery<CourseJPA> query = entityManager.createQuery(jpql.toString(), CourseJPA.class);
+        if (filter.categoryId() != null) {
+            query.setParameter("categoryId", filter.categoryId());
+        }
+        if (filter.instructorId() != null) {
+            query.setParameter("instructorId", filter.instructorId());
+        }
+        return query.setFirstResult(offset).setMaxResults(limit).getResultList();
+    }
+}
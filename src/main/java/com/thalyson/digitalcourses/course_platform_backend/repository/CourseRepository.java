@@ -1,11 +1,180 @@
 package com.thalyson.digitalcourses.course_platform_backend.repository;
 
 import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
+import com.thalyson.digitalcourses.course_platform_backend.dto.CatalogVersion;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface CourseRepository extends JpaRepository<CourseJPA, Long>, CourseBrowseRepository {
+
+    interface SearchHit {
+        Long getId();
+        Float getRank();
+    }
+
+    interface FacetCount {
+        String getValue();
+        String getLabel();
+        Long getTotal();
+    }
 
-public interface CourseRepository extends JpaRepository<CourseJPA, Long> {
     Optional<CourseJPA> findByTitleIgnoreCase(String title);
     boolean existsByCategoryId(Integer categoryId);
+    boolean existsByIdAndInstructorId(Long id, Long instructorId);
+
+    // Instrutor e categoria são to-one, então o join fetch não interfere na paginação.
+    @Query(value = "SELECT c FROM CourseJPA c JOIN FETCH c.instructor JOIN FETCH c.category",
+            countQuery = "SELECT COUNT(c) FROM CourseJPA c")
+    Page<CourseJPA> findAllWithInstructorAndCategory(Pageable pageable);
+
+    // Paginação por cursor sobre o índice (title, id): cada página é uma busca no índice, sem OFFSET.
+    @Query("SELECT c FROM CourseJPA c JOIN FETCH c.instructor JOIN FETCH c.category ORDER BY c.title, c.id")
+    List<CourseJPA> findFirstOrderByTitleAndId(Limit limit);
+
+    @Query("SELECT c FROM CourseJPA c JOIN FETCH c.instructor JOIN FETCH c.category " +
+            "WHERE (c.title, c.id) > (:title, :id) ORDER BY c.title, c.id")
+    List<CourseJPA> findAfterOrderByTitleAndId(@Param("title") String title, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT c FROM CourseJPA c JOIN FETCH c.instructor JOIN FETCH c.category WHERE c.id IN :ids")
+    List<CourseJPA> findAllWithInstructorAndCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca textual nos cursos publicados, ordenada por relevância e id, com paginação por cursor.
+     * categoryId = 0 busca em todas as categorias; na primeira página o cursor é (Float.MAX_VALUE, Long.MAX_VALUE).
+     */
+    @Query(value = "SELECT c.id AS id, ts_rank(c.search_vector, tsq) AS rank " +
+            "FROM courses c, websearch_to_tsquery('portuguese', :q) tsq " +
+            "WHERE c.search_vector @@ tsq AND c.is_published = TRUE " +
+            "AND (:categoryId = 0 OR c.category_id = :categoryId) " +
+            "AND (ts_rank(c.search_vector, tsq), c.id) < (CAST(:afterRank AS real), CAST(:afterId AS bigint)) " +
+            "ORDER BY rank DESC, c.id DESC LIMIT :limit", nativeQuery = true)
+    List<SearchHit> search(@Param("q") String q, @Param("categoryId") int categoryId,
+                           @Param("afterRank") float afterRank, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @EntityGraph(attributePaths = {"instructor", "category"})
+    Optional<CourseJPA> findWithInstructorAndCategoryById(Long id);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.id, c.title FROM CourseJPA c WHERE c.isPublished = true")
+    Stream<Object[]> streamPublishedTitles();
+
+    @Query("SELECT c.id FROM CourseJPA c WHERE c.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Integer categoryId);
+
+    @Query("SELECT c.id FROM CourseJPA c WHERE c.instructor.id = :instructorId")
+    List<Long> findIdsByInstructorId(@Param("instructorId") Long instructorId);
+
+    @Query("SELECT greatest(c.updatedAt, i.updatedAt, cat.updatedAt) FROM CourseJPA c JOIN c.instructor i JOIN c.category cat " +
+            "WHERE c.id = :id")
+    Optional<LocalDateTime> findVersionById(@Param("id") Long id);
+
+    // Versão da listagem paginada: vale para qualquer página, já que a listagem não tem filtro.
+    @Query("SELECT new com.thalyson.digitalcourses.course_platform_backend.dto.CatalogVersion(" +
+            "max(greatest(c.updatedAt, i.updatedAt, cat.updatedAt)), count(c)) " +
+            "FROM CourseJPA c JOIN c.instructor i JOIN c.category cat")
+    CatalogVersion findListVersion();
+
+    // O curso entra na versão da lista porque cada módulo embute o curso no DTO.
+    @Query("SELECT new com.thalyson.digitalcourses.course_platform_backend.dto.CatalogVersion(" +
+            "greatest(max(m.updatedAt), c.updatedAt, i.updatedAt, cat.updatedAt), count(m)) " +
+            "FROM CourseJPA c JOIN c.instructor i JOIN c.category cat LEFT JOIN ModuleJPA m ON m.course = c " +
+            "WHERE c.id = :id GROUP BY c.updatedAt, i.updatedAt, cat.updatedAt")
+    Optional<CatalogVersion> findModulesVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.thalyson.digitalcourses.course_platform_backend.dto.CatalogVersion(" +
+            "greatest(max(l.updatedAt), max(m.updatedAt), c.updatedAt, i.updatedAt, cat.updatedAt), count(distinct m) + count(l)) " +
+            "FROM CourseJPA c JOIN c.instructor i JOIN c.category cat LEFT JOIN ModuleJPA m ON m.course = c " +
+            "LEFT JOIN LessonJPA l ON l.module = m WHERE c.id = :id GROUP BY c.updatedAt, i.updatedAt, cat.updatedAt")
+    Optional<CatalogVersion> findOutlineVersionById(@Param("id") Long id);
+
+    // Contagens por faceta (course_facet_counts). Filtros ausentes usam 0 (categoria e instrutor)
+    // e -1 (publicado) no lugar de null.
+    @Modifying
+    @Query(value = "INSERT INTO course_facet_counts (category_id, instructor_id, is_published, course_count) " +
+            "VALUES (:categoryId, :instructorId, :published, GREATEST(:delta, 0)) " +
+            "ON CONFLICT (category_id, instructor_id, is_published) " +
+            "DO UPDATE SET course_count = GREATEST(course_facet_counts.course_count + :delta, 0)", nativeQuery = true)
+    void adjustFacetCount(@Param("categoryId") int categoryId, @Param("instructorId") long instructorId,
+                          @Param("published") boolean published, @Param("delta") long delta);
+
+    @Query(value = "SELECT CAST(f.category_id AS varchar) AS value, cat.name AS label, CAST(SUM(f.course_count) AS bigint) AS total " +
+            "FROM course_facet_counts f JOIN categories cat ON cat.id = f.category_id " +
+            "WHERE (:instructorId = 0 OR f.instructor_id = :instructorId) " +
+            "AND (:published < 0 OR f.is_published = (:published = 1)) " +
+            "GROUP BY f.category_id, cat.name HAVING SUM(f.course_count) > 0 " +
+            "ORDER BY total DESC, label", nativeQuery = true)
+    List<FacetCount> countFacetsByCategory(@Param("instructorId") long instructorId, @Param("published") int published);
+
+    @Query(value = "SELECT CAST(f.instructor_id AS varchar) AS value, u.first_name || ' ' || u.last_name AS label, " +
+            "CAST(SUM(f.course_count) AS bigint) AS total " +
+            "FROM course_facet_counts f JOIN users u ON u.id = f.instructor_id " +
+            "WHERE (:categoryId = 0 OR f.category_id = :categoryId) " +
+            "AND (:published < 0 OR f.is_published = (:published = 1)) " +
+            "GROUP BY f.instructor_id, u.first_name, u.last_name HAVING SUM(f.course_count) > 0 " +
+            "ORDER BY total DESC, label LIMIT 50", nativeQuery = true)
+    List<FacetCount> countFacetsByInstructor(@Param("categoryId") int categoryId, @Param("published") int published);
+
+    @Query(value = "SELECT CAST(f.is_published AS varchar) AS value, " +
+            "CASE WHEN f.is_published THEN 'Publicado' ELSE 'Não publicado' END AS label, " +
+            "CAST(SUM(f.course_count) AS bigint) AS total " +
+            "FROM course_facet_counts f " +
+            "WHERE (:categoryId = 0 OR f.category_id = :categoryId) " +
+            "AND (:instructorId = 0 OR f.instructor_id = :instructorId) " +
+            "GROUP BY f.is_published HAVING SUM(f.course_count) > 0 " +
+            "ORDER BY f.is_published DESC", nativeQuery = true)
+    List<FacetCount> countFacetsByPublished(@Param("categoryId") int categoryId, @Param("instructorId") long instructorId);
+
+    // Bloqueia os incrementos concorrentes até o fim da recontagem; leituras continuam liberadas.
+    @Modifying
+    @Query(value = "LOCK TABLE course_facet_counts IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockFacetCounts();
+
+    @Modifying
+    @Query(value = "DELETE FROM course_facet_counts", nativeQuery = true)
+    void deleteAllFacetCounts();
+
+    @Modifying
+    @Query(value = "INSERT INTO course_facet_counts (category_id, instructor_id, is_published, course_count) " +
+            "SELECT category_id, instructor_id, COALESCE(is_published, FALSE), count(*) FROM courses " +
+            "GROUP BY category_id, instructor_id, COALESCE(is_published, FALSE)", nativeQuery = true)
+    void insertFacetCountsFromCourses();
+
+    @Modifying
+    @Query(value = "UPDATE courses SET lesson_count = GREATEST(lesson_count + :delta, 0) WHERE id = :courseId", nativeQuery = true)
+    void adjustLessonCount(@Param("courseId") Long courseId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE courses SET next_lesson_ordinal = next_lesson_ordinal + 1 WHERE id = :courseId", nativeQuery = true)
+    void claimLessonOrdinal(@Param("courseId") Long courseId);
+
+    @Query(value = "SELECT next_lesson_ordinal - 1 FROM courses WHERE id = :courseId", nativeQuery = true)
+    int findLastClaimedLessonOrdinal(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query(value = "UPDATE courses SET lesson_count = GREATEST(lesson_count - " +
+            "(SELECT count(*) FROM lessons WHERE module_id = :moduleId), 0) WHERE id = :courseId", nativeQuery = true)
+    void subtractModuleLessons(@Param("courseId") Long courseId, @Param("moduleId") Long moduleId);
+
+    @Modifying
+    @Query(value = "UPDATE courses c SET lesson_count = x.total " +
+            "FROM (SELECT co.id, count(l.id) AS total FROM courses co LEFT JOIN modules m ON m.course_id = co.id " +
+            "LEFT JOIN lessons l ON l.module_id = m.id GROUP BY co.id) x " +
+            "WHERE c.id = x.id AND c.lesson_count <> x.total", nativeQuery = true)
+    int recountLessonCounts();
 }
@@ -4,7 +4,12 @@ import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
 import com.thalyson.digitalcourses.course_platform_backend.model.EnrollmentJPA;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +17,122 @@ public interface EnrollmentRepository extends JpaRepository<EnrollmentJPA, Long>
     Optional<EnrollmentJPA> findByUserAndCourse(UserJPA user, CourseJPA course);
     List<EnrollmentJPA> findByUser(UserJPA user);
     List<EnrollmentJPA> findByCourse(CourseJPA course);
+
+    interface CompletionTarget {
+        Long getEnrollmentId();
+        Long getUserId();
+        Long getLessonId();
+        Integer getCourseOrdinal();
+    }
+
+    /**
+     * Uma linha por aula pedida que pertence ao curso da matrícula, e ao menos uma por matrícula
+     * existente (com aula nula quando nenhuma pertence), para distinguir matrícula inexistente de
+     * aula fora do curso numa só consulta.
+     */
+    @Query("SELECT e.id AS enrollmentId, e.user.id AS userId, l.id AS lessonId, l.courseOrdinal AS courseOrdinal " +
+            "FROM EnrollmentJPA e LEFT JOIN ModuleJPA m ON m.course.id = e.course.id " +
+            "LEFT JOIN LessonJPA l ON l.module.id = m.id AND l.id IN :lessonIds WHERE e.id IN :enrollmentIds")
+    List<CompletionTarget> findCompletionTargets(@Param("enrollmentIds") Collection<Long> enrollmentIds,
+                                                 @Param("lessonIds") Collection<Long> lessonIds);
+
+    // Mesma regra do cálculo em BigDecimal que substituem: fração com duas casas (HALF_UP) vezes 100.
+    // Sem aulas no curso o progresso é zero e o status não muda.
+    String PROGRESS_FROM_COUNTERS = "CASE WHEN c.lesson_count = 0 THEN 0 " +
+            "ELSE LEAST(ROUND(CAST(e.completed_count AS numeric) / c.lesson_count, 2), 1) * 100 END";
+    String STATUS_FROM_COUNTERS = "CASE WHEN c.lesson_count = 0 THEN e.completion_status " +
+            "WHEN ROUND(CAST(e.completed_count AS numeric) / c.lesson_count, 2) >= 1 THEN 'COMPLETED' " +
+            "ELSE 'IN_PROGRESS' END";
+
+    @Modifying
+    @Query(value = "INSERT INTO enrollment_completed_lessons (enrollment_id, lesson_id) VALUES (:enrollmentId, :lessonId) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertCompletedLesson(@Param("enrollmentId") Long enrollmentId, @Param("lessonId") Long lessonId);
+
+    @Modifying
+    @Query(value = "UPDATE enrollments SET completed_count = completed_count + 1 WHERE id = :enrollmentId", nativeQuery = true)
+    void incrementCompletedCount(@Param("enrollmentId") Long enrollmentId);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE enrollments e SET progress_percentage = " + PROGRESS_FROM_COUNTERS + ", " +
+            "completion_status = " + STATUS_FROM_COUNTERS + ", last_watched_lesson_id = :lessonId, updated_at = :now " +
+            "FROM courses c WHERE c.id = e.course_id AND e.id = :enrollmentId", nativeQuery = true)
+    void updateProgressAndLastWatched(@Param("enrollmentId") Long enrollmentId, @Param("lessonId") Long lessonId,
+                                      @Param("now") LocalDateTime now);
+
+    /**
+     * Recalcula o progresso das matrículas de um curso a partir dos contadores, regravando só as
+     * que mudaram. {@code courseId} 0 recalcula todas.
+     */
+    @Modifying
+    @Query(value = "UPDATE enrollments e SET progress_percentage = " + PROGRESS_FROM_COUNTERS + ", " +
+            "completion_status = " + STATUS_FROM_COUNTERS + " " +
+            "FROM courses c WHERE c.id = e.course_id AND (:courseId = 0 OR e.course_id = :courseId) " +
+            "AND (e.progress_percentage IS DISTINCT FROM " + PROGRESS_FROM_COUNTERS + " " +
+            "OR e.completion_status IS DISTINCT FROM " + STATUS_FROM_COUNTERS + ")", nativeQuery = true)
+    int refreshProgress(@Param("courseId") long courseId);
+
+    // As três abaixo tratam só das matrículas ainda sem bitmap; as convertidas gravam no bitmap.
+    @Modifying
+    @Query(value = "UPDATE enrollments SET completed_count = GREATEST(completed_count - 1, 0) " +
+            "WHERE completed_lessons IS NULL " +
+            "AND id IN (SELECT enrollment_id FROM enrollment_completed_lessons WHERE lesson_id = :lessonId)", nativeQuery = true)
+    void discountCompletedLesson(@Param("lessonId") Long lessonId);
+
+    @Modifying
+    @Query(value = "UPDATE enrollments e SET completed_count = GREATEST(e.completed_count - x.total, 0) " +
+            "FROM (SELECT ecl.enrollment_id, count(*) AS total FROM enrollment_completed_lessons ecl " +
+            "JOIN lessons l ON l.id = ecl.lesson_id WHERE l.module_id = :moduleId GROUP BY ecl.enrollment_id) x " +
+            "WHERE e.id = x.enrollment_id AND e.completed_lessons IS NULL", nativeQuery = true)
+    void discountCompletedLessonsOfModule(@Param("moduleId") Long moduleId);
+
+    @Modifying
+    @Query(value = "UPDATE enrollments e SET completed_count = x.total " +
+            "FROM (SELECT en.id, count(ecl.lesson_id) AS total FROM enrollments en " +
+            "LEFT JOIN enrollment_completed_lessons ecl ON ecl.enrollment_id = en.id GROUP BY en.id) x " +
+            "WHERE e.id = x.id AND e.completed_lessons IS NULL AND e.completed_count <> x.total", nativeQuery = true)
+    int recountCompletedCounts();
+
+    interface CompletedLessonsRow {
+        Long getId();
+        byte[] getCompletedLessons();
+        Integer getCompletedCount();
+    }
+
+    @Query(value = "SELECT id, completed_lessons AS \"completedLessons\", completed_count AS \"completedCount\" " +
+            "FROM enrollments WHERE id = :enrollmentId FOR UPDATE", nativeQuery = true)
+    Optional<CompletedLessonsRow> lockCompletedLessons(@Param("enrollmentId") Long enrollmentId);
+
+    @Query(value = "SELECT id, completed_lessons AS \"completedLessons\", completed_count AS \"completedCount\" FROM enrollments " +
+            "WHERE course_id = :courseId AND completed_lessons IS NOT NULL FOR UPDATE", nativeQuery = true)
+    List<CompletedLessonsRow> lockCompletedLessonsByCourse(@Param("courseId") Long courseId);
+
+    @Query(value = "SELECT DISTINCT course_id FROM enrollments WHERE completed_lessons IS NOT NULL", nativeQuery = true)
+    List<Long> findCourseIdsWithCompletedLessons();
+
+    @Modifying
+    @Query(value = "UPDATE enrollments SET completed_lessons = :bitmap, completed_count = :completedCount WHERE id = :enrollmentId",
+            nativeQuery = true)
+    void storeCompletedLessons(@Param("enrollmentId") Long enrollmentId, @Param("bitmap") byte[] bitmap,
+                               @Param("completedCount") int completedCount);
+
+    @Query(value = "SELECT l.course_ordinal FROM enrollment_completed_lessons ecl JOIN lessons l ON l.id = ecl.lesson_id " +
+            "WHERE ecl.enrollment_id = :enrollmentId AND l.course_ordinal IS NOT NULL", nativeQuery = true)
+    List<Integer> findCompletedOrdinalsInTable(@Param("enrollmentId") Long enrollmentId);
+
+    @Modifying
+    @Query(value = "DELETE FROM enrollment_completed_lessons WHERE enrollment_id = :enrollmentId", nativeQuery = true)
+    void deleteCompletedLessonRows(@Param("enrollmentId") Long enrollmentId);
+
+    // Inclui as já convertidas com linhas de quando o modo esteve desligado.
+    @Query(value = "SELECT DISTINCT enrollment_id FROM enrollment_completed_lessons LIMIT :limit", nativeQuery = true)
+    List<Long> findWithCompletionsInTable(@Param("limit") int limit);
+
+    @Query(value = "SELECT DISTINCT ecl.enrollment_id FROM enrollment_completed_lessons ecl " +
+            "JOIN enrollments e ON e.id = ecl.enrollment_id WHERE e.completed_lessons IS NOT NULL ORDER BY ecl.enrollment_id",
+            nativeQuery = true)
+    List<Long> findConvertedWithCompletionsInTable();
+
+    @Query(value = "SELECT id FROM enrollments WHERE id IN (:enrollmentIds) AND completed_lessons IS NOT NULL", nativeQuery = true)
+    List<Long> findConvertedIds(@Param("enrollmentIds") Collection<Long> enrollmentIds);
 }
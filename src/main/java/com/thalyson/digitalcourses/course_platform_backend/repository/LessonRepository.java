@@ -2,10 +2,14 @@ package com.thalyson.digitalcourses.course_platform_backend.repository;
 
 import com.thalyson.digitalcourses.course_platform_backend.model.LessonJPA;
 import com.thalyson.digitalcourses.course_platform_backend.model.ModuleJPA;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +23,39 @@ public interface LessonRepository extends JpaRepository<LessonJPA, Long> {
     Optional<LessonJPA> findByModuleIdAndOrderIndex(@Param("moduleId") Long moduleId, @Param("orderIndex") Integer orderIndex);
     @Query("SELECT COUNT(l) FROM LessonJPA l WHERE l.module.course.id = :courseId")
     Long countByCourseId(@Param("courseId") Long courseId);
+    @Query("SELECT l.id AS id, m.course.id AS courseId, l.courseOrdinal AS courseOrdinal, l.durationSeconds AS durationSeconds FROM LessonJPA l JOIN l.module m WHERE l.id = :id")
+    Optional<LessonPosition> findPositionById(@Param("id") Long id);
+    @Query("SELECT l.id AS id, m.course.id AS courseId, l.courseOrdinal AS courseOrdinal, l.durationSeconds AS durationSeconds FROM LessonJPA l JOIN l.module m " +
+            "WHERE m.course.id = :courseId AND l.courseOrdinal IS NOT NULL")
+    List<LessonPosition> findPositionsByCourseId(@Param("courseId") Long courseId);
+    @Query("SELECT l.courseOrdinal FROM LessonJPA l WHERE l.module.id = :moduleId AND l.courseOrdinal IS NOT NULL")
+    List<Integer> findCourseOrdinalsByModuleId(@Param("moduleId") Long moduleId);
+    // FOR SHARE espera a exclusão em curso de uma dessas aulas e não devolve as já excluídas.
+    @Query(value = "SELECT l.course_ordinal FROM lessons l JOIN modules m ON m.id = l.module_id " +
+            "JOIN enrollments e ON e.course_id = m.course_id WHERE e.id = :enrollmentId AND l.course_ordinal IN (:ordinals) " +
+            "FOR SHARE OF l", nativeQuery = true)
+    List<Integer> lockExistingCourseOrdinals(@Param("enrollmentId") Long enrollmentId, @Param("ordinals") Collection<Integer> ordinals);
+
+    // Numera, a partir de courses.next_lesson_ordinal, as aulas gravadas sem passar pelo LessonService.
+    @Modifying
+    @Query(value = "WITH missing AS (SELECT l.id, m.course_id, row_number() OVER (PARTITION BY m.course_id ORDER BY l.id) - 1 AS n " +
+            "FROM lessons l JOIN modules m ON m.id = l.module_id WHERE l.course_ordinal IS NULL), " +
+            "bumped AS (UPDATE courses c SET next_lesson_ordinal = c.next_lesson_ordinal + x.total " +
+            "FROM (SELECT course_id, count(*) AS total FROM missing GROUP BY course_id) x WHERE c.id = x.course_id " +
+            "RETURNING c.id, c.next_lesson_ordinal - x.total AS base) " +
+            "UPDATE lessons l SET course_ordinal = b.base + mi.n FROM missing mi JOIN bumped b ON b.id = mi.course_id " +
+            "WHERE l.id = mi.id", nativeQuery = true)
+    int assignMissingCourseOrdinals();
+
+    interface LessonPosition {
+        Long getId();
+        Long getCourseId();
+        Integer getCourseOrdinal();
+        Integer getDurationSeconds();
+    }
+    @EntityGraph(attributePaths = {"module", "module.course", "module.course.instructor", "module.course.category"})
+    List<LessonJPA> findWithModuleByModuleId(Long moduleId);
+    @Query("SELECT greatest(l.updatedAt, m.updatedAt, c.updatedAt, i.updatedAt, cat.updatedAt) FROM LessonJPA l " +
+            "JOIN l.module m JOIN m.course c JOIN c.instructor i JOIN c.category cat WHERE l.id = :id AND m.id = :moduleId")
+    Optional<LocalDateTime> findVersionByIdAndModuleId(@Param("id") Long id, @Param("moduleId") Long moduleId);
 }
@@ -2,10 +2,13 @@ package com.thalyson.digitalcourses.course_platform_backend.repository;
 
 import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
 import com.thalyson.digitalcourses.course_platform_backend.model.ModuleJPA;
+import com.thalyson.digitalcourses.course_platform_backend.dto.CatalogVersion;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,8 +16,25 @@ public interface ModuleRepository extends JpaRepository<ModuleJPA, Long> {
 
     Optional<ModuleJPA> findByCourseAndTitle(CourseJPA course, String title);
     boolean existsByCourseId(Long courseId);
+    boolean existsByIdAndCourseInstructorId(Long id, Long instructorId);
     List<ModuleJPA> findByCourse(CourseJPA course);
     Optional<ModuleJPA> findByTitleIgnoreCase(String title);
     @Query("SELECT m FROM ModuleJPA m WHERE m.course.id = :courseId AND m.orderIndex = :orderIndex")
     Optional<ModuleJPA> findByCourseIdAndOrderIndex(@Param("courseId") Long courseId, @Param("orderIndex") Integer orderIndex);
+    @EntityGraph(attributePaths = {"course", "course.instructor", "course.category"})
+    List<ModuleJPA> findWithCourseByCourseId(Long courseId);
+    @Query("SELECT m.id FROM ModuleJPA m WHERE m.course.id = :courseId")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId);
+    @Query("SELECT greatest(m.updatedAt, c.updatedAt, i.updatedAt, cat.updatedAt) FROM ModuleJPA m " +
+            "JOIN m.course c JOIN c.instructor i JOIN c.category cat WHERE m.id = :id AND c.id = :courseId")
+    Optional<LocalDateTime> findVersionByIdAndCourseId(@Param("id") Long id, @Param("courseId") Long courseId);
+    @Query("SELECT new com.thalyson.digitalcourses.course_platform_backend.dto.CatalogVersion(" +
+            "greatest(max(l.updatedAt), m.updatedAt, c.updatedAt, i.updatedAt, cat.updatedAt), count(l)) " +
+            "FROM ModuleJPA m JOIN m.course c JOIN c.instructor i JOIN c.category cat LEFT JOIN LessonJPA l ON l.module = m " +
+            "WHERE m.id = :id GROUP BY m.updatedAt, c.updatedAt, i.updatedAt, cat.updatedAt")
+    Optional<CatalogVersion> findLessonsVersionById(@Param("id") Long id);
+    // Cada linha traz [módulo, aula]; módulos sem aulas vêm uma vez, com a aula nula.
+    @Query("SELECT m, l FROM ModuleJPA m LEFT JOIN LessonJPA l ON l.module = m WHERE m.course.id = :courseId " +
+            "ORDER BY m.orderIndex, m.id, l.orderIndex, l.id")
+    List<Object[]> findOutlineRowsByCourseId(@Param("courseId") Long courseId);
 }
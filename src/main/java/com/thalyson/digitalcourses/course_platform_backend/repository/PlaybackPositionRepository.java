@@ -0,0 +1,42 @@
+package com.thalyson.digitalcourses.course_platform_backend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Posições de reprodução em lesson_playback_positions, gravadas em lote JDBC pelo
+ * PlaybackPositionService.
+ */
+@Repository
+public class PlaybackPositionRepository {
+
+    public record PlaybackPosition(Long enrollmentId, Long lessonId, int positionSeconds, LocalDateTime updatedAt) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Grava as posições, ignorando as de matrícula ou aula já excluída.
+     */
+    public void upsertAll(List<PlaybackPosition> positions) {
+        jdbcTemplate.batchUpdate("INSERT INTO lesson_playback_positions (enrollment_id, lesson_id, position_seconds, updated_at) " +
+                "SELECT e.id, l.id, ?, ? FROM enrollments e JOIN lessons l ON l.id = ? WHERE e.id = ? " +
+                "ON CONFLICT (enrollment_id, lesson_id) DO UPDATE SET position_seconds = EXCLUDED.position_seconds, " +
+                "updated_at = EXCLUDED.updated_at", positions.stream()
+                .map(p -> new Object[]{p.positionSeconds(), p.updatedAt(), p.lessonId(), p.enrollmentId()})
+                .toList());
+    }
+
+    public List<PlaybackPosition> findByEnrollmentId(Long enrollmentId) {
+        return jdbcTemplate.query("SELECT enrollment_id, lesson_id, position_seconds, updated_at FROM lesson_playback_positions " +
+                        "WHERE enrollment_id = ?",
+                (rs, rowNum) -> new PlaybackPosition(rs.getLong("enrollment_id"), rs.getLong("lesson_id"),
+                        rs.getInt("position_seconds"), rs.getObject("updated_at", LocalDateTime.class)),
+                enrollmentId);
+    }
+}
@@ -0,0 +1,57 @@
+package com.thalyson.digitalcourses.course_platform_backend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escritas de progresso em lote JDBC, uma ida ao banco por comando para várias matrículas. Usado
+ * por {@code EnrollmentProgressService.recordCompletions}, chamado pelo ProgressWriteBehind e pela
+ * sincronização de progresso offline; roda na transação de quem chama, pela mesma conexão do JPA.
+ */
+@Repository
+public class ProgressBatchRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param enrollmentAndLesson pares {enrollmentId, lessonId}
+     * @return linhas inseridas por par: 1, 0 se já existia, ou negativo se o driver não informou
+     */
+    public int[] insertCompletedLessons(List<Object[]> enrollmentAndLesson) {
+        return jdbcTemplate.batchUpdate("INSERT INTO enrollment_completed_lessons (enrollment_id, lesson_id) VALUES (?, ?) " +
+                "ON CONFLICT DO NOTHING", enrollmentAndLesson);
+    }
+
+    public void incrementCompletedCounts(Map<Long, Integer> addedByEnrollment) {
+        if (addedByEnrollment.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE enrollments SET completed_count = completed_count + ? WHERE id = ?",
+                addedByEnrollment.entrySet().stream().map(e -> new Object[]{e.getValue(), e.getKey()}).toList());
+    }
+
+    public void recountCompletedCounts(Collection<Long> enrollmentIds) {
+        jdbcTemplate.batchUpdate("UPDATE enrollments SET completed_count = " +
+                        "(SELECT count(*) FROM enrollment_completed_lessons WHERE enrollment_id = ?) WHERE id = ?",
+                enrollmentIds.stream().map(id -> new Object[]{id, id}).toList());
+    }
+
+    /**
+     * Mesma escrita de {@link EnrollmentRepository#updateProgressAndLastWatched}, para várias matrículas.
+     *
+     * @param lastLessonByEnrollment última aula assistida por matrícula
+     */
+    public void updateProgressAndLastWatched(Map<Long, Long> lastLessonByEnrollment, LocalDateTime now) {
+        jdbcTemplate.batchUpdate("UPDATE enrollments e SET progress_percentage = " + EnrollmentRepository.PROGRESS_FROM_COUNTERS + ", " +
+                        "completion_status = " + EnrollmentRepository.STATUS_FROM_COUNTERS + ", " +
+                        "last_watched_lesson_id = ?, updated_at = ? FROM courses c WHERE c.id = e.course_id AND e.id = ?",
+                lastLessonByEnrollment.entrySet().stream().map(e -> new Object[]{e.getValue(), now, e.getKey()}).toList());
+    }
+}
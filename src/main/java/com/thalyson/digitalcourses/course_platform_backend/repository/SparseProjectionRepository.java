@@ -0,0 +1,59 @@
+package com.thalyson.digitalcourses.course_platform_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas que trazem só as colunas pedidas em {@code fields}, sem carregar a entidade nem suas
+ * associações. Entidade, atributos, filtro e ordenação vêm dos serviços, já validados contra uma
+ * lista fixa; só os valores dos parâmetros vêm da requisição.
+ */
+@Repository
+public class SparseProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<Map<String, Object>> select(String entity, List<String> attributes, String where,
+                                            Map<String, Object> parameters, List<String> orderBy) {
+        return select(entity, attributes, where, parameters, orderBy, 0, Integer.MAX_VALUE);
+    }
+
+    public List<Map<String, Object>> select(String entity, List<String> attributes, String where,
+                                            Map<String, Object> parameters, List<String> orderBy,
+                                            int offset, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        jpql.append(String.join(", ", attributes.stream().map(attribute -> "e." + attribute).toList()));
+        jpql.append(" FROM ").append(entity).append(" e");
+        if (where != null) {
+            jpql.append(" WHERE ").append(where);
+        }
+        if (!orderBy.isEmpty()) {
+            jpql.append(" ORDER BY ").append(String.join(", ", orderBy));
+        }
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        parameters.forEach(query::setParameter);
+        if (offset > 0) {
+            query.setFirstResult(offset);
+        }
+        if (limit < Integer.MAX_VALUE) {
+            query.setMaxResults(limit);
+        }
+
+        return query.getResultList().stream().map(tuple -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < attributes.size(); i++) {
+                row.put(attributes.get(i), tuple.get(i));
+            }
+            return row;
+        }).toList();
+    }
+}
@@ -1,10 +1,29 @@
 package com.thalyson.digitalcourses.course_platform_backend.repository;
 
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface UserRepository extends JpaRepository<UserJPA, Long> {
     Optional<UserJPA> findByEmail(String email);
+
+    @Query("SELECT u.tokenVersion FROM UserJPA u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.email FROM UserJPA u")
+    Stream<String> streamAllEmails();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.email FROM UserJPA u WHERE u.updatedAt >= :since")
+    Stream<String> streamEmailsUpdatedSince(@Param("since") LocalDateTime since);
 }
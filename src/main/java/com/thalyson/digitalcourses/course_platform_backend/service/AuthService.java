@@ -1,21 +1,46 @@
 package com.thalyson.digitalcourses.course_platform_backend.service;
 
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class AuthService implements UserDetailsService {
+public class AuthService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EmailBloomFilter emailBloomFilter;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (!emailBloomFilter.mightContain(username)) {
+            throw new UsernameNotFoundException("Usuário não encontrado com o email: " + username);
+        }
         return userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + username));
+                .orElseThrow(() -> {
+                    emailBloomFilter.recordFalsePositive();
+                    return new UsernameNotFoundException("Usuário não encontrado com o email: " + username);
+                });
+    }
+
+    /**
+     * Chamado pelo Spring Security após um login bem-sucedido quando o hash gravado usa outro
+     * algoritmo ou custo do BCrypt; regrava a senha com a configuração atual.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserJPA userJPA = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + user.getUsername()));
+        userJPA.setPassword(newPassword);
+        return userRepository.save(userJPA);
     }
 }
@@ -0,0 +1,24 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.model.RoleMask;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import org.springframework.stereotype.Service;
+
+/**
+ * Verificações de perfil feitas sobre users.role_mask, sem carregar user_roles.
+ */
+@Service
+public class AuthorizationService {
+
+    public boolean isAdmin(UserJPA user) {
+        return user.hasRole(RoleMask.ADMIN);
+    }
+
+    public boolean isInstructor(UserJPA user) {
+        return user.hasRole(RoleMask.INSTRUCTOR);
+    }
+
+    public boolean isInstructorOrAdmin(UserJPA user) {
+        return user.hasRole(RoleMask.INSTRUCTOR | RoleMask.ADMIN);
+    }
+}
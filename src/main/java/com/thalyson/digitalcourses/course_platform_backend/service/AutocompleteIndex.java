@@ -0,0 +1,478 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosSugestaoAutocomplete;
+import com.thalyson.digitalcourses.course_platform_backend.model.CategoryJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CategoryRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice de prefixos em memória para o autocomplete de títulos de cursos publicados e nomes de
+ * categorias. Cada título é indexado a partir do início de cada palavra, então "boot" encontra
+ * "Spring Boot Avançado". Maiúsculas e acentos são ignorados.
+ *
+ * <p>A base é um vetor ordenado de posições (entrada, deslocamento) sobre o texto normalizado,
+ * sem copiar os sufixos. Inclusões e alterações vão para um segmento pequeno ordenado e as
+ * versões antigas ficam ocultas na base até a próxima reconstrução, que também traz as escritas
+ * feitas em outros nós. Enquanto a carga inicial não termina, as consultas retornam vazio.
+ */
+@Service
+public class AutocompleteIndex {
+
+    public enum Kind { COURSE, CATEGORY }
+
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteIndex.class);
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Custo aproximado de cabeçalho de objeto, referência e campos, usado só na estimativa de memória.
+    private static final int STRING_OVERHEAD = 40;
+    private static final int ENTRY_OVERHEAD = 48;
+    private static final int DELTA_KEY_OVERHEAD = 96;
+
+    @Value("${api.autocomplete.enabled:true}")
+    private boolean enabled;
+
+    @Value("${api.autocomplete.max-words-per-title:8}")
+    private int maxWordsPerTitle;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Object writeLock = new Object();
+    private volatile Segments segments = Segments.empty();
+    // Escritas feitas durante uma reconstrução, reaplicadas sobre o índice novo.
+    private volatile List<Consumer<Segments>> pendingWrites;
+    private volatile boolean ready;
+    private Timer rebuildTimer;
+
+    @PostConstruct
+    void init() {
+        rebuildTimer = Timer.builder("autocomplete.index.rebuild")
+                .description("Tempo para carregar o índice de autocomplete a partir do banco")
+                .register(meterRegistry);
+        Gauge.builder("autocomplete.index.size.bytes", this, index -> index.segments.estimatedSizeInBytes())
+                .description("Memória estimada ocupada pelo índice de autocomplete")
+                .register(meterRegistry);
+        Gauge.builder("autocomplete.index.entries", this, index -> index.segments.entryCount())
+                .description("Títulos de cursos e nomes de categorias no índice de autocomplete (aproximado)")
+                .register(meterRegistry);
+        Gauge.builder("autocomplete.index.pending", this, index -> index.segments.delta.size())
+                .description("Chaves incluídas desde a última reconstrução do índice de autocomplete")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recarrega o índice do banco, incorporando o segmento de alterações e as escritas de outros nós.
+     */
+    @Scheduled(fixedDelayString = "${api.autocomplete.rebuild-interval-ms:600000}",
+            initialDelayString = "${api.autocomplete.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        List<Consumer<Segments>> writes = new ArrayList<>();
+        synchronized (writeLock) {
+            pendingWrites = writes;
+        }
+        try {
+            List<Entry> entries = new ArrayList<>();
+            long startedAt = System.nanoTime();
+            readOnly().executeWithoutResult(status -> {
+                try (Stream<Object[]> courses = courseRepository.streamPublishedTitles()) {
+                    courses.forEach(row -> entries.add(entry(Kind.COURSE, (Long) row[0], (String) row[1])));
+                }
+                for (CategoryJPA category : categoryRepository.findAll()) {
+                    entries.add(entry(Kind.CATEGORY, category.getId().longValue(), category.getName()));
+                }
+            });
+            Segments next = Segments.of(Base.build(entries.stream().filter(Objects::nonNull).toList(), maxWordsPerTitle));
+            synchronized (writeLock) {
+                writes.forEach(write -> write.accept(next));
+                segments = next;
+                pendingWrites = null;
+            }
+            ready = true;
+            long elapsed = System.nanoTime() - startedAt;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Índice de autocomplete carregado com {} títulos e {} chaves em {} ms (~{} bytes)",
+                    next.entryCount(), next.base.keyCount(), elapsed / 1_000_000, next.estimatedSizeInBytes());
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                pendingWrites = null;
+            }
+            log.error("Falha ao carregar o índice de autocomplete; o índice anterior continua em uso", e);
+        }
+    }
+
+    public List<DadosSugestaoAutocomplete> suggest(String prefix, int limit) {
+        if (!enabled || !ready || prefix == null) {
+            return List.of();
+        }
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return segments.suggest(normalized, Math.max(1, Math.min(limit, MAX_SUGGESTIONS))).stream()
+                .map(e -> new DadosSugestaoAutocomplete(e.kind.name(), e.id, e.text))
+                .toList();
+    }
+
+    public void indexCourse(CourseJPA course) {
+        Long id = course.getId();
+        String title = course.getTitle();
+        boolean published = Boolean.TRUE.equals(course.getPublished());
+        afterCommit(() -> {
+            if (published) {
+                put(Kind.COURSE, id, title);
+            } else {
+                remove(Kind.COURSE, id);
+            }
+        });
+    }
+
+    public void removeCourse(Long id) {
+        afterCommit(() -> remove(Kind.COURSE, id));
+    }
+
+    public void indexCategory(CategoryJPA category) {
+        Integer id = category.getId();
+        String name = category.getName();
+        afterCommit(() -> put(Kind.CATEGORY, id.longValue(), name));
+    }
+
+    public void removeCategory(Integer id) {
+        afterCommit(() -> remove(Kind.CATEGORY, id.longValue()));
+    }
+
+    void put(Kind kind, long id, String text) {
+        Entry entry = entry(kind, id, text);
+        if (entry == null) {
+            remove(kind, id);
+            return;
+        }
+        write(target -> target.put(entry, maxWordsPerTitle));
+    }
+
+    void remove(Kind kind, long id) {
+        write(target -> target.remove(ref(kind, id), maxWordsPerTitle));
+    }
+
+    private void write(Consumer<Segments> action) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            action.accept(segments);
+            List<Consumer<Segments>> pending = pendingWrites;
+            if (pending != null) {
+                pending.add(action);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    static String normalize(String text) {
+        String withoutMarks = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(withoutMarks.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static Entry entry(Kind kind, long id, String text) {
+        if (text == null) {
+            return null;
+        }
+        String normalized = normalize(text);
+        return normalized.isEmpty() ? null : new Entry(kind, id, text, normalized);
+    }
+
+    private static long ref(Kind kind, long id) {
+        return ((long) kind.ordinal() << 56) | id;
+    }
+
+    /**
+     * Posições em que começa cada palavra do texto normalizado, até o limite configurado.
+     */
+    private static int[] wordStarts(String normalized, int maxWords) {
+        int[] starts = new int[Math.min(maxWords, normalized.length())];
+        int count = 0;
+        for (int i = 0; i < normalized.length() && count < starts.length; i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                starts[count++] = i;
+            }
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    private record Entry(Kind kind, long id, String text, String normalized) {
+        long ref() {
+            return AutocompleteIndex.ref(kind, id);
+        }
+
+        long estimatedSizeInBytes() {
+            return ENTRY_OVERHEAD + 2L * STRING_OVERHEAD + text.length() + normalized.length();
+        }
+    }
+
+    private record Candidate(String key, Entry entry) {
+    }
+
+    /**
+     * Vetor imutável com uma posição por palavra indexada, ordenado pelo sufixo a partir dela.
+     */
+    static final class Base {
+
+        private static final Base EMPTY = new Base(new Entry[0], new int[0], new int[0]);
+
+        private final Entry[] entries;
+        private final int[] keyEntry;
+        private final int[] keyOffset;
+        private final long estimatedSizeInBytes;
+
+        private Base(Entry[] entries, int[] keyEntry, int[] keyOffset) {
+            this.entries = entries;
+            this.keyEntry = keyEntry;
+            this.keyOffset = keyOffset;
+            long size = 2L * Integer.BYTES * keyEntry.length + 8L * entries.length;
+            for (Entry entry : entries) {
+                size += entry.estimatedSizeInBytes();
+            }
+            this.estimatedSizeInBytes = size;
+        }
+
+        static Base build(List<Entry> source, int maxWords) {
+            Entry[] entries = source.toArray(Entry[]::new);
+            List<long[]> keys = new ArrayList<>();
+            for (int i = 0; i < entries.length; i++) {
+                for (int offset : wordStarts(entries[i].normalized, maxWords)) {
+                    keys.add(new long[]{i, offset});
+                }
+            }
+            Comparator<long[]> bySuffix = (a, b) -> compareSuffixes(
+                    entries[(int) a[0]].normalized, (int) a[1], entries[(int) b[0]].normalized, (int) b[1]);
+            keys.sort(bySuffix.thenComparingLong(k -> entries[(int) k[0]].ref()));
+
+            int[] keyEntry = new int[keys.size()];
+            int[] keyOffset = new int[keys.size()];
+            for (int i = 0; i < keys.size(); i++) {
+                keyEntry[i] = (int) keys.get(i)[0];
+                keyOffset[i] = (int) keys.get(i)[1];
+            }
+            return new Base(entries, keyEntry, keyOffset);
+        }
+
+        int keyCount() {
+            return keyEntry.length;
+        }
+
+        int entryCount() {
+            return entries.length;
+        }
+
+        /**
+         * Primeiras entradas distintas, em ordem de sufixo, cujo texto tem uma palavra começando pelo prefixo.
+         */
+        List<Candidate> collect(String prefix, int limit, Set<Long> hidden) {
+            List<Candidate> result = new ArrayList<>();
+            Set<Long> seen = new HashSet<>();
+            for (int i = lowerBound(prefix); i < keyEntry.length && result.size() < limit; i++) {
+                Entry entry = entries[keyEntry[i]];
+                if (!entry.normalized.startsWith(prefix, keyOffset[i])) {
+                    break;
+                }
+                if (!hidden.contains(entry.ref()) && seen.add(entry.ref())) {
+                    result.add(new Candidate(entry.normalized.substring(keyOffset[i]), entry));
+                }
+            }
+            return result;
+        }
+
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = keyEntry.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareSuffixes(entries[keyEntry[mid]].normalized, keyOffset[mid], prefix, 0) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        long estimatedSizeInBytes() {
+            return estimatedSizeInBytes;
+        }
+
+        private static int compareSuffixes(String a, int offsetA, String b, int offsetB) {
+            int lengthA = a.length() - offsetA;
+            int lengthB = b.length() - offsetB;
+            int common = Math.min(lengthA, lengthB);
+            for (int i = 0; i < common; i++) {
+                int diff = a.charAt(offsetA + i) - b.charAt(offsetB + i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return lengthA - lengthB;
+        }
+    }
+
+    /**
+     * Base imutável mais o segmento de alterações desde a última reconstrução. Entradas alteradas
+     * ou removidas ficam em {@code hidden} para serem ignoradas na base.
+     */
+    static final class Segments {
+
+        private final Base base;
+        private final ConcurrentSkipListMap<String, Entry> delta = new ConcurrentSkipListMap<>();
+        private final Map<Long, Entry> deltaEntries = new ConcurrentHashMap<>();
+        private final Set<Long> hidden = ConcurrentHashMap.newKeySet();
+
+        private Segments(Base base) {
+            this.base = base;
+        }
+
+        static Segments empty() {
+            return new Segments(Base.EMPTY);
+        }
+
+        static Segments of(Base base) {
+            return new Segments(base);
+        }
+
+        void put(Entry entry, int maxWords) {
+            remove(entry.ref(), maxWords);
+            deltaEntries.put(entry.ref(), entry);
+            for (int offset : wordStarts(entry.normalized, maxWords)) {
+                delta.put(deltaKey(entry, offset), entry);
+            }
+        }
+
+        void remove(long ref, int maxWords) {
+            hidden.add(ref);
+            Entry previous = deltaEntries.remove(ref);
+            if (previous != null) {
+                for (int offset : wordStarts(previous.normalized, maxWords)) {
+                    delta.remove(deltaKey(previous, offset));
+                }
+            }
+        }
+
+        List<Entry> suggest(String prefix, int limit) {
+            List<Candidate> candidates = new ArrayList<>(base.collect(prefix, limit, hidden));
+
+            Set<Long> seen = new HashSet<>();
+            int fromDelta = 0;
+            for (Map.Entry<String, Entry> key : delta.tailMap(prefix).entrySet()) {
+                if (!key.getKey().startsWith(prefix) || fromDelta >= limit) {
+                    break;
+                }
+                if (seen.add(key.getValue().ref())) {
+                    candidates.add(new Candidate(key.getKey().substring(0, key.getKey().indexOf('\u0000')), key.getValue()));
+                    fromDelta++;
+                }
+            }
+
+            candidates.sort(Comparator.comparing(Candidate::key).thenComparingLong(c -> c.entry().ref()));
+            Set<Long> returned = new HashSet<>();
+            return candidates.stream()
+                    .map(Candidate::entry)
+                    .filter(entry -> returned.add(entry.ref()))
+                    .limit(limit)
+                    .toList();
+        }
+
+        // Títulos alterados contam duas vezes até a próxima reconstrução.
+        long entryCount() {
+            return base.entryCount() + deltaEntries.size();
+        }
+
+        long estimatedSizeInBytes() {
+            long size = base.estimatedSizeInBytes();
+            for (Entry entry : deltaEntries.values()) {
+                size += entry.estimatedSizeInBytes();
+            }
+            for (String key : delta.keySet()) {
+                size += DELTA_KEY_OVERHEAD + key.length();
+            }
+            return size + (long) hidden.size() * 32;
+        }
+
+        private static String deltaKey(Entry entry, int offset) {
+            return entry.normalized.substring(offset) + '\u0000' + entry.ref();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.config.CacheConfig;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.ModuleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Invalidação das regiões do catálogo, chamada pelos métodos de escrita dos serviços.
+ *
+ * <p>Os DTOs em cache são aninhados (aula → módulo → curso → instrutor e categoria), então
+ * alterar um curso invalida também os módulos dele e as aulas desses módulos. A estrutura do
+ * curso (outline) cai junto com qualquer alteração em seus módulos ou aulas. Cada chave é
+ * removida na hora e de novo após o commit, para que uma leitura concorrente não grave no
+ * cache o estado anterior à transação.
+ */
+@Service
+public class CatalogCache {
+
+    @Value("${api.cache.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    public void evictCategories() {
+        evict(CacheConfig.CATEGORIES, SimpleKey.EMPTY);
+    }
+
+    public void evictCategory(Integer categoryId) {
+        if (!enabled) {
+            return;
+        }
+        evictCategories();
+        courseRepository.findIdsByCategoryId(categoryId).forEach(this::evictCourse);
+    }
+
+    public void evictInstructor(Long instructorId) {
+        if (!enabled) {
+            return;
+        }
+        courseRepository.findIdsByInstructorId(instructorId).forEach(this::evictCourse);
+    }
+
+    public void evictCourse(Long courseId) {
+        if (!enabled) {
+            return;
+        }
+        evict(CacheConfig.COURSES, courseId);
+        evictModules(courseId);
+        moduleRepository.findIdsByCourseId(courseId).forEach(moduleId -> evict(CacheConfig.MODULE_LESSONS, moduleId));
+    }
+
+    public void evictModules(Long courseId) {
+        evict(CacheConfig.COURSE_MODULES, courseId);
+        evict(CacheConfig.COURSE_OUTLINES, courseId);
+    }
+
+    public void evictModule(Long courseId, Long moduleId) {
+        evictModules(courseId);
+        evict(CacheConfig.MODULE_LESSONS, moduleId);
+    }
+
+    public void evictLessons(Long courseId, Long moduleId) {
+        evict(CacheConfig.MODULE_LESSONS, moduleId);
+        evict(CacheConfig.COURSE_OUTLINES, courseId);
+    }
+
+    private void evict(String region, Object key) {
+        Cache cache = cacheManager.getCache(region);
+        if (!enabled || cache == null || key == null) {
+            return;
+        }
+        cache.evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(key);
+                }
+            });
+        }
+    }
+}
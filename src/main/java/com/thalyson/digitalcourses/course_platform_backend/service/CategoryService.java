@@ -1,11 +1,15 @@
 package com.thalyson.digitalcourses.course_platform_backend.service;
 
+import com.thalyson.digitalcourses.course_platform_backend.config.CacheConfig;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosCadastroCategory;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoCategory;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosResumoCategory;
 import com.thalyson.digitalcourses.course_platform_backend.model.CategoryJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.CategoryRepository;
 import com.thalyson.digitalcourses.course_platform_backend.exception.DuplicateResourceException;
 import com.thalyson.digitalcourses.course_platform_backend.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +22,15 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
+
+    @Autowired
+    private CategorySummarySnapshot categorySummarySnapshot;
+
     @Transactional
     public CategoryJPA create(DadosCadastroCategory dados) {
 
@@ -26,17 +39,30 @@ public class CategoryService {
         }
 
         CategoryJPA newCategory = new CategoryJPA(dados.name());
-        return categoryRepository.save(newCategory);
+        catalogCache.evictCategories();
+        CategoryJPA savedCategory = categoryRepository.save(newCategory);
+        autocompleteIndex.indexCategory(savedCategory);
+        categorySummarySnapshot.refreshAfterCommit();
+        return savedCategory;
     }
 
     public Optional<CategoryJPA> findById(Integer id) {
         return categoryRepository.findById(id);
     }
 
+    public List<DadosResumoCategory> findSummary() {
+        return categorySummarySnapshot.current();
+    }
+
     public List<CategoryJPA> findAll() {
         return categoryRepository.findAll();
     }
 
+    @Cacheable(CacheConfig.CATEGORIES)
+    public List<DadosDetalhamentoCategory> findAllDetails() {
+        return categoryRepository.findAll().stream().map(DadosDetalhamentoCategory::new).toList();
+    }
+
     @Transactional
     public CategoryJPA update(Integer id, DadosCadastroCategory dados) {
         CategoryJPA existingCategory = categoryRepository.findById(id)
@@ -48,6 +74,9 @@ public class CategoryService {
         }
 
         existingCategory.setName(dados.name());
+        catalogCache.evictCategory(id);
+        autocompleteIndex.indexCategory(existingCategory);
+        categorySummarySnapshot.refreshAfterCommit();
         return categoryRepository.save(existingCategory);
     }
 
@@ -55,6 +84,9 @@ public class CategoryService {
     public void delete(Integer id) {
         CategoryJPA category = categoryRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Categoria não encontrada com ID: " + id));
+        catalogCache.evictCategory(id);
+        autocompleteIndex.removeCategory(id);
+        categorySummarySnapshot.refreshAfterCommit();
         categoryRepository.delete(category);
     }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosResumoCategory;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CategoryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lista de categorias com a quantidade de cursos publicados, calculada por uma única consulta
+ * agregada e servida como uma lista imutável. Escritas que mudam a categoria ou a publicação de
+ * um curso pedem uma nova leitura em segundo plano após o commit; pedidos feitos enquanto uma
+ * leitura está na fila são agrupados. A releitura periódica traz as mudanças de outros nós e passa
+ * pela mesma fila, então as leituras nunca se sobrepõem e a mais recente é sempre a publicada.
+ */
+@Service
+public class CategorySummarySnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(CategorySummarySnapshot.class);
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "category-summary-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private volatile List<DadosResumoCategory> snapshot;
+
+    public List<DadosResumoCategory> current() {
+        List<DadosResumoCategory> current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestRefresh();
+                }
+            });
+        } else {
+            requestRefresh();
+        }
+    }
+
+    void requestRefresh() {
+        if (!refreshQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                // Liberado antes da leitura: uma mudança durante a consulta agenda outra.
+                refreshQueued.set(false);
+                refresh();
+            });
+        } catch (RejectedExecutionException e) {
+            refreshQueued.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.category-summary.refresh-interval-ms:60000}",
+            initialDelayString = "${api.category-summary.refresh-interval-ms:60000}")
+    public void refreshPeriodically() {
+        requestRefresh();
+    }
+
+    private void refresh() {
+        try {
+            List<DadosResumoCategory> loaded = load();
+            // Espera a primeira leitura de current(), que pode ter começado antes desta.
+            synchronized (this) {
+                snapshot = loaded;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao recalcular o resumo de categorias; o anterior continua em uso", e);
+        }
+    }
+
+    private List<DadosResumoCategory> load() {
+        return categoryRepository.summarizePublishedCourses().stream()
+                .map(c -> new DadosResumoCategory(c.getId(), c.getName(), c.getPublishedCourses()))
+                .toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,247 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.exception.ResourceNotFoundException;
+import com.thalyson.digitalcourses.course_platform_backend.model.EnrollmentJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.LessonBitmap;
+import com.thalyson.digitalcourses.course_platform_backend.repository.EnrollmentRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.LessonRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aulas concluídas guardadas como {@link LessonBitmap} em enrollments.completed_lessons, em vez de
+ * uma linha por aula em enrollment_completed_lessons. Ligado por
+ * {@code api.progress.bitmap-storage.enabled}.
+ *
+ * <p>A conversão é feita por matrícula: na primeira escrita com o modo ligado e, para as demais,
+ * em lotes ao subir a aplicação. Ela grava o bitmap e apaga as linhas da tabela. Uma matrícula
+ * ainda sem bitmap continua sendo lida da tabela. A conversão não tem volta: com o modo desligado,
+ * as matrículas já convertidas seguem gravando no bitmap (ver {@link #usingBitmap}), e só as
+ * demais usam a tabela. Linhas que ainda assim existam numa matrícula convertida são juntadas ao
+ * bitmap na próxima conversão dela.
+ */
+@Service
+public class CompletedLessonBitmaps {
+
+    private static final Logger log = LoggerFactory.getLogger(CompletedLessonBitmaps.class);
+
+    @Value("${api.progress.bitmap-storage.enabled:false}")
+    private boolean enabled;
+
+    @Value("${api.progress.bitmap-storage.migration-batch-size:500}")
+    private int migrationBatchSize;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * As matrículas que gravam conclusões no bitmap: todas com o modo ligado; com ele desligado, as
+     * já convertidas, para que a mesma aula não conte uma vez no bitmap e outra na tabela.
+     */
+    public Set<Long> usingBitmap(Collection<Long> enrollmentIds) {
+        if (enabled) {
+            return new HashSet<>(enrollmentIds);
+        }
+        return new HashSet<>(enrollmentRepository.findConvertedIds(enrollmentIds));
+    }
+
+    /**
+     * Marca a aula no bitmap da matrícula, convertendo-a antes se preciso. Deve rodar dentro de
+     * uma transação: a linha da matrícula fica travada até o commit.
+     *
+     * @return true se a aula ainda não estava concluída
+     */
+    public boolean record(Long enrollmentId, int lessonOrdinal) {
+        return record(enrollmentId, new int[]{lessonOrdinal}) > 0;
+    }
+
+    /**
+     * Marca várias aulas com uma única leitura e gravação do bitmap. Posições cuja aula foi excluída
+     * são ignoradas: conferidas com a linha da matrícula já travada, depois de um {@link #clear}
+     * concorrente, elas não voltam ao bitmap.
+     *
+     * @return quantas aulas ainda não estavam concluídas
+     */
+    public int record(Long enrollmentId, int[] lessonOrdinals) {
+        LessonBitmap bitmap = lockAndConvert(enrollmentId);
+        Set<Integer> existing = new HashSet<>(lessonRepository.lockExistingCourseOrdinals(enrollmentId,
+                Arrays.stream(lessonOrdinals).boxed().toList()));
+        int added = 0;
+        for (int ordinal : lessonOrdinals) {
+            if (existing.contains(ordinal) && bitmap.add(ordinal)) {
+                added++;
+            }
+        }
+        if (added > 0) {
+            store(enrollmentId, bitmap);
+        }
+        return added;
+    }
+
+    /**
+     * Desmarca as aulas em todas as matrículas do curso que já usam bitmap. Deve rodar antes da
+     * exclusão das aulas, na mesma transação.
+     */
+    public void clear(Long courseId, int[] lessonOrdinals) {
+        if (lessonOrdinals.length == 0) {
+            return;
+        }
+        for (EnrollmentRepository.CompletedLessonsRow row : enrollmentRepository.lockCompletedLessonsByCourse(courseId)) {
+            LessonBitmap bitmap = LessonBitmap.fromBytes(row.getCompletedLessons());
+            boolean changed = false;
+            for (int ordinal : lessonOrdinals) {
+                changed |= bitmap.remove(ordinal);
+            }
+            if (changed) {
+                store(row.getId(), bitmap);
+            }
+        }
+    }
+
+    /**
+     * Junta aos bitmaps as linhas da tabela de matrículas já convertidas, tira deles as posições sem
+     * aula e acerta completed_count pela cardinalidade. Corrige o que escapou de {@link #record} e
+     * {@link #clear}, como uma conversão da tabela que correu junto com a exclusão de uma aula. Roda
+     * também com o modo desligado, já que as matrículas convertidas seguem no bitmap. Deve rodar
+     * numa transação.
+     *
+     * @return quantas matrículas foram corrigidas
+     */
+    public int reconcile() {
+        int fixed = 0;
+        for (Long enrollmentId : enrollmentRepository.findConvertedWithCompletionsInTable()) {
+            lockAndConvert(enrollmentId);
+            fixed++;
+        }
+        for (Long courseId : enrollmentRepository.findCourseIdsWithCompletedLessons()) {
+            List<EnrollmentRepository.CompletedLessonsRow> rows = enrollmentRepository.lockCompletedLessonsByCourse(courseId);
+            // Lidas depois das travas, para incluir as aulas das conclusões já gravadas.
+            long[] lessonIds = lessonIdsByOrdinal(courseId);
+            for (EnrollmentRepository.CompletedLessonsRow row : rows) {
+                LessonBitmap bitmap = LessonBitmap.fromBytes(row.getCompletedLessons());
+                boolean changed = false;
+                for (int ordinal : bitmap.toArray()) {
+                    if (ordinal >= lessonIds.length || lessonIds[ordinal] == 0) {
+                        changed |= bitmap.remove(ordinal);
+                    }
+                }
+                if (changed || !Integer.valueOf(bitmap.cardinality()).equals(row.getCompletedCount())) {
+                    store(row.getId(), bitmap);
+                    fixed++;
+                }
+            }
+        }
+        return fixed;
+    }
+
+    /**
+     * IDs das aulas concluídas, do bitmap quando a matrícula já foi convertida e da tabela quando
+     * não. As posições são traduzidas com uma consulta por curso, guardada em
+     * {@code lessonIdsByCourse} para as próximas matrículas do mesmo curso.
+     */
+    public Set<Long> completedLessonIds(EnrollmentJPA enrollment, Map<Long, long[]> lessonIdsByCourse) {
+        byte[] bytes = enrollment.getCompletedLessons();
+        if (bytes == null) {
+            return enrollment.getCompletedLessonIds();
+        }
+        LessonBitmap bitmap = LessonBitmap.fromBytes(bytes);
+        Set<Long> ids = new LinkedHashSet<>();
+        if (!bitmap.isEmpty()) {
+            long[] lessonIds = lessonIdsByCourse.computeIfAbsent(enrollment.getCourse().getId(), this::lessonIdsByOrdinal);
+            for (int ordinal : bitmap.toArray()) {
+                // Posição sem aula: excluída depois da conclusão, ainda não tirada por reconcile.
+                if (ordinal < lessonIds.length && lessonIds[ordinal] != 0) {
+                    ids.add(lessonIds[ordinal]);
+                }
+            }
+        }
+        if (!enabled) {
+            // Modo desligado: pode haver linhas de aulas ainda sem posição no curso.
+            ids.addAll(enrollment.getCompletedLessonIds());
+        }
+        return Collections.unmodifiableSet(ids);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateExisting() {
+        if (!enabled) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            transaction.executeWithoutResult(status -> lessonRepository.assignMissingCourseOrdinals());
+            long converted = 0;
+            List<Long> batch;
+            do {
+                batch = transaction.execute(status -> {
+                    List<Long> ids = enrollmentRepository.findWithCompletionsInTable(migrationBatchSize);
+                    ids.forEach(this::lockAndConvert);
+                    return ids;
+                });
+                converted += batch.size();
+            } while (batch.size() == migrationBatchSize);
+            if (converted > 0) {
+                log.info("{} matrículas convertidas para o bitmap de aulas concluídas", converted);
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha ao converter matrículas para o bitmap; as restantes seguem lidas da tabela", e);
+        }
+    }
+
+    private LessonBitmap lockAndConvert(Long enrollmentId) {
+        EnrollmentRepository.CompletedLessonsRow row = enrollmentRepository.lockCompletedLessons(enrollmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Matrícula não encontrada com ID: " + enrollmentId));
+        boolean converted = row.getCompletedLessons() != null;
+        LessonBitmap bitmap = converted ? LessonBitmap.fromBytes(row.getCompletedLessons()) : new LessonBitmap();
+        // Numa matrícula já convertida, as linhas são de quando o modo esteve desligado e foram
+        // contadas à parte: juntá-las e regravar acerta também o contador.
+        List<Integer> inTable = enrollmentRepository.findCompletedOrdinalsInTable(enrollmentId);
+        if (converted && inTable.isEmpty()) {
+            return bitmap;
+        }
+        inTable.forEach(bitmap::add);
+        store(enrollmentId, bitmap);
+        enrollmentRepository.deleteCompletedLessonRows(enrollmentId);
+        return bitmap;
+    }
+
+    private void store(Long enrollmentId, LessonBitmap bitmap) {
+        enrollmentRepository.storeCompletedLessons(enrollmentId, bitmap.toBytes(), bitmap.cardinality());
+    }
+
+    private long[] lessonIdsByOrdinal(Long courseId) {
+        List<LessonRepository.LessonPosition> positions = lessonRepository.findPositionsByCourseId(courseId);
+        int max = positions.stream().mapToInt(LessonRepository.LessonPosition::getCourseOrdinal).max().orElse(-1);
+        long[] ids = new long[max + 1];
+        for (LessonRepository.LessonPosition position : positions) {
+            ids[position.getCourseOrdinal()] = position.getId();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,110 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosContagemFaceta;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosFacetasCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosFiltroCourse;
+import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Contagens de cursos por categoria, instrutor e publicação, mantidas em {@code course_facet_counts}.
+ * O CourseService ajusta a combinação afetada na mesma transação de cada escrita; a recontagem
+ * agendada corrige desvios de escritas feitas fora dele.
+ */
+@Service
+public class CourseFacetService {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseFacetService.class);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    public FacetKey keyOf(CourseJPA course) {
+        return new FacetKey(course.getCategory().getId(), course.getInstructor().getId(),
+                Boolean.TRUE.equals(course.getPublished()));
+    }
+
+    public void courseAdded(CourseJPA course) {
+        adjust(keyOf(course), 1);
+    }
+
+    public void courseRemoved(CourseJPA course) {
+        adjust(keyOf(course), -1);
+    }
+
+    public void courseChanged(FacetKey before, CourseJPA course) {
+        FacetKey after = keyOf(course);
+        if (before.equals(after)) {
+            return;
+        }
+        // Sempre na mesma ordem de chave, para que duas mudanças opostas não travem uma à outra.
+        if (before.compareTo(after) < 0) {
+            adjust(before, -1);
+            adjust(after, 1);
+        } else {
+            adjust(after, 1);
+            adjust(before, -1);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public DadosFacetasCourse findFacets(DadosFiltroCourse filter) {
+        int categoryId = Objects.requireNonNullElse(filter.categoryId(), 0);
+        long instructorId = Objects.requireNonNullElse(filter.instructorId(), 0L);
+        int published = filter.published() == null ? -1 : (filter.published() ? 1 : 0);
+
+        return new DadosFacetasCourse(
+                toDados(courseRepository.countFacetsByCategory(instructorId, published)),
+                toDados(courseRepository.countFacetsByInstructor(categoryId, published)),
+                toDados(courseRepository.countFacetsByPublished(categoryId, instructorId)));
+    }
+
+    /**
+     * Total de cursos que atendem a todos os filtros, deduzido da faceta de publicação.
+     */
+    public long total(DadosFiltroCourse filter, DadosFacetasCourse facets) {
+        return facets.published().stream()
+                .filter(f -> filter.published() == null || f.value().equals(filter.published().toString()))
+                .mapToLong(DadosContagemFaceta::count)
+                .sum();
+    }
+
+    @Scheduled(cron = "${api.facets.recount-cron:0 30 3 * * *}")
+    @Transactional
+    public void recount() {
+        courseRepository.lockFacetCounts();
+        courseRepository.deleteAllFacetCounts();
+        courseRepository.insertFacetCountsFromCourses();
+        log.info("Contagens de facetas de cursos recalculadas");
+    }
+
+    private void adjust(FacetKey key, long delta) {
+        courseRepository.adjustFacetCount(key.categoryId(), key.instructorId(), key.published(), delta);
+    }
+
+    private static List<DadosContagemFaceta> toDados(List<CourseRepository.FacetCount> counts) {
+        return counts.stream().map(c -> new DadosContagemFaceta(c.getValue(), c.getLabel(), c.getTotal())).toList();
+    }
+
+    public record FacetKey(int categoryId, long instructorId, boolean published) implements Comparable<FacetKey> {
+
+        private static final Comparator<FacetKey> ORDER = Comparator.comparingInt(FacetKey::categoryId)
+                .thenComparingLong(FacetKey::instructorId)
+                .thenComparing(FacetKey::published);
+
+        @Override
+        public int compareTo(FacetKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
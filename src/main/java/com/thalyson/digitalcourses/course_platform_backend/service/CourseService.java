@@ -1,5 +1,21 @@
 package com.thalyson.digitalcourses.course_platform_backend.service;
 
+import com.thalyson.digitalcourses.course_platform_backend.config.CacheConfig;
+import com.thalyson.digitalcourses.course_platform_backend.dto.CatalogVersion;
+import com.thalyson.digitalcourses.course_platform_backend.dto.CourseCursor;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosFacetasCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosFiltroCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosNavegacaoCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosPaginaCursor;
+import com.thalyson.digitalcourses.course_platform_backend.dto.SparseFields;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosOutlineCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosOutlineLesson;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosOutlineModule;
+import com.thalyson.digitalcourses.course_platform_backend.model.LessonJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.ModuleJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.ModuleRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.SparseProjectionRepository;
 import com.thalyson.digitalcourses.course_platform_backend.model.CategoryJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.CategoryRepository;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoCourse;
@@ -11,24 +27,69 @@ import com.thalyson.digitalcourses.course_platform_backend.exception.ResourceNot
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CourseService {
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_BROWSE_PAGE_SIZE = 100;
+    private static final Set<String> COURSE_COLUMNS = Set.of("id", "title", "description", "thumbnailUrl",
+            "isPublished", "createdAt", "updatedAt");
+    private static final Set<String> COURSE_FIELDS = Set.of("id", "title", "description", "thumbnailUrl",
+            "isPublished", "instructor", "category", "createdAt", "updatedAt");
+
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private OwnershipService ownershipService;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
+
+    @Autowired
+    private CourseFacetService courseFacetService;
+
+    @Autowired
+    private SparseProjectionRepository sparseProjectionRepository;
+
+    @Autowired
+    private CategorySummarySnapshot categorySummarySnapshot;
+
     @Transactional
     public CourseJPA create(DadosCadastroCourse dados){
         UserJPA instructor = userRepository.findById(dados.instructorId())
@@ -46,14 +107,29 @@ public class CourseService {
                 instructor,
                 category
         );
-        return courseRepository.save(newCourse);
+        CourseJPA savedCourse = courseRepository.save(newCourse);
+        courseFacetService.courseAdded(savedCourse);
+        autocompleteIndex.indexCourse(savedCourse);
+        if (Boolean.TRUE.equals(newCourse.getPublished())) {
+            categorySummarySnapshot.refreshAfterCommit();
+        }
+        return savedCourse;
     }
 
     @Transactional
-    public CourseJPA update(Long id, DadosAtualizacaoCourse dados){
+    public CourseJPA update(Long id, DadosAtualizacaoCourse dados, UserJPA authenticatedUser){
         CourseJPA course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Curso não encontrado com ID: " + id));
 
+        // Mesma checagem do @PreAuthorize; o OwnershipService devolve o resultado já memorizado.
+        if (!authorizationService.isAdmin(authenticatedUser)
+                && !ownershipService.isInstructorOfCourse(id, authenticatedUser.getId())) {
+            throw new AccessDeniedByBusinessException("Usuário não tem permissão para atualizar este curso.");
+        }
+        CourseFacetService.FacetKey facetsBefore = courseFacetService.keyOf(course);
+        Integer categoryBefore = course.getCategory().getId();
+        Boolean publishedBefore = course.getPublished();
+
         if (dados.instructorId() != null) {
             UserJPA instructor = userRepository.findById(dados.instructorId())
                     .orElseThrow(() -> new ResourceNotFoundException("Instrutor não encontrado com ID: " + dados.instructorId()));
@@ -67,6 +143,12 @@ public class CourseService {
         }
 
         course.updateFields(dados);
+        courseFacetService.courseChanged(facetsBefore, course);
+        if (!Objects.equals(categoryBefore, course.getCategory().getId()) || !Objects.equals(publishedBefore, course.getPublished())) {
+            categorySummarySnapshot.refreshAfterCommit();
+        }
+        catalogCache.evictCourse(id);
+        autocompleteIndex.indexCourse(course);
         return courseRepository.save(course);
     }
 
@@ -75,8 +157,7 @@ public class CourseService {
         CourseJPA course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Curso não encontrado com Id: " + id));
 
-        boolean isAdmin = authenticatedUser.getRoles().stream()
-                .anyMatch(role -> role.getName().equals("ROLE_ADMIN"));
+        boolean isAdmin = authorizationService.isAdmin(authenticatedUser);
 
         boolean isInstructorOfCourse = course.getInstructor().getId().equals(authenticatedUser.getId());
 
@@ -84,6 +165,12 @@ public class CourseService {
             throw new AccessDeniedByBusinessException("Usuário não tem permissão para excluir este curso.");
         }
 
+        catalogCache.evictCourse(id);
+        autocompleteIndex.removeCourse(id);
+        courseFacetService.courseRemoved(course);
+        if (Boolean.TRUE.equals(course.getPublished())) {
+            categorySummarySnapshot.refreshAfterCommit();
+        }
         courseRepository.delete(course);
     }
 
@@ -91,14 +178,201 @@ public class CourseService {
         return courseRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COURSES, key = "#id", unless = "#result == null")
+    public Optional<DadosDetalhamentoCourse> findDetailsById(Long id) {
+        return courseRepository.findWithInstructorAndCategoryById(id).map(DadosDetalhamentoCourse::new);
+    }
+
+    /**
+     * Curso, módulos e aulas em duas consultas: o curso com instrutor e categoria, e os módulos
+     * com left join nas aulas.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COURSE_OUTLINES, key = "#id", unless = "#result == null")
+    public Optional<DadosOutlineCourse> findOutline(Long id) {
+        Optional<CourseJPA> course = courseRepository.findWithInstructorAndCategoryById(id);
+        if (course.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<ModuleJPA, List<DadosOutlineLesson>> lessonsByModule = new LinkedHashMap<>();
+        for (Object[] row : moduleRepository.findOutlineRowsByCourseId(id)) {
+            List<DadosOutlineLesson> lessons = lessonsByModule.computeIfAbsent((ModuleJPA) row[0], m -> new ArrayList<>());
+            if (row[1] != null) {
+                lessons.add(new DadosOutlineLesson((LessonJPA) row[1]));
+            }
+        }
+
+        List<DadosOutlineModule> modules = lessonsByModule.entrySet().stream()
+                .map(entry -> new DadosOutlineModule(entry.getKey(), List.copyOf(entry.getValue())))
+                .toList();
+        return Optional.of(new DadosOutlineCourse(new DadosDetalhamentoCourse(course.get()), modules));
+    }
+
+    public Optional<CatalogVersion> findOutlineVersion(Long id) {
+        return courseRepository.findOutlineVersionById(id);
+    }
+
+    public Optional<CatalogVersion> findVersion(Long id) {
+        return courseRepository.findVersionById(id).map(CatalogVersion::of);
+    }
+
+    public Optional<CatalogVersion> findModulesVersion(Long id) {
+        return courseRepository.findModulesVersionById(id);
+    }
+
+    public CatalogVersion findListVersion() {
+        return courseRepository.findListVersion();
+    }
+
     public Page<CourseJPA> findAll(Pageable pageable) {
-        return courseRepository.findAll(pageable);
+        return courseRepository.findAllWithInstructorAndCategory(pageable);
+    }
+
+    /**
+     * Listagem com apenas os campos pedidos. Sem "instructor" nem "category" em fields, a consulta
+     * lê só as colunas pedidas de courses, sem joins.
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAllSparse(Pageable pageable, String fields) {
+        SparseFields selected = SparseFields.parse(fields, COURSE_FIELDS);
+        if (!selected.within(COURSE_COLUMNS)) {
+            return findAll(pageable).map(course -> selected.project(new DadosDetalhamentoCourse(course)));
+        }
+
+        List<String> orderBy = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            if (!COURSE_COLUMNS.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Ordenação não suportada: '" + order.getProperty() + "'.");
+            }
+            orderBy.add("e." + order.getProperty() + (order.isDescending() ? " DESC" : ""));
+        }
+        orderBy.add("e.id");
+
+        List<Map<String, Object>> content = sparseProjectionRepository.select("CourseJPA", selected.names(), null,
+                Map.of(), orderBy, (int) pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, courseRepository::count);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findSparseById(Long id, String fields) {
+        SparseFields selected = SparseFields.parse(fields, COURSE_FIELDS);
+        if (!selected.within(COURSE_COLUMNS)) {
+            return courseRepository.findWithInstructorAndCategoryById(id)
+                    .map(course -> selected.project(new DadosDetalhamentoCourse(course)));
+        }
+        return sparseProjectionRepository.select("CourseJPA", selected.names(), "e.id = :id", Map.of("id", id), List.of())
+                .stream().findFirst();
+    }
+
+    /**
+     * Listagem por cursor, ordenada por (title, id). Busca um item a mais para saber se há próxima
+     * página; o total só é contado quando pedido.
+     */
+    @Transactional(readOnly = true)
+    public DadosPaginaCursor<DadosDetalhamentoCourse> findAllByCursor(String cursor, int size, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<CourseJPA> courses;
+        if (cursor == null || cursor.isBlank()) {
+            courses = courseRepository.findFirstOrderByTitleAndId(limit);
+        } else {
+            CourseCursor after = CourseCursor.decode(cursor);
+            courses = courseRepository.findAfterOrderByTitleAndId(after.sortKey(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (courses.size() > pageSize) {
+            courses = courses.subList(0, pageSize);
+            CourseJPA last = courses.get(pageSize - 1);
+            nextCursor = new CourseCursor(last.getTitle(), last.getId()).encode();
+        }
+
+        Long total = includeTotal ? courseRepository.count() : null;
+        return new DadosPaginaCursor<>(courses.stream().map(DadosDetalhamentoCourse::new).toList(), nextCursor, pageSize, total);
+    }
+
+    /**
+     * Listagem por cursor com cada curso recortado nos campos pedidos em fields.
+     */
+    @Transactional(readOnly = true)
+    public DadosPaginaCursor<Map<String, Object>> findAllByCursorSparse(String cursor, int size, boolean includeTotal, String fields) {
+        SparseFields selected = SparseFields.parse(fields, COURSE_FIELDS);
+        DadosPaginaCursor<DadosDetalhamentoCourse> page = findAllByCursor(cursor, size, includeTotal);
+        return new DadosPaginaCursor<>(page.content().stream().map(selected::project).toList(),
+                page.nextCursor(), page.size(), page.totalElements());
+    }
+
+    /**
+     * Navegação filtrada por categoria, instrutor e publicação. O total da página sai das contagens
+     * de facetas em vez de um COUNT sobre os cursos.
+     */
+    @Transactional(readOnly = true)
+    public DadosNavegacaoCourse browse(DadosFiltroCourse filter, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_BROWSE_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+
+        DadosFacetasCourse facets = courseFacetService.findFacets(filter);
+        long total = courseFacetService.total(filter, facets);
+        List<DadosDetalhamentoCourse> content = (long) pageNumber * pageSize >= total
+                ? List.of()
+                : courseRepository.findFiltered(filter, pageNumber * pageSize, pageSize).stream()
+                        .map(DadosDetalhamentoCourse::new)
+                        .toList();
+        int totalPages = (int) ((total + pageSize - 1) / pageSize);
+        return new DadosNavegacaoCourse(content, pageNumber, pageSize, total, totalPages, facets);
+    }
+
+    /**
+     * Busca textual nos cursos publicados. Os ids vêm ordenados por relevância do índice GIN, e os
+     * cursos da página são carregados depois em uma única consulta.
+     */
+    @Transactional(readOnly = true)
+    public DadosPaginaCursor<DadosDetalhamentoCourse> search(String q, Integer categoryId, String cursor, int size) {
+        if (q == null || q.isBlank()) {
+            throw new IllegalArgumentException("O termo de busca não pode ser vazio.");
+        }
+        if (q.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException("O termo de busca deve ter no máximo " + MAX_SEARCH_QUERY_LENGTH + " caracteres.");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        float afterRank = Float.MAX_VALUE;
+        long afterId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            CourseCursor after = CourseCursor.decode(cursor);
+            afterRank = after.sortKeyAsFloat();
+            afterId = after.id();
+        }
+
+        List<CourseRepository.SearchHit> hits = courseRepository.search(q.trim(), categoryId == null ? 0 : categoryId,
+                afterRank, afterId, pageSize + 1);
+
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            CourseRepository.SearchHit last = hits.get(pageSize - 1);
+            nextCursor = new CourseCursor(Float.toString(last.getRank()), last.getId()).encode();
+        }
+        if (hits.isEmpty()) {
+            return new DadosPaginaCursor<>(List.of(), null, pageSize, null);
+        }
+
+        Map<Long, CourseJPA> coursesById = courseRepository.findAllWithInstructorAndCategoryByIdIn(
+                        hits.stream().map(CourseRepository.SearchHit::getId).toList()).stream()
+                .collect(Collectors.toMap(CourseJPA::getId, Function.identity()));
+        List<DadosDetalhamentoCourse> content = hits.stream()
+                .map(hit -> coursesById.get(hit.getId()))
+                .filter(Objects::nonNull)
+                .map(DadosDetalhamentoCourse::new)
+                .toList();
+        return new DadosPaginaCursor<>(content, nextCursor, pageSize, null);
     }
 
     public boolean isInstructorOfCourse(Long courseId, UserJPA authenticatedUser) {
-        return courseRepository.findById(courseId)
-                .map(course -> course.getInstructor().getId().equals(authenticatedUser.getId()))
-                .orElse(false);
+        return ownershipService.isInstructorOfCourse(courseId, authenticatedUser.getId());
     }
 
 }
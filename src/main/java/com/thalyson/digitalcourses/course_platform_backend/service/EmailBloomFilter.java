@@ -0,0 +1,266 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de Bloom com os emails cadastrados, usado para responder "não existe" sem ir ao banco
+ * no login e no registro. Um resultado positivo ainda precisa da consulta; um negativo é definitivo.
+ *
+ * <p>Enquanto a carga inicial não termina, ou com o filtro desligado, tudo é tratado como
+ * possível cadastro. Emails de outros nós chegam pela sincronização incremental, e quando o
+ * número de emails passa da capacidade prevista o filtro é reconstruído com o dobro do tamanho.
+ */
+@Service
+public class EmailBloomFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailBloomFilter.class);
+
+    @Value("${api.security.email-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${api.security.email-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${api.security.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${api.security.email-filter.sync-overlap-seconds:60}")
+    private long syncOverlapSeconds;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile BloomBits current;
+    // Filtro em reconstrução; recebe também as inclusões feitas durante a carga.
+    private volatile BloomBits building;
+    private volatile boolean ready;
+    private volatile LocalDateTime lastSync;
+
+    private Counter definitelyAbsent;
+    private Counter falsePositives;
+
+    @PostConstruct
+    void init() {
+        current = new BloomBits(expectedInsertions, falsePositiveRate);
+
+        definitelyAbsent = Counter.builder("auth.email_filter.lookups")
+                .description("Consultas de email respondidas pelo filtro sem acesso ao banco")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        falsePositives = Counter.builder("auth.email_filter.false_positives")
+                .description("Emails que o filtro indicou como possíveis, mas não existiam no banco")
+                .register(meterRegistry);
+        Gauge.builder("auth.email_filter.size.bytes", this, f -> f.current.sizeInBytes())
+                .description("Memória ocupada pelo filtro de emails")
+                .register(meterRegistry);
+        Gauge.builder("auth.email_filter.expected_fpp", this, f -> f.current.expectedFalsePositiveRate())
+                .description("Taxa de falso positivo estimada para o número atual de emails")
+                .register(meterRegistry);
+        Gauge.builder("auth.email_filter.entries", this, f -> f.current.approximateCount())
+                .description("Emails incluídos no filtro")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (!enabled) {
+            return;
+        }
+        rebuild(expectedInsertions);
+    }
+
+    /**
+     * @return false somente quando o email certamente não está cadastrado
+     */
+    public boolean mightContain(String email) {
+        if (!enabled || !ready || email == null) {
+            return true;
+        }
+        if (current.mightContain(email)) {
+            return true;
+        }
+        definitelyAbsent.increment();
+        return false;
+    }
+
+    public void recordFalsePositive() {
+        if (enabled && ready) {
+            falsePositives.increment();
+        }
+    }
+
+    public void add(String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        current.put(email);
+        BloomBits rebuilding = building;
+        if (rebuilding != null) {
+            rebuilding.put(email);
+        }
+    }
+
+    /**
+     * Traz os emails criados ou alterados em outros nós desde a última sincronização.
+     */
+    @Scheduled(fixedDelayString = "${api.security.email-filter.sync-interval-ms:5000}")
+    public void sync() {
+        if (!enabled || !ready) {
+            return;
+        }
+        if (current.approximateCount() > current.capacity()) {
+            rebuild(current.capacity() * 2);
+            return;
+        }
+
+        LocalDateTime since = lastSync.minusSeconds(syncOverlapSeconds);
+        LocalDateTime startedAt = LocalDateTime.now();
+        readOnly().executeWithoutResult(status -> {
+            try (Stream<String> emails = userRepository.streamEmailsUpdatedSince(since)) {
+                emails.forEach(this::add);
+            }
+        });
+        lastSync = startedAt;
+    }
+
+    private synchronized void rebuild(long capacity) {
+        BloomBits next = new BloomBits(capacity, falsePositiveRate);
+        building = next;
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            readOnly().executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    emails.forEach(next::put);
+                }
+            });
+            current = next;
+            lastSync = startedAt;
+            ready = true;
+            log.info("Filtro de emails carregado com {} emails ({} bytes)", next.approximateCount(), next.sizeInBytes());
+        } catch (RuntimeException e) {
+            log.error("Falha ao carregar o filtro de emails; consultas seguem indo ao banco", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    static final class BloomBits {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashFunctions;
+        private final long capacity;
+        private final AtomicLong insertions = new AtomicLong();
+
+        BloomBits(long capacity, double falsePositiveRate) {
+            if (capacity <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+                throw new IllegalArgumentException("Capacidade ou taxa de falso positivo inválida para o filtro de emails");
+            }
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = (long) wordCount * 64;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        void put(String value) {
+            long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+            long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+            boolean changed = false;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                changed |= setBit(bit);
+            }
+            if (changed) {
+                insertions.incrementAndGet();
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+            long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean setBit(long bit) {
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            while (true) {
+                long word = words.get(index);
+                if ((word & mask) != 0) {
+                    return false;
+                }
+                if (words.compareAndSet(index, word, word | mask)) {
+                    return true;
+                }
+            }
+        }
+
+        long approximateCount() {
+            return insertions.get();
+        }
+
+        long capacity() {
+            return capacity;
+        }
+
+        long sizeInBytes() {
+            return (long) words.length() * Long.BYTES;
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) hashFunctions * insertions.get() / bitCount), hashFunctions);
+        }
+
+        private static long hash(String value, long seed) {
+            long h = seed;
+            for (int i = 0; i < value.length(); i++) {
+                h = (h ^ value.charAt(i)) * 0x100000001B3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
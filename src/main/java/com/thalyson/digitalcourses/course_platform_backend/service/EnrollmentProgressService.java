@@ -0,0 +1,192 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.model.LessonJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.EnrollmentRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.LessonRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.ProgressBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Progresso das matrículas a partir de dois contadores: {@code courses.lesson_count} e
+ * {@code enrollments.completed_count}. O LessonService e o ModuleService ajustam o total de aulas
+ * na mesma transação de cada inclusão ou exclusão; a recontagem agendada corrige desvios de
+ * escritas feitas fora deles.
+ */
+@Service
+public class EnrollmentProgressService {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentProgressService.class);
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private CompletedLessonBitmaps completedLessonBitmaps;
+
+    @Autowired
+    private ProgressBatchRepository progressBatchRepository;
+
+    /**
+     * Registra a aula como concluída e como a última assistida. Só soma no contador quando a aula
+     * ainda não estava concluída.
+     *
+     * @param lessonOrdinal posição da aula no curso, usada quando as conclusões ficam em bitmap
+     * @return true se a conclusão é nova
+     */
+    public boolean recordCompletion(Long enrollmentId, Long lessonId, Integer lessonOrdinal) {
+        boolean inserted;
+        if (lessonOrdinal == null && completedLessonBitmaps.isEnabled()) {
+            throw new IllegalStateException("Aula sem posição no curso: " + lessonId);
+        }
+        if (lessonOrdinal != null && !completedLessonBitmaps.usingBitmap(List.of(enrollmentId)).isEmpty()) {
+            // O bitmap grava o contador junto, com a cardinalidade.
+            inserted = completedLessonBitmaps.record(enrollmentId, lessonOrdinal);
+        } else {
+            inserted = enrollmentRepository.insertCompletedLesson(enrollmentId, lessonId) > 0;
+            if (inserted) {
+                enrollmentRepository.incrementCompletedCount(enrollmentId);
+            }
+        }
+        enrollmentRepository.updateProgressAndLastWatched(enrollmentId, lessonId, LocalDateTime.now());
+        return inserted;
+    }
+
+    /**
+     * Várias conclusões de uma vez, com o mesmo efeito de {@link #recordCompletion} para cada uma:
+     * as linhas, os contadores e o progresso de todas as matrículas vão em lotes JDBC, e o progresso
+     * é recalculado uma vez por matrícula. Com bitmap, cada matrícula tem uma leitura e uma gravação;
+     * aulas sem posição no curso (só com o modo desligado) vão para a tabela mesmo assim.
+     * Deve rodar numa transação; as matrículas devem vir em ordem de ID, a ordem das travas.
+     *
+     * @param byEnrollment conclusões de cada matrícula; a última assistida é a última conclusão
+     */
+    public void recordCompletions(Map<Long, ProgressWriteBehind.PendingProgress> byEnrollment) {
+        Set<Long> bitmapped = completedLessonBitmaps.usingBitmap(byEnrollment.keySet());
+        List<Object[]> rows = new ArrayList<>();
+        byEnrollment.forEach((enrollmentId, completions) -> {
+            boolean toBitmap = bitmapped.contains(enrollmentId);
+            for (int i = 0; i < completions.lessonIds.length; i++) {
+                if (!toBitmap || completions.lessonOrdinals[i] == ProgressWriteBehind.PendingProgress.NO_ORDINAL) {
+                    rows.add(new Object[]{enrollmentId, completions.lessonIds[i]});
+                }
+            }
+            int[] ordinals = toBitmap ? Arrays.stream(completions.lessonOrdinals)
+                    .filter(ordinal -> ordinal != ProgressWriteBehind.PendingProgress.NO_ORDINAL).toArray() : new int[0];
+            if (ordinals.length > 0) {
+                completedLessonBitmaps.record(enrollmentId, ordinals);
+            }
+        });
+        if (!rows.isEmpty()) {
+            int[] inserted = progressBatchRepository.insertCompletedLessons(rows);
+            Map<Long, Integer> added = new LinkedHashMap<>();
+            boolean unknown = false;
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i] < 0) {
+                    unknown = true;
+                } else if (inserted[i] > 0) {
+                    added.merge((Long) rows.get(i)[0], inserted[i], Integer::sum);
+                }
+            }
+            // Sem a contagem por linha (ex.: reWriteBatchedInserts no driver), recontar é o seguro.
+            // A recontagem lê só a tabela, então fica de fora quem grava no bitmap.
+            if (unknown) {
+                progressBatchRepository.recountCompletedCounts(byEnrollment.keySet().stream()
+                        .filter(enrollmentId -> !bitmapped.contains(enrollmentId)).toList());
+            } else {
+                progressBatchRepository.incrementCompletedCounts(added);
+            }
+        }
+        Map<Long, Long> lastLessons = new LinkedHashMap<>();
+        byEnrollment.forEach((enrollmentId, completions) -> lastLessons.put(enrollmentId, completions.lastWatchedLessonId));
+        progressBatchRepository.updateProgressAndLastWatched(lastLessons, LocalDateTime.now());
+    }
+
+    /**
+     * A regra de {@link EnrollmentRepository#PROGRESS_FROM_COUNTERS}, para progresso ainda não gravado.
+     */
+    public static BigDecimal progressOf(int completedCount, int lessonCount) {
+        if (lessonCount == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(Math.min(completedCount, lessonCount))
+                .divide(BigDecimal.valueOf(lessonCount), 2, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100));
+    }
+
+    public static String statusOf(int completedCount, int lessonCount, String currentStatus) {
+        if (lessonCount == 0) {
+            return currentStatus;
+        }
+        return progressOf(completedCount, lessonCount).compareTo(BigDecimal.valueOf(100)) >= 0 ? "COMPLETED" : "IN_PROGRESS";
+    }
+
+    /**
+     * Deve ser chamado antes de gravar a aula.
+     *
+     * @return a posição da nova aula no curso
+     */
+    public int lessonAdded(Long courseId) {
+        courseRepository.claimLessonOrdinal(courseId);
+        courseRepository.adjustLessonCount(courseId, 1);
+        enrollmentRepository.refreshProgress(courseId);
+        return courseRepository.findLastClaimedLessonOrdinal(courseId);
+    }
+
+    /**
+     * Deve ser chamado antes da exclusão, enquanto as conclusões da aula ainda existem.
+     */
+    public void lessonRemoved(Long courseId, LessonJPA lesson) {
+        enrollmentRepository.discountCompletedLesson(lesson.getId());
+        if (lesson.getCourseOrdinal() != null) {
+            completedLessonBitmaps.clear(courseId, new int[]{lesson.getCourseOrdinal()});
+        }
+        courseRepository.adjustLessonCount(courseId, -1);
+        enrollmentRepository.refreshProgress(courseId);
+    }
+
+    /**
+     * Deve ser chamado antes da exclusão do módulo, que remove as aulas em cascata.
+     */
+    public void moduleRemoved(Long courseId, Long moduleId) {
+        enrollmentRepository.discountCompletedLessonsOfModule(moduleId);
+        completedLessonBitmaps.clear(courseId, lessonRepository.findCourseOrdinalsByModuleId(moduleId).stream()
+                .mapToInt(Integer::intValue).toArray());
+        courseRepository.subtractModuleLessons(courseId, moduleId);
+        enrollmentRepository.refreshProgress(courseId);
+    }
+
+    @Scheduled(cron = "${api.progress.recount-cron:0 45 3 * * *}")
+    @Transactional
+    public void recount() {
+        lessonRepository.assignMissingCourseOrdinals();
+        int courses = courseRepository.recountLessonCounts();
+        int enrollments = enrollmentRepository.recountCompletedCounts() + completedLessonBitmaps.reconcile();
+        int refreshed = enrollmentRepository.refreshProgress(0);
+        if (courses > 0 || enrollments > 0) {
+            log.warn("Contadores de progresso corrigidos: {} cursos, {} matrículas, {} progressos recalculados",
+                    courses, enrollments, refreshed);
+        }
+    }
+}
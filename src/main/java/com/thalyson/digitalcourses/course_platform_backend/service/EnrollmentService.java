@@ -4,11 +4,14 @@ import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoEnrollment;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosCadastroEnrollment;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosConclusaoLesson;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoEnrollment;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoLesson;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosSincronizacaoProgress;
 import com.thalyson.digitalcourses.course_platform_backend.model.EnrollmentJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.EnrollmentRepository;
 import com.thalyson.digitalcourses.course_platform_backend.exception.DuplicateResourceException;
 import com.thalyson.digitalcourses.course_platform_backend.exception.ResourceNotFoundException;
-import com.thalyson.digitalcourses.course_platform_backend.model.LessonJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.LessonRepository;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
@@ -17,10 +20,16 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Service
 public class EnrollmentService {
@@ -28,6 +37,9 @@ public class EnrollmentService {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
+    @Autowired
+    private AuthorizationService authorizationService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -37,6 +49,15 @@ public class EnrollmentService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private EnrollmentProgressService enrollmentProgressService;
+
+    @Autowired
+    private CompletedLessonBitmaps completedLessonBitmaps;
+
+    @Autowired
+    private ProgressWriteBehind progressWriteBehind;
+
     @Transactional
     public EnrollmentJPA create(DadosCadastroEnrollment dados){
         UserJPA user = userRepository.findById(dados.userId())
@@ -80,24 +101,87 @@ public class EnrollmentService {
 
 
     @Transactional
-    public EnrollmentJPA updateEnrollment(Long enrollmentId, DadosAtualizacaoEnrollment dados, UserJPA loggedInUser) {
+    public DadosDetalhamentoEnrollment updateEnrollment(Long enrollmentId, DadosAtualizacaoEnrollment dados, UserJPA loggedInUser) {
         EnrollmentJPA enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Matrícula não encontrada com ID: " + enrollmentId));
 
         checkOwnership(enrollment, loggedInUser);
 
-        LessonJPA lesson = lessonRepository.findById(dados.lessonId())
+        LessonRepository.LessonPosition lesson = lessonRepository.findPositionById(dados.lessonId())
                 .orElseThrow(() -> new ResourceNotFoundException("Aula não encontrada com ID: " + dados.lessonId()));
 
-        if (!lesson.getModule().getCourse().getId().equals(enrollment.getCourse().getId())) {
+        if (!lesson.getCourseId().equals(enrollment.getCourse().getId())) {
             throw new IllegalArgumentException("A aula não pertence ao curso da matrícula.");
         }
 
-        enrollment.markLessonAsCompleted(lesson.getId());
-        updateProgress(enrollment);
-        enrollment.setLastWatchedLesson(lesson);
+        Optional<ProgressWriteBehind.PendingProgress> queued =
+                progressWriteBehind.offer(enrollmentId, dados.lessonId(), lesson.getCourseOrdinal());
+        if (queued.isPresent()) {
+            // A consulta inclui o que já está sendo gravado; se a gravação terminou, fica o enfileirado.
+            return toDetails(enrollment, progressWriteBehind.pendingFor(enrollmentId).orElse(queued.get()), new HashMap<>());
+        }
 
-        return enrollmentRepository.save(enrollment);
+        // Contadores e progresso são atualizados no banco; a matrícula é relida com o resultado.
+        enrollmentProgressService.recordCompletion(enrollmentId, dados.lessonId(), lesson.getCourseOrdinal());
+        return toDetails(enrollmentRepository.findById(enrollmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Matrícula não encontrada com ID: " + enrollmentId)));
+    }
+
+    /**
+     * Grava de uma vez conclusões feitas offline. Todas são validadas antes, com uma consulta só;
+     * qualquer matrícula inexistente, alheia ou aula fora do curso recusa o lote inteiro.
+     */
+    @Transactional
+    public List<DadosDetalhamentoEnrollment> syncProgress(DadosSincronizacaoProgress dados, UserJPA loggedInUser) {
+        Set<Long> enrollmentIds = new TreeSet<>();
+        Set<Long> lessonIds = new HashSet<>();
+        for (DadosConclusaoLesson completion : dados.completions()) {
+            enrollmentIds.add(completion.enrollmentId());
+            lessonIds.add(completion.lessonId());
+        }
+
+        Map<Long, Long> ownerByEnrollment = new HashMap<>();
+        Map<Long, Map<Long, Integer>> ordinalsByEnrollment = new HashMap<>();
+        for (EnrollmentRepository.CompletionTarget target : enrollmentRepository.findCompletionTargets(enrollmentIds, lessonIds)) {
+            ownerByEnrollment.put(target.getEnrollmentId(), target.getUserId());
+            if (target.getLessonId() != null) {
+                ordinalsByEnrollment.computeIfAbsent(target.getEnrollmentId(), id -> new HashMap<>())
+                        .put(target.getLessonId(), target.getCourseOrdinal());
+            }
+        }
+
+        boolean isAdmin = authorizationService.isAdmin(loggedInUser);
+        for (Long enrollmentId : enrollmentIds) {
+            Long ownerId = ownerByEnrollment.get(enrollmentId);
+            if (ownerId == null) {
+                throw new ResourceNotFoundException("Matrícula não encontrada com ID: " + enrollmentId);
+            }
+            if (!isAdmin && !ownerId.equals(loggedInUser.getId())) {
+                throw new AccessDeniedException("Usuário não tem permissão para acessar este recurso.");
+            }
+        }
+
+        // Em ordem de ID, a mesma das travas tomadas pela gravação assíncrona.
+        Map<Long, ProgressWriteBehind.PendingProgress> byEnrollment = new TreeMap<>();
+        for (DadosConclusaoLesson completion : dados.completions()) {
+            Map<Long, Integer> lessons = ordinalsByEnrollment.getOrDefault(completion.enrollmentId(), Map.of());
+            if (!lessons.containsKey(completion.lessonId())) {
+                throw new IllegalArgumentException("A aula " + completion.lessonId() + " não pertence ao curso da matrícula "
+                        + completion.enrollmentId() + ".");
+            }
+            Integer lessonOrdinal = lessons.get(completion.lessonId());
+            if (lessonOrdinal == null && completedLessonBitmaps.isEnabled()) {
+                throw new IllegalStateException("Aula sem posição no curso: " + completion.lessonId());
+            }
+            int ordinal = lessonOrdinal != null ? lessonOrdinal : ProgressWriteBehind.PendingProgress.NO_ORDINAL;
+            byEnrollment.merge(completion.enrollmentId(), new ProgressWriteBehind.PendingProgress(completion.lessonId(), ordinal),
+                    (current, added) -> current.with(completion.lessonId(), ordinal));
+        }
+
+        enrollmentProgressService.recordCompletions(byEnrollment);
+        return toDetails(enrollmentRepository.findAllById(byEnrollment.keySet()).stream()
+                .sorted(Comparator.comparing(EnrollmentJPA::getId))
+                .toList());
     }
 
     @Transactional
@@ -107,12 +191,12 @@ public class EnrollmentService {
 
         checkOwnership(enrollment, loggedInUser);
 
+        progressWriteBehind.discard(enrollmentId);
         enrollmentRepository.delete(enrollment);
     }
 
     private void checkOwnership(EnrollmentJPA enrollment, UserJPA user) {
-        boolean isAdmin = user.getAuthorities().stream()
-                .anyMatch(role -> role.getAuthority().equals("ROLE_ADMIN"));
+        boolean isAdmin = authorizationService.isAdmin(user);
         boolean isOwner = enrollment.getUser().getId().equals(user.getId());
 
         if (!isAdmin && !isOwner) {
@@ -121,23 +205,33 @@ public class EnrollmentService {
     }
 
 
-    private void updateProgress(EnrollmentJPA enrollment) {
-        Long totalLessonsInCourse = lessonRepository.countByCourseId(enrollment.getCourse().getId());
-        if (totalLessonsInCourse == 0) {
-            enrollment.setProgressPercentage(BigDecimal.ZERO);
-            return;
-        }
+    public DadosDetalhamentoEnrollment toDetails(EnrollmentJPA enrollment) {
+        return toDetails(List.of(enrollment)).get(0);
+    }
 
-        BigDecimal progress = BigDecimal.valueOf(enrollment.getCompletedLessonIds().size())
-                .divide(BigDecimal.valueOf(totalLessonsInCourse), 2, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(100));
-        enrollment.setProgressPercentage(progress);
+    public List<DadosDetalhamentoEnrollment> toDetails(List<EnrollmentJPA> enrollments) {
+        Map<Long, long[]> lessonIdsByCourse = new HashMap<>();
+        return enrollments.stream()
+                .map(e -> toDetails(e, progressWriteBehind.pendingFor(e.getId()).orElse(null), lessonIdsByCourse))
+                .toList();
+    }
 
-        if (progress.compareTo(BigDecimal.valueOf(100)) == 0) {
-            enrollment.setCompletionStatus("COMPLETED");
-        } else {
-            enrollment.setCompletionStatus("IN_PROGRESS");
+    // Com conclusões ainda não gravadas, progresso e status são calculados com elas, pela mesma regra do banco.
+    private DadosDetalhamentoEnrollment toDetails(EnrollmentJPA enrollment, ProgressWriteBehind.PendingProgress pending,
+                                                  Map<Long, long[]> lessonIdsByCourse) {
+        Set<Long> completed = completedLessonBitmaps.completedLessonIds(enrollment, lessonIdsByCourse);
+        if (pending == null) {
+            return new DadosDetalhamentoEnrollment(enrollment, completed);
         }
+        Set<Long> merged = new LinkedHashSet<>(completed);
+        merged.addAll(pending.getLessonIds());
+        int lessonCount = enrollment.getCourse().getLessonCount();
+        DadosDetalhamentoLesson lastWatched = lessonRepository.findById(pending.getLastWatchedLessonId())
+                .map(DadosDetalhamentoLesson::new)
+                .orElse(null);
+        return new DadosDetalhamentoEnrollment(enrollment,
+                EnrollmentProgressService.statusOf(merged.size(), lessonCount, enrollment.getCompletionStatus()),
+                EnrollmentProgressService.progressOf(merged.size(), lessonCount), merged, lastWatched);
     }
 
     public Optional<EnrollmentJPA> findById(Long id) {
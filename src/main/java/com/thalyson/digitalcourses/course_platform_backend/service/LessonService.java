@@ -1,5 +1,9 @@
 package com.thalyson.digitalcourses.course_platform_backend.service;
 
+import com.thalyson.digitalcourses.course_platform_backend.config.CacheConfig;
+import com.thalyson.digitalcourses.course_platform_backend.dto.CatalogVersion;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoLesson;
+import com.thalyson.digitalcourses.course_platform_backend.dto.SparseFields;
 import com.thalyson.digitalcourses.course_platform_backend.exception.DuplicateResourceException;
 import com.thalyson.digitalcourses.course_platform_backend.exception.ResourceNotFoundException;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoLesson;
@@ -8,34 +12,61 @@ import com.thalyson.digitalcourses.course_platform_backend.model.LessonJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.LessonRepository;
 import com.thalyson.digitalcourses.course_platform_backend.model.ModuleJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.ModuleRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.SparseProjectionRepository;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class LessonService {
 
+    private static final Set<String> LESSON_COLUMNS = Set.of("id", "title", "description", "youtubeVideoUrl",
+            "durationSeconds", "orderIndex", "createdAt", "updatedAt");
+    private static final Set<String> LESSON_FIELDS = Set.of("id", "title", "description", "youtubeVideoUrl",
+            "durationSeconds", "orderIndex", "module", "createdAt", "updatedAt");
+
     @Autowired
     private LessonRepository lessonRepository;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private OwnershipService ownershipService;
+
     @Autowired
     private ModuleRepository moduleRepository;
 
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private SparseProjectionRepository sparseProjectionRepository;
+
+    @Autowired
+    private EnrollmentProgressService enrollmentProgressService;
+
     @Transactional
     public LessonJPA create(Long moduleId, DadosCadastroLesson dados, UserJPA loggedInUser) {
         ModuleJPA module = moduleRepository.findById(moduleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Módulo não encontrado com ID: " + moduleId));
 
-        checkPermission(module, loggedInUser);
+        checkPermission(module.getId(), loggedInUser);
 
         if (lessonRepository.findByModuleAndOrderIndex(module, dados.orderIndex()).isPresent()) {
             throw new DuplicateResourceException("Já existe uma aula com a ordem " + dados.orderIndex() + " neste módulo.");
         }
 
         LessonJPA newLesson = new LessonJPA(module, dados.title(), dados.description(), dados.youtubeVideoUrl(), dados.durationSeconds(), dados.orderIndex());
+        newLesson.setCourseOrdinal(enrollmentProgressService.lessonAdded(module.getCourse().getId()));
+        catalogCache.evictLessons(module.getCourse().getId(), moduleId);
         return lessonRepository.save(newLesson);
     }
 
@@ -48,9 +79,10 @@ public class LessonService {
             throw new ResourceNotFoundException("Recurso não encontrado em /modules/" + moduleId + "/lessons/" + lessonId);
         }
 
-        checkPermission(lesson.getModule(), loggedInUser);
+        checkPermission(moduleId, loggedInUser);
 
         lesson.updateFields(dados);
+        catalogCache.evictLessons(lesson.getModule().getCourse().getId(), moduleId);
         return lessonRepository.save(lesson);
     }
 
@@ -63,17 +95,15 @@ public class LessonService {
             throw new ResourceNotFoundException("Recurso não encontrado em /modules/" + moduleId + "/lessons/" + lessonId);
         }
 
-        checkPermission(lesson.getModule(), loggedInUser);
+        checkPermission(moduleId, loggedInUser);
 
+        catalogCache.evictLessons(lesson.getModule().getCourse().getId(), moduleId);
+        enrollmentProgressService.lessonRemoved(lesson.getModule().getCourse().getId(), lesson);
         lessonRepository.delete(lesson);
     }
 
-    private void checkPermission(ModuleJPA module, UserJPA user) {
-        boolean isAdmin = user.getAuthorities().stream()
-                .anyMatch(role -> role.getAuthority().equals("ROLE_ADMIN"));
-        boolean isCourseOwner = module.getCourse().getInstructor().getId().equals(user.getId());
-
-        if (!isAdmin && !isCourseOwner) {
+    private void checkPermission(Long moduleId, UserJPA user) {
+        if (!authorizationService.isAdmin(user) && !ownershipService.isInstructorOfModule(moduleId, user.getId())) {
             throw new AccessDeniedException("Usuário não tem permissão para modificar aulas neste módulo.");
         }
     }
@@ -82,7 +112,43 @@ public class LessonService {
         return lessonRepository.findById(id);
     }
 
+    public Optional<CatalogVersion> findVersion(Long moduleId, Long lessonId) {
+        return lessonRepository.findVersionByIdAndModuleId(lessonId, moduleId).map(CatalogVersion::of);
+    }
+
+    public Optional<CatalogVersion> findListVersion(Long moduleId) {
+        return moduleRepository.findLessonsVersionById(moduleId);
+    }
+
     public List<LessonJPA> listByModule(ModuleJPA module) {
         return lessonRepository.findByModule(module);
     }
-}
\ No newline at end of file
+
+    /**
+     * @return vazio quando o módulo não existe
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MODULE_LESSONS, key = "#moduleId", unless = "#result == null")
+    public Optional<List<DadosDetalhamentoLesson>> listDetailsByModule(Long moduleId) {
+        if (!moduleRepository.existsById(moduleId)) {
+            return Optional.empty();
+        }
+        return Optional.of(lessonRepository.findWithModuleByModuleId(moduleId).stream().map(DadosDetalhamentoLesson::new).toList());
+    }
+
+    /**
+     * Aulas do módulo com apenas os campos pedidos. Sem "module" em fields, a consulta lê só as
+     * colunas de lessons, sem módulo, curso, instrutor e categoria.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listSparseByModule(Long moduleId, String fields) {
+        SparseFields selected = SparseFields.parse(fields, LESSON_FIELDS);
+        if (!selected.within(LESSON_COLUMNS)) {
+            return lessonRepository.findWithModuleByModuleId(moduleId).stream()
+                    .map(lesson -> selected.project(new DadosDetalhamentoLesson(lesson)))
+                    .toList();
+        }
+        return sparseProjectionRepository.select("LessonJPA", selected.names(), "e.module.id = :moduleId",
+                Map.of("moduleId", moduleId), List.of("e.orderIndex", "e.id"));
+    }
+}
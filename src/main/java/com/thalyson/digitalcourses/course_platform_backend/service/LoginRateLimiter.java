@@ -0,0 +1,196 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Limita tentativas de login e registro por IP e por email antes de qualquer cálculo de BCrypt.
+ * Cada dimensão é um token bucket listrado: a chave cai em uma de N posições de um AtomicLongArray
+ * e o estado do bucket é um único long atualizado por CAS, sem locks e sem mapa por chave.
+ */
+@Service
+public class LoginRateLimiter {
+
+    @Value("${api.security.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${api.security.rate-limit.stripes:65536}")
+    private int stripes;
+
+    @Value("${api.security.rate-limit.ip.burst:20}")
+    private int ipBurst;
+
+    @Value("${api.security.rate-limit.ip.per-minute:10}")
+    private int ipPerMinute;
+
+    @Value("${api.security.rate-limit.email.burst:5}")
+    private int emailBurst;
+
+    @Value("${api.security.rate-limit.email.per-minute:3}")
+    private int emailPerMinute;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final long origin = System.nanoTime();
+
+    private StripedTokenBucket ipBuckets;
+    private StripedTokenBucket emailBuckets;
+    private Counter rejectedByIp;
+    private Counter rejectedByEmail;
+
+    @PostConstruct
+    void init() {
+        ipBuckets = new StripedTokenBucket(stripes, ipBurst, ipPerMinute);
+        emailBuckets = new StripedTokenBucket(stripes, emailBurst, emailPerMinute);
+        rejectedByIp = rejectedCounter("ip");
+        rejectedByEmail = rejectedCounter("email");
+    }
+
+    private Counter rejectedCounter(String dimension) {
+        return Counter.builder("auth.rate_limit.rejected")
+                .description("Tentativas de login ou registro recusadas pelo limitador")
+                .tag("dimension", dimension)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consome uma ficha do IP e do email informados.
+     *
+     * @throws TooManyLoginAttemptsException se algum dos dois buckets estiver vazio
+     */
+    public void acquire(String remoteAddress, String email) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.nanoTime() - origin;
+
+        long ipWait = ipBuckets.tryAcquire(remoteAddress, now);
+        if (ipWait > 0) {
+            rejectedByIp.increment();
+            throw new TooManyLoginAttemptsException(Duration.ofNanos(ipWait));
+        }
+
+        if (email != null) {
+            long emailWait = emailBuckets.tryAcquire(email.trim().toLowerCase(Locale.ROOT), now);
+            if (emailWait > 0) {
+                rejectedByEmail.increment();
+                throw new TooManyLoginAttemptsException(Duration.ofNanos(emailWait));
+            }
+        }
+    }
+
+    /**
+     * Token bucket no formato GCRA: cada posição guarda o instante teórico da próxima chegada,
+     * o que equivale a "fichas restantes" e cabe em um long. Chaves que colidem na mesma posição
+     * dividem o bucket, o que só torna o limite mais restritivo.
+     */
+    static final class StripedTokenBucket {
+
+        private final AtomicLongArray theoreticalArrival;
+        private final int mask;
+        // Chave secreta do SipHash, sorteada a cada inicialização.
+        private final long k0;
+        private final long k1;
+        private final long emissionInterval;
+        private final long tolerance;
+
+        StripedTokenBucket(int stripes, int burst, int perMinute) {
+            if (stripes <= 0 || burst <= 0 || perMinute <= 0) {
+                throw new IllegalArgumentException("Parâmetros do limitador devem ser positivos");
+            }
+            int size = Integer.highestOneBit(stripes - 1) << 1;
+            this.theoreticalArrival = new AtomicLongArray(Math.max(size, 1));
+            this.mask = theoreticalArrival.length() - 1;
+            this.emissionInterval = Duration.ofMinutes(1).toNanos() / perMinute;
+            this.tolerance = emissionInterval * burst;
+            SecureRandom random = new SecureRandom();
+            this.k0 = random.nextLong();
+            this.k1 = random.nextLong();
+        }
+
+        /**
+         * @return 0 se a ficha foi consumida, ou o tempo em nanos até a próxima ficha
+         */
+        long tryAcquire(String key, long now) {
+            int index = stripe(key);
+            while (true) {
+                long current = theoreticalArrival.get(index);
+                long next = Math.max(current, now) + emissionInterval;
+                long excess = next - now - tolerance;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (theoreticalArrival.compareAndSet(index, current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        private int stripe(String key) {
+            // SipHash-2-4 com chave secreta sobre os bytes da chave: sem a chave do processo não dá
+            // para prever colisões, nem entre strings de mesmo hashCode, e um atacante não consegue
+            // escolher chaves que caiam no bucket de uma vítima.
+            return (int) sipHash(key.getBytes(StandardCharsets.UTF_8)) & mask;
+        }
+
+        private long sipHash(byte[] data) {
+            long[] v = {
+                    k0 ^ 0x736f6d6570736575L,
+                    k1 ^ 0x646f72616e646f6dL,
+                    k0 ^ 0x6c7967656e657261L,
+                    k1 ^ 0x7465646279746573L
+            };
+            int tail = data.length & ~7;
+            for (int offset = 0; offset < tail; offset += 8) {
+                compress(v, littleEndian(data, offset, 8));
+            }
+            compress(v, ((long) data.length << 56) | littleEndian(data, tail, data.length - tail));
+            v[2] ^= 0xff;
+            for (int i = 0; i < 4; i++) {
+                round(v);
+            }
+            return v[0] ^ v[1] ^ v[2] ^ v[3];
+        }
+
+        private static void compress(long[] v, long m) {
+            v[3] ^= m;
+            round(v);
+            round(v);
+            v[0] ^= m;
+        }
+
+        private static void round(long[] v) {
+            v[0] += v[1];
+            v[1] = Long.rotateLeft(v[1], 13) ^ v[0];
+            v[0] = Long.rotateLeft(v[0], 32);
+            v[2] += v[3];
+            v[3] = Long.rotateLeft(v[3], 16) ^ v[2];
+            v[0] += v[3];
+            v[3] = Long.rotateLeft(v[3], 21) ^ v[0];
+            v[2] += v[1];
+            v[1] = Long.rotateLeft(v[1], 17) ^ v[2];
+            v[2] = Long.rotateLeft(v[2], 32);
+        }
+
+        private static long littleEndian(byte[] data, int offset, int length) {
+            long value = 0;
+            for (int i = 0; i < length; i++) {
+                value |= (data[offset + i] & 0xffL) << (8 * i);
+            }
+            return value;
+        }
+    }
+}
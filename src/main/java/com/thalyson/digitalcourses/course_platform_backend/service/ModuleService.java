@@ -1,5 +1,9 @@
 package com.thalyson.digitalcourses.course_platform_backend.service;
 
+import com.thalyson.digitalcourses.course_platform_backend.config.CacheConfig;
+import com.thalyson.digitalcourses.course_platform_backend.dto.CatalogVersion;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoModule;
+import com.thalyson.digitalcourses.course_platform_backend.dto.SparseFields;
 import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
 import com.thalyson.digitalcourses.course_platform_backend.exception.DuplicateResourceException;
 import com.thalyson.digitalcourses.course_platform_backend.exception.ResourceNotFoundException;
@@ -7,21 +11,44 @@ import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoM
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosCadastroModule;
 import com.thalyson.digitalcourses.course_platform_backend.model.ModuleJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.ModuleRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.SparseProjectionRepository;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ModuleService {
 
+    private static final Set<String> MODULE_COLUMNS = Set.of("id", "title", "description", "orderIndex", "createdAt", "updatedAt");
+    private static final Set<String> MODULE_FIELDS = Set.of("id", "title", "description", "orderIndex", "course", "createdAt", "updatedAt");
+
     @Autowired
     private ModuleRepository moduleRepository;
 
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private OwnershipService ownershipService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private SparseProjectionRepository sparseProjectionRepository;
+
+    @Autowired
+    private EnrollmentProgressService enrollmentProgressService;
+
+    @Transactional
     public ModuleJPA create(CourseJPA course, DadosCadastroModule dados) {
         if (moduleRepository.findByCourseAndTitle(course, dados.title()).isPresent()){
             throw new DuplicateResourceException("Já existe um módulo com o título '" + dados.title() + "' para o curso com ID " + course.getId());
@@ -34,6 +61,7 @@ public class ModuleService {
                 dados.orderIndex()
         );
 
+        catalogCache.evictModules(course.getId());
         return moduleRepository.save(newModule);
     }
 
@@ -45,6 +73,32 @@ public class ModuleService {
         return moduleRepository.findByCourse(course);
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COURSE_MODULES, key = "#courseId")
+    public List<DadosDetalhamentoModule> listDetailsByCourse(Long courseId) {
+        return moduleRepository.findWithCourseByCourseId(courseId).stream().map(DadosDetalhamentoModule::new).toList();
+    }
+
+    /**
+     * Módulos do curso com apenas os campos pedidos. Sem "course" em fields, a consulta lê só as
+     * colunas de modules.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listSparseByCourse(Long courseId, String fields) {
+        SparseFields selected = SparseFields.parse(fields, MODULE_FIELDS);
+        if (!selected.within(MODULE_COLUMNS)) {
+            return moduleRepository.findWithCourseByCourseId(courseId).stream()
+                    .map(module -> selected.project(new DadosDetalhamentoModule(module)))
+                    .toList();
+        }
+        return sparseProjectionRepository.select("ModuleJPA", selected.names(), "e.course.id = :courseId",
+                Map.of("courseId", courseId), List.of("e.orderIndex", "e.id"));
+    }
+
+    public Optional<CatalogVersion> findVersion(Long courseId, Long moduleId) {
+        return moduleRepository.findVersionByIdAndCourseId(moduleId, courseId).map(CatalogVersion::of);
+    }
+
     @Transactional
     public void deleteModule(Long courseId, Long moduleId, UserJPA loggedInUser) {
         ModuleJPA module = moduleRepository.findById(moduleId)
@@ -54,22 +108,18 @@ public class ModuleService {
             throw new ResourceNotFoundException("Recurso não encontrado em /courses/" + courseId + "/modules/" + moduleId);
         }
 
-        boolean isAdmin = loggedInUser.getAuthorities().stream()
-                .anyMatch(role -> role.getAuthority().equals("ROLE_ADMIN"));
-
-        boolean isCourseOwner = module.getCourse().getInstructor().getId().equals(loggedInUser.getId());
-
-        if (!isAdmin && !isCourseOwner) {
+        if (!authorizationService.isAdmin(loggedInUser)
+                && !ownershipService.isInstructorOfModule(moduleId, loggedInUser.getId())) {
             throw new AccessDeniedException("Usuário não tem permissão para deletar este módulo.");
         }
 
+        catalogCache.evictModule(courseId, moduleId);
+        enrollmentProgressService.moduleRemoved(courseId, moduleId);
         moduleRepository.delete(module);
     }
 
     public boolean isInstructorOfModule(Long moduleId, Long userId) {
-        return moduleRepository.findById(moduleId)
-                .map(module -> module.getCourse().getInstructor().getId().equals(userId))
-                .orElse(false);
+        return ownershipService.isInstructorOfModule(moduleId, userId);
     }
 
     @Transactional
@@ -81,16 +131,13 @@ public class ModuleService {
             throw new ResourceNotFoundException("Recurso não encontrado em /courses/" + courseId + "/modules/" + moduleId);
         }
 
-        boolean isAdmin = loggedInUser.getAuthorities().stream()
-                .anyMatch(role -> role.getAuthority().equals("ROLE_ADMIN"));
-
-        boolean isCourseOwner = module.getCourse().getInstructor().getId().equals(loggedInUser.getId());
-
-        if (!isAdmin && !isCourseOwner) {
+        if (!authorizationService.isAdmin(loggedInUser)
+                && !ownershipService.isInstructorOfModule(moduleId, loggedInUser.getId())) {
             throw new AccessDeniedException("Usuário não tem permissão para atualizar este módulo.");
         }
 
         module.updateFields(dados);
+        catalogCache.evictModule(courseId, moduleId);
         return moduleRepository.save(module);
     }
 
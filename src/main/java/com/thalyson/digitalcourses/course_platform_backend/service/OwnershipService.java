@@ -0,0 +1,58 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.ModuleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Responde se um usuário é o instrutor de um curso ou módulo com um único EXISTS indexado.
+ * O resultado fica memorizado até o fim da requisição, então a checagem no @PreAuthorize e a
+ * feita dentro do serviço custam uma só ida ao banco.
+ */
+@Service
+public class OwnershipService {
+
+    private static final String CACHE_ATTRIBUTE = OwnershipService.class.getName() + ".cache";
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    public boolean isInstructorOfCourse(Long courseId, Long userId) {
+        return memoized("course", courseId, userId,
+                () -> courseRepository.existsByIdAndInstructorId(courseId, userId));
+    }
+
+    public boolean isInstructorOfModule(Long moduleId, Long userId) {
+        return memoized("module", moduleId, userId,
+                () -> moduleRepository.existsByIdAndCourseInstructorId(moduleId, userId));
+    }
+
+    private boolean memoized(String type, Long resourceId, Long userId, BooleanSupplier query) {
+        if (resourceId == null || userId == null) {
+            return false;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return query.getAsBoolean();
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Boolean> cache = (Map<String, Boolean>) attributes.getAttribute(CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new HashMap<>();
+            attributes.setAttribute(CACHE_ATTRIBUTE, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cache.computeIfAbsent(type + ":" + resourceId + ":" + userId, key -> query.getAsBoolean());
+    }
+}
@@ -0,0 +1,280 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoPlayback;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoPlayback;
+import com.thalyson.digitalcourses.course_platform_backend.exception.ResourceNotFoundException;
+import com.thalyson.digitalcourses.course_platform_backend.model.EnrollmentJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.LessonRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.PlaybackPositionRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.PlaybackPositionRepository.PlaybackPosition;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Posição de reprodução de cada aula (segundos assistidos). O player envia a posição a cada
+ * poucos segundos e ela fica só em memória, na última versão por matrícula e aula; a gravação
+ * agendada leva ao banco, em um lote, as que mudaram desde a anterior.
+ *
+ * <p>Matrícula e aula são validadas só no primeiro envio; os seguintes conferem o dono guardado
+ * junto da posição. Quando a posição passa de {@code api.playback.completion-fraction} da duração
+ * da aula, ela é concluída uma vez, como no PUT de progresso. Posições sem envio há
+ * {@code idle-eviction-ms} saem da memória depois de gravadas.
+ */
+@Service
+public class PlaybackPositionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaybackPositionService.class);
+
+    @Value("${api.playback.completion-fraction:0.9}")
+    private double completionFraction;
+
+    @Value("${api.playback.idle-eviction-ms:600000}")
+    private long idleEvictionMs;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private PlaybackPositionRepository playbackPositionRepository;
+
+    @Autowired
+    private EnrollmentProgressService enrollmentProgressService;
+
+    @Autowired
+    private ProgressWriteBehind progressWriteBehind;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Matrícula -> aula -> posição. Só o track inclui aulas, dentro do compute da matrícula.
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, Position>> positions = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public DadosDetalhamentoPlayback report(Long enrollmentId, DadosAtualizacaoPlayback dados, UserJPA loggedInUser) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Position> lessons = positions.get(enrollmentId);
+        Position position = lessons != null ? lessons.get(dados.lessonId()) : null;
+        if (position != null) {
+            checkOwnership(position, loggedInUser);
+        }
+        // update recusa uma posição que acabou de sair da memória; ela é incluída de novo.
+        while (position == null || !position.update(dados.positionSeconds(), now)) {
+            position = track(enrollmentId, dados.lessonId(), loggedInUser);
+        }
+
+        if (position.claimCompletion(completionFraction)) {
+            try {
+                complete(enrollmentId, dados.lessonId(), position.lessonOrdinal);
+            } catch (RuntimeException e) {
+                position.releaseCompletion();
+                throw e;
+            }
+        }
+        return position.toDetails(dados.lessonId());
+    }
+
+    public List<DadosDetalhamentoPlayback> findByEnrollment(Long enrollmentId, UserJPA loggedInUser) {
+        enrollmentService.findById(enrollmentId, loggedInUser);
+
+        Map<Long, DadosDetalhamentoPlayback> byLesson = new TreeMap<>();
+        for (PlaybackPosition stored : playbackPositionRepository.findByEnrollmentId(enrollmentId)) {
+            byLesson.put(stored.lessonId(), new DadosDetalhamentoPlayback(stored.lessonId(), stored.positionSeconds(), stored.updatedAt()));
+        }
+        // A posição em memória é sempre a mais recente.
+        Map<Long, Position> tracked = positions.get(enrollmentId);
+        if (tracked != null) {
+            tracked.forEach((lessonId, position) -> {
+                DadosDetalhamentoPlayback details = position.toDetails(lessonId);
+                if (details.updatedAt() != null) {
+                    byLesson.put(lessonId, details);
+                }
+            });
+        }
+        return new ArrayList<>(byLesson.values());
+    }
+
+    @Scheduled(fixedDelayString = "${api.playback.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<PlaybackPosition> changed = new ArrayList<>();
+            List<Position> taken = new ArrayList<>();
+            positions.forEach((enrollmentId, lessons) -> lessons.forEach((lessonId, position) -> {
+                PlaybackPosition row = position.takeChanged(enrollmentId, lessonId);
+                if (row != null) {
+                    changed.add(row);
+                    taken.add(position);
+                }
+            }));
+            if (!changed.isEmpty()) {
+                try {
+                    new TransactionTemplate(transactionManager)
+                            .executeWithoutResult(status -> playbackPositionRepository.upsertAll(changed));
+                } catch (RuntimeException e) {
+                    taken.forEach(Position::markChanged);
+                    log.error("Falha ao gravar {} posições de reprodução; nova tentativa na próxima rodada", changed.size(), e);
+                    return;
+                }
+            }
+            evictIdle();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private Position track(Long enrollmentId, Long lessonId, UserJPA loggedInUser) {
+        EnrollmentJPA enrollment = enrollmentService.findById(enrollmentId, loggedInUser);
+
+        LessonRepository.LessonPosition lesson = lessonRepository.findPositionById(lessonId)
+                .orElseThrow(() -> new ResourceNotFoundException("Aula não encontrada com ID: " + lessonId));
+
+        if (!lesson.getCourseId().equals(enrollment.getCourse().getId())) {
+            throw new IllegalArgumentException("A aula não pertence ao curso da matrícula.");
+        }
+
+        Position created = new Position(enrollment.getUser().getId(), lesson.getCourseOrdinal(), lesson.getDurationSeconds());
+        Position[] tracked = new Position[1];
+        positions.compute(enrollmentId, (id, lessons) -> {
+            ConcurrentHashMap<Long, Position> current = lessons != null ? lessons : new ConcurrentHashMap<>();
+            Position existing = current.get(lessonId);
+            if (existing == null || existing.isRemoved()) {
+                current.put(lessonId, created);
+                existing = created;
+            }
+            tracked[0] = existing;
+            return current;
+        });
+        return tracked[0];
+    }
+
+    private void complete(Long enrollmentId, Long lessonId, Integer lessonOrdinal) {
+        if (progressWriteBehind.offer(enrollmentId, lessonId, lessonOrdinal).isPresent()) {
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                enrollmentProgressService.recordCompletion(enrollmentId, lessonId, lessonOrdinal));
+    }
+
+    private void evictIdle() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(idleEvictionMs));
+        positions.forEach((enrollmentId, lessons) -> {
+            lessons.forEach((lessonId, position) -> {
+                if (position.evictIfIdle(cutoff)) {
+                    lessons.remove(lessonId, position);
+                }
+            });
+            if (lessons.isEmpty()) {
+                positions.computeIfPresent(enrollmentId, (id, current) -> current.isEmpty() ? null : current);
+            }
+        });
+    }
+
+    private void checkOwnership(Position position, UserJPA user) {
+        if (!position.ownerId.equals(user.getId()) && !authorizationService.isAdmin(user)) {
+            throw new AccessDeniedException("Usuário não tem permissão para acessar este recurso.");
+        }
+    }
+
+    private static final class Position {
+
+        private final Long ownerId;
+        private final Integer lessonOrdinal;
+        private final Integer durationSeconds;
+
+        private int seconds;
+        private LocalDateTime updatedAt;
+        private boolean changed;
+        private boolean completionClaimed;
+        private boolean removed;
+
+        Position(Long ownerId, Integer lessonOrdinal, Integer durationSeconds) {
+            this.ownerId = ownerId;
+            this.lessonOrdinal = lessonOrdinal;
+            this.durationSeconds = durationSeconds;
+        }
+
+        synchronized boolean update(int positionSeconds, LocalDateTime now) {
+            if (removed) {
+                return false;
+            }
+            seconds = hasDuration() ? Math.min(positionSeconds, durationSeconds) : positionSeconds;
+            updatedAt = now;
+            changed = true;
+            return true;
+        }
+
+        synchronized boolean claimCompletion(double fraction) {
+            if (completionClaimed || !hasDuration() || seconds < fraction * durationSeconds) {
+                return false;
+            }
+            completionClaimed = true;
+            return true;
+        }
+
+        synchronized void releaseCompletion() {
+            completionClaimed = false;
+        }
+
+        synchronized PlaybackPosition takeChanged(Long enrollmentId, Long lessonId) {
+            if (!changed) {
+                return null;
+            }
+            changed = false;
+            return new PlaybackPosition(enrollmentId, lessonId, seconds, updatedAt);
+        }
+
+        synchronized void markChanged() {
+            changed = true;
+        }
+
+        synchronized boolean evictIfIdle(LocalDateTime cutoff) {
+            // Sem updatedAt: recém-incluída, o primeiro envio ainda não foi aplicado.
+            if (changed || updatedAt == null || updatedAt.isAfter(cutoff)) {
+                return false;
+            }
+            removed = true;
+            return true;
+        }
+
+        synchronized boolean isRemoved() {
+            return removed;
+        }
+
+        synchronized DadosDetalhamentoPlayback toDetails(Long lessonId) {
+            return new DadosDetalhamentoPlayback(lessonId, seconds, updatedAt);
+        }
+
+        private boolean hasDuration() {
+            return durationSeconds != null && durationSeconds > 0;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thalyson.digitalcourses.course_platform_backend.model.RoleJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.RoleMask;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Cache em memória do usuário autenticado, indexado pelo subject do token JWT (email).
+ * Guarda apenas uma cópia imutável dos dados do usuário; cada requisição recebe um UserJPA novo,
+ * destacado do contexto de persistência.
+ */
+@Service
+public class PrincipalCache {
+
+    @Value("${api.security.principal-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${api.security.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${api.security.principal-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, PrincipalSnapshot> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principal-cache");
+        Gauge.builder("principal.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Proporção de requisições autenticadas atendidas sem consulta ao banco")
+                .register(meterRegistry);
+    }
+
+    public Optional<UserJPA> get(String subject, Function<String, Optional<UserJPA>> loader) {
+        if (!enabled) {
+            return loader.apply(subject);
+        }
+
+        PrincipalSnapshot snapshot = cache.get(subject, key -> loader.apply(key).map(PrincipalSnapshot::of).orElse(null));
+        return Optional.ofNullable(snapshot).map(PrincipalSnapshot::toUser);
+    }
+
+    public void invalidate(String... subjects) {
+        for (String subject : subjects) {
+            if (subject != null) {
+                cache.invalidate(subject);
+            }
+        }
+    }
+
+    /**
+     * Invalida imediatamente e de novo após o commit, para que uma requisição concorrente
+     * não deixe no cache o estado anterior à transação.
+     */
+    public void invalidateAfterCommit(String... subjects) {
+        invalidate(subjects);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(subjects);
+                }
+            });
+        }
+    }
+
+    private record PrincipalSnapshot(Long id, String email, String firstName, String lastName,
+                                     LocalDateTime createdAt, LocalDateTime updatedAt, int roleMask) {
+
+        static PrincipalSnapshot of(UserJPA user) {
+            return new PrincipalSnapshot(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                    user.getCreatedAt(), user.getUpdatedAt(), user.getRoleMask());
+        }
+
+        UserJPA toUser() {
+            Set<RoleJPA> userRoles = new HashSet<>();
+            for (GrantedAuthority authority : RoleMask.authorities(roleMask)) {
+                userRoles.add(new RoleJPA(authority.getAuthority()));
+            }
+            return new UserJPA(id, email, null, firstName, lastName, createdAt, updatedAt, userRoles);
+        }
+    }
+}
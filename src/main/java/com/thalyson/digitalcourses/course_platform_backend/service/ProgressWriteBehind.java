@@ -0,0 +1,265 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Gravação assíncrona das conclusões de aula, ligada por {@code api.progress.write-behind.enabled}.
+ * O PUT de progresso valida matrícula e aula e só enfileira a conclusão. As conclusões de uma mesma
+ * matrícula se juntam num único registro pendente, e uma thread própria grava tudo a cada
+ * {@code flush-interval-ms}, com {@link EnrollmentProgressService#recordCompletions} numa transação.
+ *
+ * <p>As leituras de matrícula somam o que ainda está pendente, então o aluno vê as próprias
+ * conclusões antes da gravação. A fila guarda no máximo {@code max-pending} matrículas; cheia, o
+ * PUT volta a gravar na hora. O desligamento da aplicação esvazia a fila, mas uma queda do
+ * processo perde as conclusões ainda não gravadas.
+ */
+@Service
+public class ProgressWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressWriteBehind.class);
+
+    @Value("${api.progress.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${api.progress.write-behind.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${api.progress.write-behind.max-pending:10000}")
+    private int maxPending;
+
+    @Autowired
+    private EnrollmentProgressService enrollmentProgressService;
+
+    @Autowired
+    private CompletedLessonBitmaps completedLessonBitmaps;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<Long, PendingProgress> pending = new ConcurrentHashMap<>();
+    // Retirados da fila pela gravação em curso; seguem visíveis às leituras até o commit.
+    private final ConcurrentHashMap<Long, PendingProgress> flushing = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ReentrantReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    private ScheduledExecutorService flusher;
+    private Timer flushTimer;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        flushTimer = Timer.builder("progress.write-behind.flush")
+                .description("Tempo de cada gravação das conclusões pendentes")
+                .register(meterRegistry);
+        Gauge.builder("progress.write-behind.pending", pending, Map::size)
+                .description("Matrículas com conclusões ainda não gravadas")
+                .register(meterRegistry);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Enfileira a conclusão, juntando-a às pendentes da mesma matrícula.
+     *
+     * @return as conclusões pendentes da matrícula, já com esta; vazio se o modo está desligado ou
+     *         a fila está cheia, casos em que a conclusão deve ser gravada na hora
+     */
+    public Optional<PendingProgress> offer(Long enrollmentId, Long lessonId, Integer lessonOrdinal) {
+        if (!enabled || (lessonOrdinal == null && completedLessonBitmaps.isEnabled())) {
+            return Optional.empty();
+        }
+        acceptLock.readLock().lock();
+        try {
+            if (closed) {
+                return Optional.empty();
+            }
+            int ordinal = lessonOrdinal != null ? lessonOrdinal : PendingProgress.NO_ORDINAL;
+            return Optional.ofNullable(pending.compute(enrollmentId, (id, current) -> {
+                if (current != null) {
+                    return current.with(lessonId, ordinal);
+                }
+                return pending.size() < maxPending ? new PendingProgress(lessonId, ordinal) : null;
+            }));
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Conclusões da matrícula ainda não commitadas, na fila ou na gravação em curso.
+     */
+    public Optional<PendingProgress> pendingFor(Long enrollmentId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        PendingProgress queued = pending.get(enrollmentId);
+        PendingProgress inFlight = flushing.get(enrollmentId);
+        if (inFlight == null) {
+            return Optional.ofNullable(queued);
+        }
+        return Optional.of(queued == null ? inFlight : inFlight.merge(queued));
+    }
+
+    /**
+     * Descarta as conclusões pendentes de uma matrícula que vai ser excluída.
+     */
+    public void discard(Long enrollmentId) {
+        pending.remove(enrollmentId);
+    }
+
+    void flush() {
+        flushLock.lock();
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            // Não deixa a exceção cancelar as próximas execuções agendadas.
+            log.error("Falha ao gravar as conclusões pendentes", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drain() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Ordem crescente de ID, para as travas das matrículas serem tomadas sempre na mesma ordem.
+        Map<Long, PendingProgress> batch = new LinkedHashMap<>();
+        for (Long enrollmentId : new TreeSet<>(pending.keySet())) {
+            pending.computeIfPresent(enrollmentId, (id, progress) -> {
+                flushing.put(id, progress);
+                batch.put(id, progress);
+                return null;
+            });
+        }
+        long start = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            transaction.executeWithoutResult(status -> enrollmentProgressService.recordCompletions(batch));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar o lote de {} matrículas; gravando uma a uma", batch.size(), e);
+            batch.forEach((enrollmentId, progress) -> {
+                try {
+                    transaction.executeWithoutResult(status ->
+                            enrollmentProgressService.recordCompletions(Map.of(enrollmentId, progress)));
+                } catch (RuntimeException single) {
+                    log.error("Conclusões pendentes da matrícula {} descartadas", enrollmentId, single);
+                }
+            });
+        } finally {
+            batch.keySet().forEach(flushing::remove);
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        acceptLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        // Deixa terminar a gravação em curso e cancela as próximas.
+        flusher.shutdown();
+        int remaining = pending.size();
+        flush();
+        if (remaining > 0) {
+            log.info("Conclusões pendentes de {} matrículas gravadas no desligamento", remaining);
+        }
+    }
+
+    /**
+     * Conclusões de uma matrícula ainda não gravadas. Imutável: cada conclusão gera uma cópia.
+     */
+    public static final class PendingProgress {
+
+        // Aula ainda sem course_ordinal; só aceita com o modo de bitmap desligado.
+        static final int NO_ORDINAL = -1;
+
+        final long[] lessonIds;
+        final int[] lessonOrdinals;
+        final long lastWatchedLessonId;
+
+        PendingProgress(long lessonId, int lessonOrdinal) {
+            this(new long[]{lessonId}, new int[]{lessonOrdinal}, lessonId);
+        }
+
+        private PendingProgress(long[] lessonIds, int[] lessonOrdinals, long lastWatchedLessonId) {
+            this.lessonIds = lessonIds;
+            this.lessonOrdinals = lessonOrdinals;
+            this.lastWatchedLessonId = lastWatchedLessonId;
+        }
+
+        PendingProgress with(long lessonId, int lessonOrdinal) {
+            for (long existing : lessonIds) {
+                if (existing == lessonId) {
+                    return new PendingProgress(lessonIds, lessonOrdinals, lessonId);
+                }
+            }
+            long[] ids = Arrays.copyOf(lessonIds, lessonIds.length + 1);
+            int[] ordinals = Arrays.copyOf(lessonOrdinals, lessonOrdinals.length + 1);
+            ids[lessonIds.length] = lessonId;
+            ordinals[lessonOrdinals.length] = lessonOrdinal;
+            return new PendingProgress(ids, ordinals, lessonId);
+        }
+
+        PendingProgress merge(PendingProgress newer) {
+            PendingProgress merged = this;
+            for (int i = 0; i < newer.lessonIds.length; i++) {
+                merged = merged.with(newer.lessonIds[i], newer.lessonOrdinals[i]);
+            }
+            return new PendingProgress(merged.lessonIds, merged.lessonOrdinals, newer.lastWatchedLessonId);
+        }
+
+        public Set<Long> getLessonIds() {
+            Set<Long> ids = new LinkedHashSet<>();
+            for (long lessonId : lessonIds) {
+                ids.add(lessonId);
+            }
+            return ids;
+        }
+
+        public Long getLastWatchedLessonId() {
+            return lastWatchedLessonId;
+        }
+    }
+}
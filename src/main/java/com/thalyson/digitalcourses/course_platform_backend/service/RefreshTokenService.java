@@ -0,0 +1,93 @@
+package com.thalyson.digitalcourses.course_platform_backend.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.exception.InvalidRefreshTokenException;
+import com.thalyson.digitalcourses.course_platform_backend.model.RefreshTokenJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opacos e rotativos. Apenas o hash SHA-256 é persistido; cada uso gera um novo
+ * token da mesma família e revoga o anterior. A reapresentação de um token já revogado indica
+ * vazamento e revoga a família inteira.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${api.security.refresh-token.expiration-Days:30}")
+    private long expirationDays;
+
+    public record RotatedRefreshToken(UserJPA user, String refreshToken) {}
+
+    @Transactional
+    public String issue(UserJPA user) {
+        refreshTokenRepository.deleteExpiredByUserId(user.getId(), LocalDateTime.now());
+        return createToken(user, UUID.randomUUID());
+    }
+
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public RotatedRefreshToken rotate(String rawToken) {
+        RefreshTokenJPA current = refreshTokenRepository.findByTokenHashForUpdate(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token inválido."));
+
+        if (current.isRevoked()) {
+            log.warn("Reuso de refresh token detectado para o usuário {}; revogando a família {}",
+                    current.getUser().getId(), current.getFamilyId());
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), LocalDateTime.now());
+            throw new InvalidRefreshTokenException("Refresh token já utilizado. Faça login novamente.");
+        }
+
+        if (current.isExpired()) {
+            throw new InvalidRefreshTokenException("Refresh token expirado. Faça login novamente.");
+        }
+
+        current.revoke();
+        UserJPA user = current.getUser();
+        return new RotatedRefreshToken(user, createToken(user, current.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+    }
+
+    private String createToken(UserJPA user, UUID familyId) {
+        byte[] randomBytes = new byte[32];
+        secureRandom.nextBytes(randomBytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+
+        refreshTokenRepository.save(new RefreshTokenJPA(user, hash(rawToken), familyId,
+                LocalDateTime.now().plusDays(expirationDays)));
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+        }
+    }
+}
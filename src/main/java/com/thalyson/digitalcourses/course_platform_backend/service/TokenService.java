@@ -4,51 +4,202 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thalyson.digitalcourses.course_platform_backend.model.RoleJPA;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TokenService {
 
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLES = "roles";
+    private static final String CLAIM_TOKEN_VERSION = "ver";
+    private static final String ISSUER = "API Curso";
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${api.security.token.key-id:default}")
+    private String keyId;
+
+    @Value("${api.security.token.previous-secret:}")
+    private String previousSecret;
+
+    @Value("${api.security.token.previous-key-id:}")
+    private String previousKeyId;
+
     @Value("${api.security.token.expiration-Hours}")
     private long expirationHours;
 
+    @Value("${api.security.token.version-cache.ttl-seconds:30}")
+    private long versionCacheTtlSeconds;
+
+    @Value("${api.security.token.version-cache.max-size:10000}")
+    private long versionCacheMaxSize;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Algorithm e JWTVerifier são imutáveis e thread-safe; são criados uma vez por chave
+    // e trocados de forma atômica na rotação.
+    private volatile KeyRing keyRing;
+
+    // users.token_version por usuário, usado para recusar tokens stateless emitidos antes de uma
+    // alteração de perfil. O nó que fez a alteração a vê na hora; os demais, quando a entrada
+    // expira e é relida do banco.
+    private Cache<Long, Integer> tokenVersions;
+
+    @PostConstruct
+    void init() {
+        SigningKey previous = previousSecret.isBlank() ? null : new SigningKey(previousKeyId, previousSecret);
+        keyRing = new KeyRing(new SigningKey(keyId, secret), previous);
+        tokenVersions = Caffeine.newBuilder()
+                .maximumSize(versionCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(versionCacheTtlSeconds))
+                .build();
+    }
+
+    /**
+     * Passa a assinar com a nova chave; a chave atual continua aceita na verificação
+     * até a próxima rotação, para não invalidar os tokens já emitidos.
+     */
+    public synchronized void rotateKey(String newKeyId, String newSecret) {
+        KeyRing current = keyRing;
+        if (current.current().keyId().equals(newKeyId)) {
+            throw new IllegalArgumentException("O identificador da nova chave deve ser diferente do atual: " + newKeyId);
+        }
+        keyRing = new KeyRing(new SigningKey(newKeyId, newSecret), current.current());
+    }
+
     public String gerarToken(UserJPA user){
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
+            SigningKey signingKey = keyRing.current();
+
+            List<String> roles = user.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList();
 
             return JWT.create()
-                    .withIssuer("API Curso")
+                    .withKeyId(signingKey.keyId())
+                    .withIssuer(ISSUER)
                     .withSubject(user.getUsername())
+                    .withClaim(CLAIM_USER_ID, user.getId())
+                    .withClaim(CLAIM_ROLES, roles)
+                    .withClaim(CLAIM_TOKEN_VERSION, user.getTokenVersion())
                     .withExpiresAt(expirationDate())
-                    .sign(algorithm);
+                    .sign(signingKey.algorithm());
         } catch (JWTCreationException exception){
             throw new RuntimeException("Erro ao gerar token JWT", exception);
         }
     }
 
     public String getSubject(String tokenJWT){
+        return verify(tokenJWT).getSubject();
+    }
+
+    public DecodedJWT verify(String tokenJWT){
         try{
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("API Curso")
-                    .build()
-                    .verify(tokenJWT)
-                    .getSubject();
+            DecodedJWT decoded = JWT.decode(tokenJWT);
+            KeyRing ring = keyRing;
+            String tokenKeyId = decoded.getKeyId();
+
+            if (tokenKeyId == null) {
+                // Tokens emitidos antes do cabeçalho kid: tenta a chave atual e depois a anterior.
+                try {
+                    return ring.current().verifier().verify(decoded);
+                } catch (JWTVerificationException exception) {
+                    if (ring.previous() == null) {
+                        throw exception;
+                    }
+                    return ring.previous().verifier().verify(decoded);
+                }
+            }
+
+            return ring.find(tokenKeyId)
+                    .orElseThrow(() -> new JWTVerificationException("Chave de assinatura desconhecida: " + tokenKeyId))
+                    .verifier()
+                    .verify(decoded);
         } catch (JWTVerificationException exception){
             throw new RuntimeException("Token JWT inválido ou expirado", exception);
         }
     }
 
+    /**
+     * Monta o usuário autenticado a partir das claims do token. O banco só é lido para conferir a
+     * versão do token, uma vez por usuário a cada {@code version-cache.ttl-seconds}.
+     * Retorna vazio para tokens emitidos antes das claims existirem.
+     */
+    public Optional<UserJPA> principalFromClaims(DecodedJWT jwt) {
+        Long userId = jwt.getClaim(CLAIM_USER_ID).asLong();
+        List<String> roleNames = jwt.getClaim(CLAIM_ROLES).asList(String.class);
+        Integer tokenVersion = jwt.getClaim(CLAIM_TOKEN_VERSION).asInt();
+
+        if (userId == null || roleNames == null || tokenVersion == null) {
+            return Optional.empty();
+        }
+        Integer currentVersion = tokenVersions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(null));
+        if (currentVersion == null) {
+            throw new RuntimeException("Token JWT de usuário inexistente");
+        }
+        if (tokenVersion < currentVersion) {
+            throw new RuntimeException("Token JWT revogado por alteração no perfil do usuário");
+        }
+
+        Set<RoleJPA> roles = new HashSet<>();
+        roleNames.forEach(name -> roles.add(new RoleJPA(name)));
+
+        UserJPA principal = new UserJPA();
+        principal.setId(userId);
+        principal.setEmail(jwt.getSubject());
+        principal.setRoles(roles);
+        return Optional.of(principal);
+    }
+
+    public void revokeTokensBefore(Long userId, int tokenVersion) {
+        tokenVersions.asMap().merge(userId, tokenVersion, Math::max);
+    }
+
     public Instant expirationDate(){
         return LocalDateTime.now().plusHours(expirationHours).toInstant(ZoneOffset.of("-03:00"));
     }
+
+    private record SigningKey(String keyId, Algorithm algorithm, JWTVerifier verifier) {
+        SigningKey(String keyId, String secret) {
+            this(keyId, Algorithm.HMAC256(secret));
+        }
+
+        private SigningKey(String keyId, Algorithm algorithm) {
+            this(keyId, algorithm, JWT.require(algorithm).withIssuer(ISSUER).build());
+        }
+    }
+
+    private record KeyRing(SigningKey current, SigningKey previous) {
+        Optional<SigningKey> find(String keyId) {
+            if (current.keyId().equals(keyId)) {
+                return Optional.of(current);
+            }
+            if (previous != null && previous.keyId().equals(keyId)) {
+                return Optional.of(previous);
+            }
+            return Optional.empty();
+        }
+    }
 }
@@ -6,6 +6,8 @@ import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoU
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -19,10 +21,27 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private EmailBloomFilter emailBloomFilter;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
     @Transactional
     public UserJPA registerNewUser(String email, String hashedPassword, String firstName, String lastName, Set<RoleJPA> roles){
-        if (userRepository.findByEmail(email).isPresent()){
-            throw new EmailAlreadyInUseException("Email já cadastrado!");
+        // Um email que o filtro garante ser novo dispensa a consulta; a constraint UNIQUE
+        // continua protegendo contra registros concorrentes.
+        if (emailBloomFilter.mightContain(email)) {
+            if (userRepository.findByEmail(email).isPresent()) {
+                throw new EmailAlreadyInUseException("Email já cadastrado!");
+            }
+            emailBloomFilter.recordFalsePositive();
         }
 
         UserJPA newUser = new UserJPA(email, hashedPassword, firstName, lastName, roles);
@@ -38,7 +57,29 @@ public class UserService {
         UserJPA user = userRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Usuário não encontrado com ID: " + id));
 
+        String previousEmail = user.getEmail();
         user.updateFields(dados);
-        return userRepository.save(user);
+        user.incrementTokenVersion();
+        UserJPA updatedUser = userRepository.save(user);
+        principalCache.invalidateAfterCommit(previousEmail, updatedUser.getEmail());
+        // Nome e email do instrutor aparecem nos cursos em cache.
+        catalogCache.evictInstructor(id);
+        revokeTokensAfterCommit(updatedUser);
+        return updatedUser;
+    }
+
+    private void revokeTokensAfterCommit(UserJPA user) {
+        Long userId = user.getId();
+        int tokenVersion = user.getTokenVersion();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tokenService.revokeTokensBefore(userId, tokenVersion);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tokenService.revokeTokensBefore(userId, tokenVersion);
+            }
+        });
     }
 }
\ No newline at end of file
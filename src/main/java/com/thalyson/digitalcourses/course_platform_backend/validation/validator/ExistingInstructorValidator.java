@@ -3,6 +3,7 @@ package com.thalyson.digitalcourses.course_platform_backend.validation.validator
 import com.thalyson.digitalcourses.course_platform_backend.validation.annotation.ExistingIntructor;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.AuthorizationService;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +17,9 @@ public class ExistingInstructorValidator implements ConstraintValidator<Existing
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthorizationService authorizationService;
+
     @Override
     public boolean isValid(Long instructorId, ConstraintValidatorContext context){
         if (instructorId == null) {
@@ -27,11 +31,6 @@ public class ExistingInstructorValidator implements ConstraintValidator<Existing
             return false;
         }
 
-        UserJPA user = userOptional.get();
-        boolean hasRequiredRole = user.getAuthorities().stream()
-                .anyMatch(auth ->
-                        auth.getAuthority().equals("ROLE_INSTRUCTOR") || auth.getAuthority().equals("ROLE_ADMIN"));
-
-        return hasRequiredRole;
+        return authorizationService.isInstructorOrAdmin(userOptional.get());
     }
 }
@@ -0,0 +1,12 @@
+-- Busca textual do catálogo: título com peso maior que a descrição, dicionário em português.
+-- A coluna é gerada pelo banco e não é mapeada na entidade.
+ALTER TABLE courses
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_courses_search_vector ON courses USING GIN (search_vector);
+
+-- findByTitleIgnoreCase gera upper(title) = upper(?), que não usava nenhum índice.
+CREATE INDEX idx_courses_title_upper ON courses (upper(title));
@@ -0,0 +1,31 @@
+-- Contagem de cursos por combinação (categoria, instrutor, publicado), mantida pelo CourseService
+-- a cada inclusão, alteração ou exclusão. As facetas da navegação somam esta tabela, que tem uma
+-- linha por combinação existente, em vez de agrupar a tabela de cursos.
+CREATE TABLE course_facet_counts (
+    category_id INT NOT NULL,
+    instructor_id BIGINT NOT NULL,
+    is_published BOOLEAN NOT NULL,
+    course_count BIGINT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (category_id, instructor_id, is_published),
+    FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE,
+    FOREIGN KEY (instructor_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_course_facet_counts_instructor ON course_facet_counts (instructor_id);
+
+INSERT INTO course_facet_counts (category_id, instructor_id, is_published, course_count)
+SELECT category_id, instructor_id, COALESCE(is_published, FALSE), count(*)
+FROM courses
+GROUP BY category_id, instructor_id, COALESCE(is_published, FALSE);
+
+-- Listagem filtrada, ordenada por (title, id) como o restante do catálogo. Os índices compostos
+-- substituem os de chave estrangeira simples, que viram prefixo deles.
+CREATE INDEX idx_courses_category_title_id ON courses (category_id, title, id);
+CREATE INDEX idx_courses_instructor_title_id ON courses (instructor_id, title, id);
+DROP INDEX idx_courses_category_id;
+DROP INDEX idx_courses_instructor_id;
+
+-- O catálogo público navega quase sempre só pelos publicados.
+CREATE INDEX idx_courses_published_title_id ON courses (title, id) WHERE is_published;
+CREATE INDEX idx_courses_published_category_title_id ON courses (category_id, title, id) WHERE is_published;
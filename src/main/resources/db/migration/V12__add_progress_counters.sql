@@ -0,0 +1,17 @@
+-- Contadores mantidos pelo EnrollmentProgressService: a conclusão de uma aula soma 1 em
+-- completed_count e calcula o progresso a partir de lesson_count, sem contar aulas nem ler a
+-- coleção de aulas concluídas. As colunas não são escritas pelas entidades.
+ALTER TABLE courses ADD COLUMN lesson_count INT NOT NULL DEFAULT 0;
+ALTER TABLE enrollments ADD COLUMN completed_count INT NOT NULL DEFAULT 0;
+
+UPDATE courses c SET lesson_count = x.total
+FROM (SELECT m.course_id, count(*) AS total FROM lessons l JOIN modules m ON m.id = l.module_id GROUP BY m.course_id) x
+WHERE c.id = x.course_id;
+
+UPDATE enrollments e SET completed_count = x.total
+FROM (SELECT enrollment_id, count(*) AS total FROM enrollment_completed_lessons GROUP BY enrollment_id) x
+WHERE e.id = x.enrollment_id;
+
+-- A exclusão de uma aula desconta as matrículas que a concluíram; sem este índice a busca
+-- por lesson_id percorre a tabela inteira (a chave primária começa por enrollment_id).
+CREATE INDEX idx_enrollment_completed_lessons_lesson_id ON enrollment_completed_lessons (lesson_id);
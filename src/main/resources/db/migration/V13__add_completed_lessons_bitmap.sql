@@ -0,0 +1,19 @@
+-- Posição fixa de cada aula no curso, usada como índice no bitmap de aulas concluídas. É
+-- atribuída na inclusão a partir de courses.next_lesson_ordinal e não é reaproveitada quando a
+-- aula é excluída.
+ALTER TABLE lessons ADD COLUMN course_ordinal INT;
+ALTER TABLE courses ADD COLUMN next_lesson_ordinal INT NOT NULL DEFAULT 0;
+
+UPDATE lessons l SET course_ordinal = x.ordinal
+FROM (SELECT l2.id, row_number() OVER (PARTITION BY m.course_id ORDER BY m.order_index, l2.order_index, l2.id) - 1 AS ordinal
+      FROM lessons l2 JOIN modules m ON m.id = l2.module_id) x
+WHERE l.id = x.id;
+
+UPDATE courses c SET next_lesson_ordinal = x.total
+FROM (SELECT m.course_id, count(*) AS total FROM lessons l JOIN modules m ON m.id = l.module_id GROUP BY m.course_id) x
+WHERE c.id = x.course_id;
+
+-- Aulas concluídas no formato de LessonBitmap, quando api.progress.bitmap-storage.enabled está
+-- ligado. Nulo enquanto a matrícula ainda usa as linhas de enrollment_completed_lessons; a
+-- conversão grava o bitmap e apaga essas linhas.
+ALTER TABLE enrollments ADD COLUMN completed_lessons BYTEA;
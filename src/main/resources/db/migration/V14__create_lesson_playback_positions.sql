@@ -0,0 +1,13 @@
+-- Último ponto (em segundos) em que o aluno parou em cada aula. Gravado em lotes pelo
+-- PlaybackPositionService, a partir das posições mantidas em memória.
+CREATE TABLE lesson_playback_positions (
+    enrollment_id BIGINT NOT NULL,
+    lesson_id BIGINT NOT NULL,
+    position_seconds INT NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (enrollment_id, lesson_id),
+    FOREIGN KEY (enrollment_id) REFERENCES enrollments(id) ON DELETE CASCADE,
+    FOREIGN KEY (lesson_id) REFERENCES lessons(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_lesson_playback_positions_lesson_id ON lesson_playback_positions (lesson_id);
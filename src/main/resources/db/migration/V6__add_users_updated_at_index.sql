@@ -0,0 +1,2 @@
+-- Usado pela sincronização incremental do filtro de emails entre nós.
+CREATE INDEX idx_users_updated_at ON users (updated_at);
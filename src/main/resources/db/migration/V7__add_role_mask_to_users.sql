@@ -0,0 +1,35 @@
+-- Bits: ROLE_STUDENT = 1, ROLE_INSTRUCTOR = 2, ROLE_ADMIN = 4 (ver RoleMask).
+ALTER TABLE users ADD COLUMN role_mask INT NOT NULL DEFAULT 0;
+
+CREATE FUNCTION role_mask_of_user(p_user_id BIGINT) RETURNS INT AS $$
+    SELECT COALESCE(bit_or(CASE r.name
+                               WHEN 'ROLE_STUDENT' THEN 1
+                               WHEN 'ROLE_INSTRUCTOR' THEN 2
+                               WHEN 'ROLE_ADMIN' THEN 4
+                               ELSE 0
+                           END), 0)
+    FROM user_roles ur
+    JOIN roles r ON r.id = ur.role_id
+    WHERE ur.user_id = p_user_id
+$$ LANGUAGE sql STABLE;
+
+UPDATE users SET role_mask = role_mask_of_user(id);
+
+-- Mantém a máscara sincronizada com user_roles para escritas feitas fora da aplicação.
+CREATE FUNCTION sync_user_role_mask() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        UPDATE users SET role_mask = role_mask_of_user(NEW.user_id)
+        WHERE id = NEW.user_id AND role_mask <> role_mask_of_user(NEW.user_id);
+    END IF;
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        UPDATE users SET role_mask = role_mask_of_user(OLD.user_id)
+        WHERE id = OLD.user_id AND role_mask <> role_mask_of_user(OLD.user_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_user_roles_role_mask
+    AFTER INSERT OR UPDATE OR DELETE ON user_roles
+    FOR EACH ROW EXECUTE FUNCTION sync_user_role_mask();
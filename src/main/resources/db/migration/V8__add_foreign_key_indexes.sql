@@ -0,0 +1,7 @@
+-- Índices nas chaves estrangeiras usadas pelas checagens de propriedade (curso → instrutor,
+-- módulo → curso, aula → módulo) e pelas listagens por curso.
+CREATE INDEX idx_courses_instructor_id ON courses (instructor_id);
+CREATE INDEX idx_courses_category_id ON courses (category_id);
+CREATE INDEX idx_modules_course_id ON modules (course_id);
+CREATE INDEX idx_lessons_module_id ON lessons (module_id);
+CREATE INDEX idx_enrollments_course_id ON enrollments (course_id);
@@ -0,0 +1,2 @@
+-- Suporta a paginação por cursor do catálogo, que ordena e filtra por (title, id).
+CREATE INDEX idx_courses_title_id ON courses (title, id);
@@ -152,4 +152,76 @@ class UserControllerE2ETest {
                     .andExpect(status().isUnauthorized());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Endpoint POST /login/refresh")
+    class RefreshTokenTests {
+
+        private String login() throws Exception {
+            MvcResult result = mockMvc.perform(post("/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"email\": \"usuario.teste@example.com\", \"password\": \"senha123\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.refreshToken", notNullValue()))
+                    .andReturn();
+            Map<String, String> tokenMap = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
+            return tokenMap.get("refreshToken");
+        }
+
+        private String refreshJson(String refreshToken) {
+            return String.format("{\"refreshToken\": \"%s\"}", refreshToken);
+        }
+
+        @Test
+        @DisplayName("Deve retornar 200 e um novo par de tokens para um refresh token válido")
+        void deveRenovarTokens() throws Exception {
+            String refreshToken = login();
+
+            mockMvc.perform(post("/login/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshJson(refreshToken)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.token", notNullValue()))
+                    .andExpect(jsonPath("$.refreshToken", notNullValue()));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 401 ao reutilizar um refresh token e revogar a família inteira")
+        void deveRevogarFamiliaAoReutilizarRefreshToken() throws Exception {
+            String refreshToken = login();
+
+            MvcResult result = mockMvc.perform(post("/login/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshJson(refreshToken)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            Map<String, String> tokenMap = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
+            String rotatedToken = tokenMap.get("refreshToken");
+
+            mockMvc.perform(post("/login/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshJson(refreshToken)))
+                    .andExpect(status().isUnauthorized());
+
+            mockMvc.perform(post("/login/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshJson(rotatedToken)))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @DisplayName("Deve retornar 401 para um refresh token revogado pelo usuário")
+        void naoDeveRenovarAposRevogacao() throws Exception {
+            String refreshToken = login();
+
+            mockMvc.perform(post("/login/revoke")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(post("/login/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshJson(refreshToken)))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.thalyson.digitalcourses.course_platform_backend.auth.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.model.RoleJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.RoleMask;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import com.thalyson.digitalcourses.course_platform_backend.service.AuthorizationService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Set;
+
+class AuthorizationServiceTest {
+
+    private final AuthorizationService authorizationService = new AuthorizationService();
+
+    @Test
+    @DisplayName("Deve derivar a máscara e as authorities a partir das roles do usuário")
+    void deveDerivarMascaraDasRoles() {
+        UserJPA user = new UserJPA("instrutor@example.com", "senha", "Instrutor", "Teste",
+                Set.of(new RoleJPA("ROLE_INSTRUCTOR"), new RoleJPA("ROLE_ADMIN")));
+
+        Assertions.assertEquals(RoleMask.INSTRUCTOR | RoleMask.ADMIN, user.getRoleMask());
+        Assertions.assertEquals(Set.of("ROLE_INSTRUCTOR", "ROLE_ADMIN"),
+                Set.copyOf(user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList()));
+        Assertions.assertTrue(authorizationService.isAdmin(user));
+        Assertions.assertTrue(authorizationService.isInstructor(user));
+    }
+
+    @Test
+    @DisplayName("Deve negar perfis que o usuário não possui")
+    void deveNegarPerfisAusentes() {
+        UserJPA user = new UserJPA("aluno@example.com", "senha", "Aluno", "Teste", Set.of(new RoleJPA("ROLE_STUDENT")));
+
+        Assertions.assertFalse(authorizationService.isAdmin(user));
+        Assertions.assertFalse(authorizationService.isInstructor(user));
+        Assertions.assertFalse(authorizationService.isInstructorOrAdmin(user));
+    }
+}
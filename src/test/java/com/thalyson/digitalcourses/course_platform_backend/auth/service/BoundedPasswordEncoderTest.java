@@ -0,0 +1,91 @@
+package com.thalyson.digitalcourses.course_platform_backend.auth.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.config.BoundedPasswordEncoder;
+import com.thalyson.digitalcourses.course_platform_backend.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    @DisplayName("Deve recusar na hora quando a fila do pool de hash está cheia")
+    void deveRecusarComFilaCheia() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, Duration.ofSeconds(5), meterRegistry)) {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+            waitForQueueSize(meterRegistry, 1);
+
+            Assertions.assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("c"));
+            Assertions.assertEquals(1.0, meterRegistry.get("auth.password_hashing.rejected").counter().count());
+
+            release.countDown();
+            Assertions.assertEquals("a", running.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals("b", queued.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar quando o hash não termina dentro do timeout")
+    void deveRecusarAposTimeout() {
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder, 1, 1, Duration.ofMillis(50), new SimpleMeterRegistry())) {
+            Assertions.assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("a"));
+        }
+    }
+
+    private void waitForQueueSize(SimpleMeterRegistry meterRegistry, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password_hashing.queue.size").gauge().value() < expected) {
+            if (System.nanoTime() > deadline) {
+                Assertions.fail("A fila do pool de hash não atingiu o tamanho esperado");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.thalyson.digitalcourses.course_platform_backend.auth.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.config.CostAwareBCryptPasswordEncoder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class CostAwareBCryptPasswordEncoderTest {
+
+    @Test
+    @DisplayName("Deve aceitar hashes legados sem prefixo e pedir que sejam regravados")
+    void deveAceitarHashLegado() {
+        PasswordEncoder encoder = CostAwareBCryptPasswordEncoder.delegating(10);
+        String legado = new BCryptPasswordEncoder(10).encode("senha123");
+
+        Assertions.assertTrue(encoder.matches("senha123", legado));
+        Assertions.assertTrue(encoder.upgradeEncoding(legado));
+    }
+
+    @Test
+    @DisplayName("Deve pedir rehash quando o custo gravado é maior ou menor que o configurado")
+    void devePedirRehashQuandoCustoDifere() {
+        String custo4 = CostAwareBCryptPasswordEncoder.delegating(4).encode("senha123");
+        String custo6 = CostAwareBCryptPasswordEncoder.delegating(6).encode("senha123");
+        PasswordEncoder encoder = CostAwareBCryptPasswordEncoder.delegating(5);
+
+        Assertions.assertTrue(custo4.startsWith("{bcrypt}"));
+        Assertions.assertTrue(encoder.matches("senha123", custo4));
+        Assertions.assertTrue(encoder.upgradeEncoding(custo4));
+        Assertions.assertTrue(encoder.upgradeEncoding(custo6));
+        Assertions.assertFalse(encoder.upgradeEncoding(encoder.encode("senha123")));
+    }
+}
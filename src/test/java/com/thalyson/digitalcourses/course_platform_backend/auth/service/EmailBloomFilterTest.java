@@ -0,0 +1,86 @@
+package com.thalyson.digitalcourses.course_platform_backend.auth.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.EmailBloomFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailBloomFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmailBloomFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new EmailBloomFilter();
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "expectedInsertions", 10_000L);
+        ReflectionTestUtils.setField(filter, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(filter, "syncOverlapSeconds", 60L);
+        ReflectionTestUtils.setField(filter, "userRepository", userRepository);
+        ReflectionTestUtils.setField(filter, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(filter, "init");
+    }
+
+    @Test
+    @DisplayName("Deve tratar todo email como possível cadastro antes da carga inicial")
+    void deveDeixarPassarAntesDaCarga() {
+        Assertions.assertTrue(filter.mightContain("qualquer@example.com"));
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer emails carregados e incluídos, com poucos falsos positivos")
+    void deveReconhecerEmailsCarregados() {
+        when(userRepository.streamAllEmails()).thenReturn(
+                IntStream.range(0, 5_000).mapToObj(i -> "usuario" + i + "@example.com"));
+
+        filter.seed();
+        filter.add("novo@example.com");
+
+        Assertions.assertTrue(filter.mightContain("usuario42@example.com"));
+        Assertions.assertTrue(filter.mightContain("novo@example.com"));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain("desconhecido" + i + "@example.com"))
+                .count();
+        Assertions.assertTrue(falsePositives < 300, "Falsos positivos acima do esperado: " + falsePositives);
+        Assertions.assertTrue(meterRegistry.get("auth.email_filter.lookups").counter().count() > 9_000);
+    }
+
+    @Test
+    @DisplayName("Deve incluir emails de outros nós na sincronização incremental")
+    void deveIncluirEmailsDaSincronizacao() {
+        when(userRepository.streamAllEmails()).thenReturn(Stream.empty());
+        filter.seed();
+        Assertions.assertFalse(filter.mightContain("outro.no@example.com"));
+
+        when(userRepository.streamEmailsUpdatedSince(any()))
+                .thenReturn(Stream.of("outro.no@example.com"));
+        filter.sync();
+
+        Assertions.assertTrue(filter.mightContain("outro.no@example.com"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.thalyson.digitalcourses.course_platform_backend.auth.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.config.LazyJwtAuthentication;
+import com.thalyson.digitalcourses.course_platform_backend.model.RoleJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class LazyJwtAuthenticationTest {
+
+    @Test
+    @DisplayName("Deve carregar o usuário apenas no primeiro acesso ao principal")
+    void deveCarregarUsuarioSobDemanda() {
+        AtomicInteger loads = new AtomicInteger();
+        UserJPA user = new UserJPA("usuario@example.com", null, "Usuário", "Teste", Set.of(new RoleJPA("ROLE_STUDENT")));
+        LazyJwtAuthentication authentication = new LazyJwtAuthentication("usuario@example.com", subject -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+
+        Assertions.assertTrue(authentication.isAuthenticated());
+        Assertions.assertEquals("usuario@example.com", authentication.getName());
+        Assertions.assertEquals(0, loads.get());
+
+        Assertions.assertSame(user, authentication.getPrincipal());
+        Assertions.assertEquals(1, authentication.getAuthorities().size());
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Deve lançar BadCredentialsException quando o usuário do token não existe mais")
+    void deveFalharQuandoUsuarioNaoExiste() {
+        LazyJwtAuthentication authentication = new LazyJwtAuthentication("removido@example.com", subject -> Optional.empty());
+
+        Assertions.assertThrows(BadCredentialsException.class, authentication::getPrincipal);
+    }
+}
@@ -0,0 +1,100 @@
+package com.thalyson.digitalcourses.course_platform_backend.auth.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.exception.TooManyLoginAttemptsException;
+import com.thalyson.digitalcourses.course_platform_backend.service.LoginRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+class LoginRateLimiterTest {
+
+    private LoginRateLimiter rateLimiter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new LoginRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimiter, "stripes", 1024);
+        ReflectionTestUtils.setField(rateLimiter, "ipBurst", 10);
+        ReflectionTestUtils.setField(rateLimiter, "ipPerMinute", 1);
+        ReflectionTestUtils.setField(rateLimiter, "emailBurst", 3);
+        ReflectionTestUtils.setField(rateLimiter, "emailPerMinute", 1);
+        ReflectionTestUtils.setField(rateLimiter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(rateLimiter, "init");
+    }
+
+    @Test
+    @DisplayName("Deve recusar tentativas para o mesmo email depois de esgotar o burst")
+    void deveRecusarAposBurstPorEmail() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire("10.0.0.1", "Usuario@Example.com");
+        }
+
+        TooManyLoginAttemptsException ex = Assertions.assertThrows(TooManyLoginAttemptsException.class,
+                () -> rateLimiter.acquire("10.0.0.2", "usuario@example.com"));
+        Assertions.assertTrue(ex.getRetryAfter().toSeconds() > 0);
+        Assertions.assertEquals(1.0, meterRegistry.get("auth.rate_limit.rejected").tag("dimension", "email").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve recusar tentativas do mesmo IP mesmo com emails diferentes")
+    void deveRecusarAposBurstPorIp() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.acquire("10.0.0.1", "usuario" + i + "@example.com");
+        }
+
+        Assertions.assertThrows(TooManyLoginAttemptsException.class,
+                () -> rateLimiter.acquire("10.0.0.1", "outro@example.com"));
+        Assertions.assertDoesNotThrow(() -> rateLimiter.acquire(ipEmOutroBucket("10.0.0.1"), "outro@example.com"));
+    }
+
+    // A chave do SipHash é sorteada, então dois IPs fixos podem cair no mesmo bucket.
+    private String ipEmOutroBucket(String ip) {
+        Object ipBuckets = ReflectionTestUtils.getField(rateLimiter, "ipBuckets");
+        Object bucket = ReflectionTestUtils.invokeMethod(ipBuckets, "stripe", ip);
+        return IntStream.range(2, 255).mapToObj(i -> "10.0.0." + i)
+                .filter(outro -> !bucket.equals(ReflectionTestUtils.invokeMethod(ipBuckets, "stripe", outro)))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Não deve juntar no mesmo bucket chaves só porque têm o mesmo hashCode")
+    void naoDeveColidirPorHashCode() {
+        // "Aa" e "BB" têm o mesmo hashCode, então as 8 combinações abaixo também têm.
+        List<String> chaves = new ArrayList<>();
+        for (String a : List.of("Aa", "BB")) {
+            for (String b : List.of("Aa", "BB")) {
+                for (String c : List.of("Aa", "BB")) {
+                    chaves.add(a + b + c);
+                }
+            }
+        }
+        String atacante = chaves.remove(0);
+        Assertions.assertTrue(chaves.stream().allMatch(chave -> chave.hashCode() == atacante.hashCode()));
+
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.acquire(atacante, null);
+        }
+        Assertions.assertThrows(TooManyLoginAttemptsException.class, () -> rateLimiter.acquire(atacante, null));
+
+        long bloqueadas = chaves.stream().filter(chave -> {
+            try {
+                rateLimiter.acquire(chave, null);
+                return false;
+            } catch (TooManyLoginAttemptsException e) {
+                return true;
+            }
+        }).count();
+        Assertions.assertTrue(bloqueadas < chaves.size());
+    }
+}
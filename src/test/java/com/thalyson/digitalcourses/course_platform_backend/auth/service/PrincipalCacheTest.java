@@ -0,0 +1,157 @@
+package com.thalyson.digitalcourses.course_platform_backend.auth.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoUser;
+import com.thalyson.digitalcourses.course_platform_backend.model.RoleJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserEntityListener;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.CatalogCache;
+import com.thalyson.digitalcourses.course_platform_backend.service.EmailBloomFilter;
+import com.thalyson.digitalcourses.course_platform_backend.service.PrincipalCache;
+import com.thalyson.digitalcourses.course_platform_backend.service.TokenService;
+import com.thalyson.digitalcourses.course_platform_backend.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheTest {
+
+    private PrincipalCache principalCache;
+    private SimpleMeterRegistry meterRegistry;
+
+    // Simula a tabela de usuários lida pelo SecurityFilter.
+    private final Map<String, UserJPA> banco = new HashMap<>();
+    private final AtomicInteger consultas = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache();
+        ReflectionTestUtils.setField(principalCache, "enabled", true);
+        ReflectionTestUtils.setField(principalCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(principalCache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(principalCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(principalCache, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private UserJPA usuario(String email, String papel) {
+        UserJPA user = new UserJPA(email, "senha", "Usuário", "Teste", Set.of(new RoleJPA(papel)));
+        user.setId(1L);
+        return user;
+    }
+
+    private Optional<UserJPA> buscar(String email) {
+        return principalCache.get(email, subject -> {
+            consultas.incrementAndGet();
+            return Optional.ofNullable(banco.get(subject));
+        });
+    }
+
+    private void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco só na primeira vez e registrar acertos e falhas do cache")
+    void deveServirDoCacheERegistrarMetricas() {
+        banco.put("usuario@example.com", usuario("usuario@example.com", "ROLE_STUDENT"));
+
+        UserJPA primeiro = buscar("usuario@example.com").orElseThrow();
+        UserJPA segundo = buscar("usuario@example.com").orElseThrow();
+        buscar("usuario@example.com");
+
+        Assertions.assertEquals(1, consultas.get());
+        Assertions.assertNotSame(primeiro, segundo);
+        Assertions.assertEquals(primeiro.getEmail(), segundo.getEmail());
+        Assertions.assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "principal-cache").tag("result", "hit")
+                .functionCounter().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "principal-cache").tag("result", "miss")
+                .functionCounter().count());
+        Assertions.assertEquals(2.0 / 3, meterRegistry.get("principal.cache.hit.ratio").gauge().value(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o email antigo e o novo na atualização do usuário e de novo após o commit")
+    void deveInvalidarEmailsAntigoENovoAposCommit() {
+        UserJPA user = usuario("antigo@example.com", "ROLE_STUDENT");
+        banco.put("antigo@example.com", user);
+        banco.put("novo@example.com", usuario("novo@example.com", "ROLE_STUDENT"));
+        buscar("antigo@example.com");
+        buscar("novo@example.com");
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(UserJPA.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        UserService userService = new UserService();
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "principalCache", principalCache);
+        ReflectionTestUtils.setField(userService, "tokenService", mock(TokenService.class));
+        ReflectionTestUtils.setField(userService, "emailBloomFilter", mock(EmailBloomFilter.class));
+        ReflectionTestUtils.setField(userService, "catalogCache", mock(CatalogCache.class));
+
+        TransactionSynchronizationManager.initSynchronization();
+        userService.update(1L, new DadosAtualizacaoUser("novo@example.com", null, null));
+        Assertions.assertEquals(2, consultas.get());
+
+        // Requisição concorrente antes do commit: ainda lê o estado antigo e o guarda no cache.
+        buscar("antigo@example.com");
+        buscar("novo@example.com");
+        Assertions.assertEquals(4, consultas.get());
+
+        commit();
+        banco.remove("antigo@example.com");
+        banco.put("novo@example.com", user);
+
+        Assertions.assertTrue(buscar("antigo@example.com").isEmpty());
+        Assertions.assertEquals(1L, buscar("novo@example.com").orElseThrow().getId());
+        Assertions.assertEquals(6, consultas.get());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar pelo listener da entidade quando os papéis do usuário mudam")
+    void deveInvalidarPeloListenerAoMudarPapeis() {
+        UserJPA user = usuario("usuario@example.com", "ROLE_STUDENT");
+        banco.put("usuario@example.com", user);
+        buscar("usuario@example.com");
+
+        EmailBloomFilter emailBloomFilter = mock(EmailBloomFilter.class);
+        UserEntityListener listener = new UserEntityListener();
+        ReflectionTestUtils.setField(listener, "principalCache", principalCache);
+        ReflectionTestUtils.setField(listener, "emailBloomFilter", emailBloomFilter);
+
+        TransactionSynchronizationManager.initSynchronization();
+        user.setRoles(Set.of(new RoleJPA("ROLE_INSTRUCTOR")));
+        listener.onUserSaved(user);
+        buscar("usuario@example.com");
+        commit();
+
+        UserJPA principal = buscar("usuario@example.com").orElseThrow();
+        Assertions.assertEquals(3, consultas.get());
+        Assertions.assertTrue(principal.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_INSTRUCTOR")));
+        verify(emailBloomFilter).add("usuario@example.com");
+    }
+}
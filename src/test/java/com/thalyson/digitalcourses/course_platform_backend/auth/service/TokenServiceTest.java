@@ -0,0 +1,139 @@
+package com.thalyson.digitalcourses.course_platform_backend.auth.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.thalyson.digitalcourses.course_platform_backend.model.RoleJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.TokenService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "um-segredo-de-teste-seguro-e-longo";
+
+    private TokenService tokenService;
+    private UserJPA user;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setup() {
+        userRepository = mock(UserRepository.class);
+        tokenService = newTokenService("k1", SECRET);
+
+        user = new UserJPA("usuario@example.com", "senha", "Usuário", "Teste", Set.of(new RoleJPA("ROLE_STUDENT")));
+        user.setId(1L);
+    }
+
+    private TokenService newTokenService(String keyId, String secret) {
+        TokenService service = new TokenService();
+        ReflectionTestUtils.setField(service, "secret", secret);
+        ReflectionTestUtils.setField(service, "keyId", keyId);
+        ReflectionTestUtils.setField(service, "previousSecret", "");
+        ReflectionTestUtils.setField(service, "previousKeyId", "");
+        ReflectionTestUtils.setField(service, "expirationHours", 2L);
+        ReflectionTestUtils.setField(service, "versionCacheTtlSeconds", 30L);
+        ReflectionTestUtils.setField(service, "versionCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+
+    @Test
+    @DisplayName("Deve gerar um token com kid e recuperar o subject")
+    void deveGerarTokenComKidERecuperarSubject() {
+        String token = tokenService.gerarToken(user);
+
+        Assertions.assertEquals("k1", JWT.decode(token).getKeyId());
+        Assertions.assertEquals("usuario@example.com", tokenService.getSubject(token));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar tokens da chave anterior após uma rotação")
+    void deveAceitarTokenDaChaveAnteriorAposRotacao() {
+        String tokenAntigo = tokenService.gerarToken(user);
+
+        tokenService.rotateKey("k2", "outro-segredo-de-teste-seguro-e-longo");
+        String tokenNovo = tokenService.gerarToken(user);
+
+        Assertions.assertEquals("k2", JWT.decode(tokenNovo).getKeyId());
+        Assertions.assertEquals("usuario@example.com", tokenService.getSubject(tokenAntigo));
+        Assertions.assertEquals("usuario@example.com", tokenService.getSubject(tokenNovo));
+    }
+
+    @Test
+    @DisplayName("Deve recusar tokens assinados com uma chave que saiu do anel após duas rotações")
+    void deveRecusarTokenDeChaveDescartada() {
+        String tokenAntigo = tokenService.gerarToken(user);
+
+        tokenService.rotateKey("k2", "outro-segredo-de-teste-seguro-e-longo");
+        tokenService.rotateKey("k3", "terceiro-segredo-de-teste-seguro-e-longo");
+
+        Assertions.assertThrows(RuntimeException.class, () -> tokenService.getSubject(tokenAntigo));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar tokens sem kid emitidos com o segredo original")
+    void deveAceitarTokenSemKid() {
+        String tokenLegado = JWT.create()
+                .withIssuer("API Curso")
+                .withSubject("usuario@example.com")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        tokenService.rotateKey("k2", "outro-segredo-de-teste-seguro-e-longo");
+
+        Assertions.assertEquals("usuario@example.com", tokenService.getSubject(tokenLegado));
+    }
+
+    @Test
+    @DisplayName("Deve recusar tokens com kid desconhecido ou assinatura inválida")
+    void deveRecusarTokenDeOutraChave() {
+        String tokenDeOutroServico = newTokenService("k1", "segredo-de-outro-servico-muito-longo").gerarToken(user);
+
+        Assertions.assertThrows(RuntimeException.class, () -> tokenService.getSubject(tokenDeOutroServico));
+    }
+
+    @Test
+    @DisplayName("Deve recusar tokens de versão anterior à revogação e aceitar os emitidos depois")
+    void deveRecusarTokenRevogado() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+        String tokenAntigo = tokenService.gerarToken(user);
+        tokenService.principalFromClaims(tokenService.verify(tokenAntigo));
+        ReflectionTestUtils.setField(user, "tokenVersion", 1);
+        String tokenNovo = tokenService.gerarToken(user);
+
+        tokenService.revokeTokensBefore(1L, 1);
+        tokenService.revokeTokensBefore(1L, 0);
+
+        Assertions.assertThrows(RuntimeException.class,
+                () -> tokenService.principalFromClaims(tokenService.verify(tokenAntigo)));
+        Assertions.assertEquals(1L, tokenService.principalFromClaims(tokenService.verify(tokenNovo)).orElseThrow().getId());
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve recusar tokens revogados em outro nó pela versão lida do banco")
+    void deveRecusarTokenRevogadoEmOutroNo() {
+        String tokenAntigo = tokenService.gerarToken(user);
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(1));
+        when(userRepository.findTokenVersionById(2L)).thenReturn(Optional.empty());
+        user.setId(2L);
+        String tokenDeUsuarioExcluido = tokenService.gerarToken(user);
+
+        Assertions.assertThrows(RuntimeException.class,
+                () -> tokenService.principalFromClaims(tokenService.verify(tokenAntigo)));
+        Assertions.assertThrows(RuntimeException.class,
+                () -> tokenService.principalFromClaims(tokenService.verify(tokenDeUsuarioExcluido)));
+    }
+}
@@ -0,0 +1,135 @@
+package com.thalyson.digitalcourses.course_platform_backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thalyson.digitalcourses.course_platform_backend.CoursePlatformBackendApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência (p50/p99 no modo SampleTime) de GET /courses/search sobre um catálogo sintético de
+ * 1 milhão de cursos, comparada com o filtro por ILIKE que a busca substitui. Os termos vão de
+ * muito frequentes (um em cada doze cursos) a um único resultado. O cache do catálogo fica
+ * desligado; a busca não passa por ele de qualquer forma.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+@Threads(4)
+public class CourseSearchBenchmark {
+
+    private static final int CATALOG_SIZE = 1_000_000;
+    private static final int CATEGORIES = 20;
+
+    @Param({"spring", "kubernetes segurança", "\"banco de dados\" -java", "999999"})
+    public String query;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private HttpClient httpClient;
+    private HttpRequest searchRequest;
+    private HttpRequest searchByCategoryRequest;
+    private HttpRequest secondPageRequest;
+    private String likePattern;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        context = new SpringApplicationBuilder(CoursePlatformBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "api.cache.enabled=false",
+                        "api.security.email-filter.enabled=false")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seedCatalog();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String baseUrl = "http://localhost:" + port + "/courses/search?size=10&q=" + URLEncoder.encode(query, StandardCharsets.UTF_8);
+        httpClient = HttpClient.newHttpClient();
+        searchRequest = HttpRequest.newBuilder(URI.create(baseUrl)).GET().build();
+        Integer categoryId = jdbcTemplate.queryForObject("SELECT min(id) FROM categories", Integer.class);
+        searchByCategoryRequest = HttpRequest.newBuilder(URI.create(baseUrl + "&categoryId=" + categoryId)).GET().build();
+
+        String firstPage = httpClient.send(searchRequest, HttpResponse.BodyHandlers.ofString()).body();
+        // Com um único resultado não há próxima página e o cursor vazio repete a primeira.
+        String nextCursor = new ObjectMapper().readTree(firstPage).path("nextCursor").asText("");
+        secondPageRequest = HttpRequest.newBuilder(URI.create(baseUrl + "&cursor=" + nextCursor)).GET().build();
+
+        // O baseline procura só a primeira palavra, que é o que um filtro por substring consegue fazer.
+        likePattern = "%" + query.replace("\"", "").split(" ")[0] + "%";
+    }
+
+    private void seedCatalog() {
+        jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name, updated_at) " +
+                "VALUES ('bench.instrutor@example.com', 'x', 'Bench', 'Instrutor', now())");
+        jdbcTemplate.update("INSERT INTO categories (name, updated_at) " +
+                "SELECT 'Categoria ' || g, now() FROM generate_series(1, ?) g", CATEGORIES);
+        jdbcTemplate.update("""
+                INSERT INTO courses (title, description, is_published, instructor_id, category_id, updated_at)
+                SELECT t.topic || ' ' || t.level || ' ' || g,
+                       'Curso de ' || t.topic || ' com foco em ' || t.focus || '. Inclui exercícios sobre ' || t.extra || '.',
+                       g % 10 <> 0,
+                       (SELECT id FROM users WHERE email = 'bench.instrutor@example.com'),
+                       (SELECT min(id) FROM categories) + g % ?,
+                       now()
+                FROM generate_series(1, ?) g
+                CROSS JOIN LATERAL (SELECT
+                    (ARRAY['Java','Python','Spring','Docker','Kubernetes','React','Angular','PostgreSQL','Go','Rust','Kotlin','Node'])[1 + g % 12] AS topic,
+                    (ARRAY['Básico','Intermediário','Avançado','na Prática','Completo'])[1 + (g / 12) % 5] AS level,
+                    (ARRAY['APIs REST','testes automatizados','banco de dados','microsserviços','segurança','desempenho','nuvem'])[1 + (g / 60) % 7] AS focus,
+                    (ARRAY['concorrência','mensageria','observabilidade','cache','autenticação','deploy','arquitetura'])[1 + (g / 420) % 7] AS extra
+                ) t
+                """, CATEGORIES, CATALOG_SIZE);
+        jdbcTemplate.execute("ANALYZE courses");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int search() throws Exception {
+        return httpClient.send(searchRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int searchByCategory() throws Exception {
+        return httpClient.send(searchByCategoryRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int searchSecondPage() throws Exception {
+        return httpClient.send(secondPageRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public List<Long> ilikeBaseline() {
+        return jdbcTemplate.queryForList("SELECT id FROM courses WHERE is_published " +
+                "AND (title ILIKE ? OR description ILIKE ?) ORDER BY id LIMIT 10", Long.class, likePattern, likePattern);
+    }
+}
@@ -0,0 +1,62 @@
+package com.thalyson.digitalcourses.course_platform_backend.benchmark;
+
+import com.thalyson.digitalcourses.course_platform_backend.config.BoundedPasswordEncoder;
+import com.thalyson.digitalcourses.course_platform_backend.config.CostAwareBCryptPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de login (p50/p99 no modo SampleTime) para cada custo do BCrypt, usando o mesmo
+ * DaoAuthenticationProvider e o mesmo pool limitado da aplicação, sem banco. Serve para escolher
+ * api.security.password.bcrypt-strength de acordo com o SLO de login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(4)
+public class LoginCostBenchmark {
+
+    private static final String PASSWORD = "senha123";
+
+    @Param({"10", "11", "12", "13"})
+    public int strength;
+
+    private BoundedPasswordEncoder passwordEncoder;
+    private DaoAuthenticationProvider provider;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        passwordEncoder = new BoundedPasswordEncoder(CostAwareBCryptPasswordEncoder.delegating(strength),
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 64, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+
+        UserDetails user = User.withUsername("bench@example.com")
+                .password(passwordEncoder.encode(PASSWORD))
+                .roles("STUDENT")
+                .build();
+
+        provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(username -> User.withUserDetails(user).build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passwordEncoder.close();
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return provider.authenticate(new UsernamePasswordAuthenticationToken("bench@example.com", PASSWORD));
+    }
+}
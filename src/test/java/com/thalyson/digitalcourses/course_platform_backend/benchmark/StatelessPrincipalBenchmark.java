@@ -0,0 +1,90 @@
+package com.thalyson.digitalcourses.course_platform_backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thalyson.digitalcourses.course_platform_backend.CoursePlatformBackendApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara requisições por segundo em um endpoint autenticado (GET /users/me) com o principal
+ * reconstruído a partir do banco (modo atual) e a partir das claims do token (modo stateless).
+ * O cache de principal fica desligado para medir o caminho com SQL de verdade.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(8)
+public class StatelessPrincipalBenchmark {
+
+    @Param({"false", "true"})
+    public boolean statelessPrincipal;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest profileRequest;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        context = new SpringApplicationBuilder(CoursePlatformBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "api.security.principal-cache.enabled=false",
+                        "api.security.token.stateless-principal=" + statelessPrincipal)
+                .run();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String baseUrl = "http://localhost:" + port;
+        httpClient = HttpClient.newHttpClient();
+
+        String credentials = "{\"email\": \"bench@example.com\", \"password\": \"senha123\"}";
+        String registration = "{\"email\": \"bench@example.com\", \"password\": \"senha123\", \"firstName\": \"Bench\", \"lastName\": \"Mark\"}";
+        post(baseUrl + "/register/student", registration);
+        String loginResponse = post(baseUrl + "/login", credentials);
+        String token = (String) new ObjectMapper().readValue(loginResponse, Map.class).get("token");
+
+        profileRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/users/me"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws Exception {
+        return httpClient.send(profileRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private String post(String url, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
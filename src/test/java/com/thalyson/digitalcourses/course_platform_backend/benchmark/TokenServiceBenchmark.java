@@ -0,0 +1,81 @@
+package com.thalyson.digitalcourses.course_platform_backend.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.thalyson.digitalcourses.course_platform_backend.model.RoleJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import com.thalyson.digitalcourses.course_platform_backend.service.TokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de assinatura e verificação de tokens com várias threads. Os métodos "rebuilding"
+ * reproduzem o comportamento anterior (Algorithm e JWTVerifier recriados a cada chamada)
+ * e servem de linha de base.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(4)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "um-segredo-de-teste-seguro-e-longo";
+
+    private TokenService tokenService;
+    private UserJPA user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "keyId", "k1");
+        ReflectionTestUtils.setField(tokenService, "previousSecret", "");
+        ReflectionTestUtils.setField(tokenService, "previousKeyId", "");
+        ReflectionTestUtils.setField(tokenService, "expirationHours", 2L);
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+
+        user = new UserJPA("bench@example.com", "senha", "Bench", "Mark", Set.of(new RoleJPA("ROLE_STUDENT")));
+        user.setId(1L);
+        token = tokenService.gerarToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        return tokenService.gerarToken(user);
+    }
+
+    @Benchmark
+    public DecodedJWT verify() {
+        return tokenService.verify(token);
+    }
+
+    @Benchmark
+    public String signRebuildingAlgorithm() {
+        return JWT.create()
+                .withKeyId("k1")
+                .withIssuer("API Curso")
+                .withSubject(user.getUsername())
+                .withClaim("uid", user.getId())
+                .withClaim("roles", List.of("ROLE_STUDENT"))
+                .withClaim("ver", user.getTokenVersion())
+                .withExpiresAt(tokenService.expirationDate())
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+
+    @Benchmark
+    public DecodedJWT verifyRebuildingVerifier() {
+        return JWT.require(Algorithm.HMAC256(SECRET))
+                .withIssuer("API Curso")
+                .build()
+                .verify(token);
+    }
+}
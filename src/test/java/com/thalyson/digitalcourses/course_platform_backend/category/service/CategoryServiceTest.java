@@ -4,7 +4,10 @@ import com.thalyson.digitalcourses.course_platform_backend.dto.DadosCadastroCate
 import com.thalyson.digitalcourses.course_platform_backend.model.CategoryJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.CategoryRepository;
 import com.thalyson.digitalcourses.course_platform_backend.exception.DuplicateResourceException;
+import com.thalyson.digitalcourses.course_platform_backend.service.AutocompleteIndex;
+import com.thalyson.digitalcourses.course_platform_backend.service.CatalogCache;
 import com.thalyson.digitalcourses.course_platform_backend.service.CategoryService;
+import com.thalyson.digitalcourses.course_platform_backend.service.CategorySummarySnapshot;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,6 +27,15 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+
+    @Mock
+    private CategorySummarySnapshot categorySummarySnapshot;
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -0,0 +1,106 @@
+package com.thalyson.digitalcourses.course_platform_backend.category.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosResumoCategory;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CategoryRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.CategorySummarySnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategorySummarySnapshotTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private CategorySummarySnapshot snapshot;
+
+    @BeforeEach
+    void setup() {
+        snapshot = new CategorySummarySnapshot();
+        ReflectionTestUtils.setField(snapshot, "categoryRepository", categoryRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(snapshot, "shutdown");
+    }
+
+    private static CategoryRepository.CategorySummary resumo(Integer id, String nome, long publicados) {
+        return new CategoryRepository.CategorySummary() {
+            public Integer getId() { return id; }
+            public String getName() { return nome; }
+            public Long getPublishedCourses() { return publicados; }
+        };
+    }
+
+    @Test
+    @DisplayName("Deve consultar uma única vez e servir a mesma lista imutável nas leituras seguintes")
+    void deveConsultarUmaUnicaVez() {
+        when(categoryRepository.summarizePublishedCourses()).thenReturn(List.of(resumo(1, "Dados", 3), resumo(2, "Web", 0)));
+
+        List<DadosResumoCategory> primeira = snapshot.current();
+        List<DadosResumoCategory> segunda = snapshot.current();
+
+        Assertions.assertSame(primeira, segunda);
+        Assertions.assertEquals(List.of(new DadosResumoCategory(1, "Dados", 3), new DadosResumoCategory(2, "Web", 0)), primeira);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> primeira.add(new DadosResumoCategory(3, "Outra", 1)));
+        verify(categoryRepository, times(1)).summarizePublishedCourses();
+    }
+
+    @Test
+    @DisplayName("Deve trocar o resumo em segundo plano após uma escrita e manter o anterior se a consulta falhar")
+    void deveAtualizarEmSegundoPlano() {
+        when(categoryRepository.summarizePublishedCourses())
+                .thenReturn(List.of(resumo(1, "Dados", 3)))
+                .thenReturn(List.of(resumo(1, "Dados", 4)))
+                .thenThrow(new IllegalStateException("banco indisponível"));
+        snapshot.current();
+
+        // Sem transação ativa a releitura é pedida na hora.
+        snapshot.refreshAfterCommit();
+        long limite = System.nanoTime() + 2_000_000_000L;
+        while (snapshot.current().get(0).publishedCourses() != 4 && System.nanoTime() < limite) {
+            Thread.onSpinWait();
+        }
+        Assertions.assertEquals(4, snapshot.current().get(0).publishedCourses());
+        verify(categoryRepository, times(2)).summarizePublishedCourses();
+
+        snapshot.refreshPeriodically();
+        limite = System.nanoTime() + 2_000_000_000L;
+        while (mockingDetails(categoryRepository).getInvocations().size() < 3 && System.nanoTime() < limite) {
+            Thread.onSpinWait();
+        }
+        verify(categoryRepository, times(3)).summarizePublishedCourses();
+        Assertions.assertEquals(4, snapshot.current().get(0).publishedCourses());
+    }
+
+    @Test
+    @DisplayName("Deve fazer a releitura periódica na mesma thread das releituras pedidas após o commit")
+    void deveReleituraPeriodicaUsarAMesmaFila() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        when(categoryRepository.summarizePublishedCourses()).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return List.of(resumo(1, "Dados", threads.size()));
+        });
+
+        snapshot.refreshPeriodically();
+        long limite = System.nanoTime() + 2_000_000_000L;
+        while (threads.isEmpty() && System.nanoTime() < limite) {
+            Thread.onSpinWait();
+        }
+
+        Assertions.assertEquals(List.of("category-summary-refresh"), threads);
+    }
+}
@@ -5,12 +5,15 @@ import com.thalyson.digitalcourses.course_platform_backend.dto.DadosLogin;
 import com.thalyson.digitalcourses.course_platform_backend.model.CategoryJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.CategoryRepository;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosCadastroCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosCadastroModule;
 import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
 import com.thalyson.digitalcourses.course_platform_backend.model.RoleJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.ModuleRepository;
 import com.thalyson.digitalcourses.course_platform_backend.repository.RoleRepository;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.CourseFacetService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -33,6 +36,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import java.util.Collections;
 import java.util.Map;
 
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -74,12 +78,18 @@ class CourseControllerE2ETest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ModuleRepository moduleRepository;
+
     @Autowired
     private RoleRepository roleRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CourseFacetService courseFacetService;
+
     private String instructorToken;
     private Long instructorId;
     private Integer categoryId;
@@ -87,6 +97,7 @@ class CourseControllerE2ETest {
 
     @BeforeEach
     void setup() throws Exception {
+        moduleRepository.deleteAllInBatch();
         courseRepository.deleteAllInBatch();
         categoryRepository.deleteAllInBatch();
         userRepository.deleteAllInBatch();
@@ -116,6 +127,8 @@ class CourseControllerE2ETest {
         course.setCategory(category);
         courseRepository.saveAndFlush(course);
         this.courseId = course.getId();
+        // Os dados acima não passam pelo CourseService, então as contagens de facetas são refeitas.
+        courseFacetService.recount();
 
         this.instructorToken = getJwtToken("instrutor.teste@example.com", "senha123");
     }
@@ -172,6 +185,119 @@ class CourseControllerE2ETest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Deve aplicar fields também na listagem por cursor e recusar campos desconhecidos")
+    void deveAplicarFieldsNaListagemPorCursor() throws Exception {
+        mockMvc.perform(get("/courses").param("cursor", "").param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(this.courseId))
+                .andExpect(jsonPath("$.content[0].title").value("Curso para Testes"))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist());
+
+        mockMvc.perform(get("/courses").param("cursor", "").param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 Not Modified quando o ETag do curso não mudou")
+    void deveRetornar304QuandoCursoNaoMudou() throws Exception {
+        String eTag = mockMvc.perform(get("/courses/{id}", this.courseId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/courses/{id}", this.courseId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 Not Modified na listagem paginada sem validar outra página com o mesmo ETag")
+    void deveRetornar304NaListagemPaginada() throws Exception {
+        String eTag = mockMvc.perform(get("/courses").param("page", "0").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/courses").param("page", "0").param("size", "10").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/courses").param("page", "1").param("size", "10").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)));
+    }
+
+    @Test
+    @DisplayName("Deve mudar o ETag da lista de módulos quando um módulo é criado")
+    void deveMudarETagDaListaDeModulosAposCriacao() throws Exception {
+        String eTag = mockMvc.perform(get("/courses/{courseId}/modules", this.courseId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(post("/courses/{courseId}/modules", this.courseId)
+                        .header("Authorization", "Bearer " + this.instructorToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DadosCadastroModule("Módulo 1", "Introdução", 1))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/courses/{courseId}/modules", this.courseId).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("Deve filtrar a navegação e manter as contagens de facetas após criar um curso")
+    void deveNavegarComFacetasAtualizadas() throws Exception {
+        DadosCadastroCourse dadosCurso = new DadosCadastroCourse("Docker na Prática", "Containers do zero.", null,
+                true, this.instructorId, this.categoryId);
+        mockMvc.perform(post("/courses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer " + this.instructorToken)
+                        .content(objectMapper.writeValueAsString(dadosCurso)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/courses/browse").param("published", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Docker na Prática"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.facets.categories[0].value").value(String.valueOf(this.categoryId)))
+                .andExpect(jsonPath("$.facets.categories[0].count").value(1))
+                .andExpect(jsonPath("$.facets.instructors[0].label").value("Instrutor Teste"))
+                .andExpect(jsonPath("$.facets.published.length()").value(2));
+
+        mockMvc.perform(get("/courses/browse").param("categoryId", String.valueOf(this.categoryId)).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.totalPages").value(2));
+    }
+
+    @Test
+    @DisplayName("Deve buscar por texto apenas cursos publicados, do mais relevante ao menos relevante")
+    void deveBuscarCursosPublicadosPorRelevancia() throws Exception {
+        UserJPA instructor = userRepository.findById(this.instructorId).orElseThrow();
+        CategoryJPA category = categoryRepository.findById(this.categoryId).orElseThrow();
+        courseRepository.saveAndFlush(new CourseJPA("Spring Boot na prática", "APIs REST com Spring e PostgreSQL.", null, true, instructor, category));
+        courseRepository.saveAndFlush(new CourseJPA("Java moderno", "Inclui uma introdução ao Spring.", null, true, instructor, category));
+        courseRepository.saveAndFlush(new CourseJPA("Spring Security", "Rascunho ainda não publicado.", null, false, instructor, category));
+
+        mockMvc.perform(get("/courses/search").param("q", "spring").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Spring Boot na prática"))
+                .andExpect(jsonPath("$.nextCursor").exists());
+
+        mockMvc.perform(get("/courses/search").param("q", "spring").param("categoryId", String.valueOf(this.categoryId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
     @Test
     @DisplayName("Deve deletar um curso e retornar 204 No Content")
     void deveDeletarCursoComSucesso() throws Exception {
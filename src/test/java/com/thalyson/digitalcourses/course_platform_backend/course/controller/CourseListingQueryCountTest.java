@@ -0,0 +1,135 @@
+package com.thalyson.digitalcourses.course_platform_backend.course.controller;
+
+import com.thalyson.digitalcourses.course_platform_backend.model.CategoryJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.RoleJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CategoryRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.RoleRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.support.TestPropertySourceUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+@ContextConfiguration(initializers = CourseListingQueryCountTest.DataSourceInitializer.class)
+@ActiveProfiles("test")
+@DisplayName("Quantidade de SQL na listagem de cursos")
+class CourseListingQueryCountTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    public static class DataSourceInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext applicationContext) {
+            TestPropertySourceUtils.addInlinedPropertiesToEnvironment(
+                    applicationContext,
+                    "spring.datasource.url=" + postgresContainer.getJdbcUrl(),
+                    "spring.datasource.username=" + postgresContainer.getUsername(),
+                    "spring.datasource.password=" + postgresContainer.getPassword(),
+                    "spring.jpa.properties.hibernate.generate_statistics=true",
+                    // Evita que a sincronização agendada do filtro de emails entre na contagem.
+                    "api.security.email-filter.enabled=false"
+            );
+        }
+    }
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private RoleRepository roleRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setup() {
+        courseRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        roleRepository.deleteAllInBatch();
+
+        RoleJPA instructorRole = roleRepository.saveAndFlush(new RoleJPA("ROLE_INSTRUCTOR"));
+
+        // Um instrutor e uma categoria diferentes por curso, o pior caso para N+1.
+        for (int i = 0; i < 15; i++) {
+            UserJPA instructor = userRepository.saveAndFlush(new UserJPA("instrutor" + i + "@example.com", "senha",
+                    "Instrutor", "Número " + i, Set.of(instructorRole)));
+            CategoryJPA category = categoryRepository.saveAndFlush(new CategoryJPA("Categoria " + i));
+
+            CourseJPA course = new CourseJPA("Curso " + String.format("%02d", i), "Descrição", null, true, instructor, category);
+            courseRepository.saveAndFlush(course);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve listar uma página de cursos com uma consulta de dados e uma de contagem")
+    void deveListarPaginaComDuasConsultas() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/courses").param("page", "0").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(jsonPath("$.content[0].instructor.email").exists())
+                .andExpect(jsonPath("$.content[0].category.name").exists());
+
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve manter a mesma quantidade de consultas na última página")
+    void deveManterQuantidadeDeConsultasNaUltimaPagina() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/courses").param("page", "1").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(5));
+
+        // Na última página o total é deduzido do offset, sem a consulta de contagem.
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve listar campos selecionados sem carregar entidades nem associações")
+    void deveListarCamposSelecionadosSemCarregarEntidades() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/courses").param("fields", "id,title,thumbnailUrl").param("page", "0").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(jsonPath("$.content[0].title").value("Curso 00"))
+                .andExpect(jsonPath("$.content[0].instructor").doesNotExist())
+                .andExpect(jsonPath("$.content[0].description").doesNotExist());
+
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
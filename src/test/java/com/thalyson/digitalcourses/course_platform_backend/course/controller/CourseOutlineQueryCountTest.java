@@ -0,0 +1,136 @@
+package com.thalyson.digitalcourses.course_platform_backend.course.controller;
+
+import com.thalyson.digitalcourses.course_platform_backend.model.CategoryJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.LessonJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.ModuleJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.RoleJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CategoryRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.LessonRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.ModuleRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.RoleRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.support.TestPropertySourceUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+@ContextConfiguration(initializers = CourseOutlineQueryCountTest.DataSourceInitializer.class)
+@ActiveProfiles("test")
+@DisplayName("Quantidade de SQL na estrutura do curso")
+class CourseOutlineQueryCountTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    public static class DataSourceInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext applicationContext) {
+            TestPropertySourceUtils.addInlinedPropertiesToEnvironment(
+                    applicationContext,
+                    "spring.datasource.url=" + postgresContainer.getJdbcUrl(),
+                    "spring.datasource.username=" + postgresContainer.getUsername(),
+                    "spring.datasource.password=" + postgresContainer.getPassword(),
+                    "spring.jpa.properties.hibernate.generate_statistics=true",
+                    // Evita que a sincronização agendada do filtro de emails entre na contagem.
+                    "api.security.email-filter.enabled=false"
+            );
+        }
+    }
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private ModuleRepository moduleRepository;
+    @Autowired private LessonRepository lessonRepository;
+    @Autowired private RoleRepository roleRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Long courseId;
+
+    @BeforeEach
+    void setup() {
+        lessonRepository.deleteAllInBatch();
+        moduleRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        roleRepository.deleteAllInBatch();
+
+        RoleJPA instructorRole = roleRepository.saveAndFlush(new RoleJPA("ROLE_INSTRUCTOR"));
+        UserJPA instructor = userRepository.saveAndFlush(new UserJPA("instrutor@example.com", "senha",
+                "Instrutor", "Teste", Set.of(instructorRole)));
+        CategoryJPA category = categoryRepository.saveAndFlush(new CategoryJPA("Programação"));
+        CourseJPA course = courseRepository.saveAndFlush(new CourseJPA("Curso", "Descrição", null, true, instructor, category));
+        this.courseId = course.getId();
+
+        // Cinco módulos com quatro aulas cada, e um módulo ainda sem aulas.
+        for (int m = 1; m <= 6; m++) {
+            ModuleJPA module = moduleRepository.saveAndFlush(new ModuleJPA(course, "Módulo " + m, "Descrição", m));
+            for (int l = 1; m <= 5 && l <= 4; l++) {
+                lessonRepository.saveAndFlush(new LessonJPA(module, "Aula " + m + "." + l, "Descrição",
+                        "https://www.youtube.com/watch?v=aula" + m + "x" + l, 600, l));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve carregar curso, módulos e aulas com duas consultas além da consulta de versão")
+    void deveCarregarOutlineComDuasConsultas() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/courses/{id}/outline", courseId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.course.instructor.email").value("instrutor@example.com"))
+                .andExpect(jsonPath("$.modules.length()").value(6))
+                .andExpect(jsonPath("$.modules[0].lessons.length()").value(4))
+                .andExpect(jsonPath("$.modules[0].lessons[0].module").doesNotExist())
+                .andExpect(jsonPath("$.modules[5].lessons.length()").value(0));
+
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 apenas com a consulta de versão")
+    void deveResponder304ComUmaConsulta() throws Exception {
+        String eTag = mockMvc.perform(get("/courses/{id}/outline", courseId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/courses/{id}/outline", courseId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
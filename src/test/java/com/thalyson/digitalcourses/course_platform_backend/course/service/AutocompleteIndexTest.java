@@ -0,0 +1,124 @@
+package com.thalyson.digitalcourses.course_platform_backend.course.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosSugestaoAutocomplete;
+import com.thalyson.digitalcourses.course_platform_backend.model.CategoryJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CategoryRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.AutocompleteIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteIndexTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AutocompleteIndex index;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new AutocompleteIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxWordsPerTitle", 8);
+        ReflectionTestUtils.setField(index, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(index, "categoryRepository", categoryRepository);
+        ReflectionTestUtils.setField(index, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(index, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(index, "init");
+    }
+
+    private void carregar(Object[]... cursos) {
+        CategoryJPA categoria = new CategoryJPA("Programação");
+        categoria.setId(1);
+        when(courseRepository.streamPublishedTitles()).thenReturn(Stream.of(cursos));
+        when(categoryRepository.findAll()).thenReturn(List.of(categoria));
+        index.seed();
+    }
+
+    private List<String> textos(String prefixo) {
+        return index.suggest(prefixo, 10).stream().map(DadosSugestaoAutocomplete::text).toList();
+    }
+
+    @Test
+    @DisplayName("Deve retornar vazio antes da carga inicial")
+    void deveRetornarVazioAntesDaCarga() {
+        Assertions.assertTrue(index.suggest("spring", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve sugerir por início de qualquer palavra, ignorando maiúsculas e acentos")
+    void deveSugerirPorInicioDePalavra() {
+        carregar(new Object[]{1L, "Spring Boot Avançado"}, new Object[]{2L, "Introdução ao Spring"},
+                new Object[]{3L, "Java Básico"});
+
+        // Completações mais curtas vêm primeiro.
+        Assertions.assertEquals(List.of("Introdução ao Spring", "Spring Boot Avançado"), textos("SPR"));
+        Assertions.assertEquals(List.of("Spring Boot Avançado"), textos("avanc"));
+        Assertions.assertEquals(List.of("Java Básico"), textos("java bas"));
+        Assertions.assertEquals(List.of("Programação"), textos("progr"));
+        Assertions.assertTrue(textos("ring").isEmpty());
+
+        DadosSugestaoAutocomplete categoria = index.suggest("programacao", 10).get(0);
+        Assertions.assertEquals("CATEGORY", categoria.type());
+        Assertions.assertEquals(1L, categoria.id());
+        Assertions.assertTrue(meterRegistry.get("autocomplete.index.size.bytes").gauge().value() > 0);
+        Assertions.assertEquals(1, meterRegistry.get("autocomplete.index.rebuild").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve refletir inclusões, alterações e exclusões sem reconstruir o índice")
+    void deveAtualizarIncrementalmente() {
+        carregar(new Object[]{1L, "Spring Boot"}, new Object[]{2L, "Docker Essencial"});
+
+        index.indexCourse(curso(3L, "Spring Security", true));
+        index.indexCourse(curso(1L, "Kotlin com Spring", true));
+        index.indexCourse(curso(2L, "Docker Essencial", false));
+
+        Assertions.assertEquals(List.of("Kotlin com Spring", "Spring Security"), textos("spring"));
+        Assertions.assertEquals(List.of("Kotlin com Spring"), textos("kot"));
+        Assertions.assertTrue(textos("boot").isEmpty());
+        Assertions.assertTrue(textos("docker").isEmpty());
+
+        index.removeCourse(3L);
+        Assertions.assertEquals(List.of("Kotlin com Spring"), textos("spring"));
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite e sugerir cada título uma única vez")
+    void deveRespeitarLimite() {
+        carregar(new Object[]{1L, "Java para quem já sabe Java"}, new Object[]{2L, "Java Web"},
+                new Object[]{3L, "JavaScript"});
+
+        Assertions.assertEquals(List.of("Java para quem já sabe Java", "Java Web", "JavaScript"), textos("java"));
+        Assertions.assertEquals(2, index.suggest("java", 2).size());
+    }
+
+    private CourseJPA curso(Long id, String titulo, boolean publicado) {
+        CourseJPA curso = new CourseJPA(titulo, "Descrição", null, publicado, null, null);
+        ReflectionTestUtils.setField(curso, "id", id);
+        return curso;
+    }
+}
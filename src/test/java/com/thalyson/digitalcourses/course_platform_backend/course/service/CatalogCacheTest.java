@@ -0,0 +1,118 @@
+package com.thalyson.digitalcourses.course_platform_backend.course.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.config.CacheConfig;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.ModuleRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.CatalogCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogCacheTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private ModuleRepository moduleRepository;
+
+    private CacheManager cacheManager;
+    private CatalogCache catalogCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CacheConfig().cacheManager(true, new MockEnvironment());
+        catalogCache = new CatalogCache();
+        ReflectionTestUtils.setField(catalogCache, "enabled", true);
+        ReflectionTestUtils.setField(catalogCache, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(catalogCache, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(catalogCache, "moduleRepository", moduleRepository);
+    }
+
+    private Cache cache(String region) {
+        return cacheManager.getCache(region);
+    }
+
+    @Test
+    @DisplayName("Alterar um curso deve invalidar o curso, seus módulos e as aulas desses módulos")
+    void deveInvalidarCursoEmCascata() {
+        cache(CacheConfig.COURSES).put(1L, "curso 1");
+        cache(CacheConfig.COURSES).put(2L, "curso 2");
+        cache(CacheConfig.COURSE_MODULES).put(1L, List.of());
+        cache(CacheConfig.MODULE_LESSONS).put(10L, List.of());
+        cache(CacheConfig.MODULE_LESSONS).put(20L, List.of());
+        cache(CacheConfig.COURSE_OUTLINES).put(1L, "estrutura");
+        when(moduleRepository.findIdsByCourseId(1L)).thenReturn(List.of(10L));
+
+        catalogCache.evictCourse(1L);
+
+        Assertions.assertNull(cache(CacheConfig.COURSES).get(1L));
+        Assertions.assertNull(cache(CacheConfig.COURSE_MODULES).get(1L));
+        Assertions.assertNull(cache(CacheConfig.MODULE_LESSONS).get(10L));
+        Assertions.assertNull(cache(CacheConfig.COURSE_OUTLINES).get(1L));
+        Assertions.assertNotNull(cache(CacheConfig.COURSES).get(2L));
+        Assertions.assertNotNull(cache(CacheConfig.MODULE_LESSONS).get(20L));
+    }
+
+    @Test
+    @DisplayName("Alterar uma categoria deve invalidar a lista de categorias e apenas os cursos dela")
+    void deveInvalidarCategoriaECursosDaCategoria() {
+        cache(CacheConfig.CATEGORIES).put(SimpleKey.EMPTY, List.of());
+        cache(CacheConfig.COURSES).put(1L, "curso da categoria");
+        cache(CacheConfig.COURSES).put(2L, "curso de outra categoria");
+        when(courseRepository.findIdsByCategoryId(5)).thenReturn(List.of(1L));
+
+        catalogCache.evictCategory(5);
+
+        Assertions.assertNull(cache(CacheConfig.CATEGORIES).get(SimpleKey.EMPTY));
+        Assertions.assertNull(cache(CacheConfig.COURSES).get(1L));
+        Assertions.assertNotNull(cache(CacheConfig.COURSES).get(2L));
+    }
+
+    @Test
+    @DisplayName("Alterar uma aula deve invalidar as aulas do módulo e a estrutura do curso, mas não os módulos")
+    void deveInvalidarSomenteAulasDoModulo() {
+        cache(CacheConfig.COURSE_MODULES).put(1L, List.of());
+        cache(CacheConfig.MODULE_LESSONS).put(10L, List.of());
+        cache(CacheConfig.COURSE_OUTLINES).put(1L, "estrutura");
+
+        catalogCache.evictLessons(1L, 10L);
+
+        Assertions.assertNull(cache(CacheConfig.MODULE_LESSONS).get(10L));
+        Assertions.assertNull(cache(CacheConfig.COURSE_OUTLINES).get(1L));
+        Assertions.assertNotNull(cache(CacheConfig.COURSE_MODULES).get(1L));
+        verifyNoInteractions(courseRepository, moduleRepository);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o tamanho máximo configurado por região")
+    void deveLimitarTamanhoPorRegiao() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("api.cache.courses.max-size", "2");
+        CacheManager limited = new CacheConfig().cacheManager(true, environment);
+        com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache =
+                (com.github.benmanes.caffeine.cache.Cache<?, ?>) limited.getCache(CacheConfig.COURSES).getNativeCache();
+
+        for (long id = 1; id <= 10; id++) {
+            limited.getCache(CacheConfig.COURSES).put(id, "curso " + id);
+        }
+        nativeCache.cleanUp();
+
+        Assertions.assertTrue(nativeCache.estimatedSize() <= 2);
+        Assertions.assertTrue(nativeCache.policy().isRecordingStats());
+    }
+}
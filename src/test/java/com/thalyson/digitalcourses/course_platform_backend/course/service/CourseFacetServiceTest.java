@@ -0,0 +1,74 @@
+package com.thalyson.digitalcourses.course_platform_backend.course.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosContagemFaceta;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosFacetasCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosFiltroCourse;
+import com.thalyson.digitalcourses.course_platform_backend.model.CategoryJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.CourseFacetService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourseFacetServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @InjectMocks
+    private CourseFacetService courseFacetService;
+
+    private CourseJPA curso(Integer categoriaId, Long instrutorId, Boolean publicado) {
+        UserJPA instrutor = new UserJPA();
+        instrutor.setId(instrutorId);
+        CategoryJPA categoria = new CategoryJPA();
+        categoria.setId(categoriaId);
+        return new CourseJPA("Curso", "Descrição", null, publicado, instrutor, categoria);
+    }
+
+    @Test
+    @DisplayName("Deve mover a contagem entre combinações, sempre na mesma ordem de chave")
+    void deveMoverContagemEntreCombinacoes() {
+        CourseFacetService.FacetKey antes = courseFacetService.keyOf(curso(2, 10L, null));
+
+        courseFacetService.courseChanged(antes, curso(1, 10L, true));
+
+        InOrder ordem = inOrder(courseRepository);
+        ordem.verify(courseRepository).adjustFacetCount(1, 10L, true, 1);
+        ordem.verify(courseRepository).adjustFacetCount(2, 10L, false, -1);
+    }
+
+    @Test
+    @DisplayName("Não deve tocar nas contagens quando a combinação do curso não muda")
+    void naoDeveAjustarSemMudancaDeCombinacao() {
+        CourseJPA curso = curso(1, 10L, true);
+        CourseFacetService.FacetKey antes = courseFacetService.keyOf(curso);
+        curso.setTitle("Outro título");
+
+        courseFacetService.courseChanged(antes, curso);
+
+        verifyNoInteractions(courseRepository);
+    }
+
+    @Test
+    @DisplayName("Deve deduzir o total da faceta de publicação")
+    void deveDeduzirTotalDaFacetaDePublicacao() {
+        DadosFacetasCourse facetas = new DadosFacetasCourse(List.of(), List.of(),
+                List.of(new DadosContagemFaceta("true", "Publicado", 3), new DadosContagemFaceta("false", "Não publicado", 5)));
+
+        Assertions.assertEquals(8, courseFacetService.total(new DadosFiltroCourse(null, null, null), facetas));
+        Assertions.assertEquals(5, courseFacetService.total(new DadosFiltroCourse(1, null, false), facetas));
+    }
+}
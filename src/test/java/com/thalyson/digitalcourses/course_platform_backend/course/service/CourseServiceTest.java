@@ -2,12 +2,31 @@ package com.thalyson.digitalcourses.course_platform_backend.course.service;
 
 import com.thalyson.digitalcourses.course_platform_backend.model.CategoryJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.CategoryRepository;
+import com.thalyson.digitalcourses.course_platform_backend.dto.CourseCursor;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoCourse;
 import com.thalyson.digitalcourses.course_platform_backend.dto.DadosCadastroCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosContagemFaceta;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosDetalhamentoCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosFacetasCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosFiltroCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosNavegacaoCourse;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosPaginaCursor;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosOutlineCourse;
+import com.thalyson.digitalcourses.course_platform_backend.model.LessonJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.ModuleJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.ModuleRepository;
 import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
 import com.thalyson.digitalcourses.course_platform_backend.exception.ResourceNotFoundException;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import com.thalyson.digitalcourses.course_platform_backend.service.AuthorizationService;
+import com.thalyson.digitalcourses.course_platform_backend.service.AutocompleteIndex;
+import com.thalyson.digitalcourses.course_platform_backend.service.CatalogCache;
+import com.thalyson.digitalcourses.course_platform_backend.service.CategorySummarySnapshot;
+import com.thalyson.digitalcourses.course_platform_backend.service.CourseFacetService;
 import com.thalyson.digitalcourses.course_platform_backend.service.CourseService;
+import com.thalyson.digitalcourses.course_platform_backend.service.OwnershipService;
+import com.thalyson.digitalcourses.course_platform_backend.repository.SparseProjectionRepository;
 import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -15,8 +34,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -31,6 +63,22 @@ class CourseServiceTest {
     private UserRepository userRepository;
     @Mock
     private CategoryRepository categoryRepository;
+    @Spy
+    private AuthorizationService authorizationService;
+    @Mock
+    private OwnershipService ownershipService;
+    @Mock
+    private ModuleRepository moduleRepository;
+    @Mock
+    private CatalogCache catalogCache;
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+    @Mock
+    private CourseFacetService courseFacetService;
+    @Mock
+    private SparseProjectionRepository sparseProjectionRepository;
+    @Mock
+    private CategorySummarySnapshot categorySummarySnapshot;
 
     @InjectMocks
     private CourseService courseService;
@@ -87,4 +135,210 @@ class CourseServiceTest {
 
         verify(courseRepository, never()).save(any(CourseJPA.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve montar a estrutura do curso agrupando as aulas por módulo, incluindo módulos sem aulas")
+    void deveMontarOutlineAgrupandoAulasPorModulo() {
+        UserJPA instrutor = new UserJPA();
+        instrutor.setId(1L);
+        CategoryJPA categoria = new CategoryJPA();
+        categoria.setId(1);
+        CourseJPA curso = new CourseJPA("Curso", "Descrição", null, true, instrutor, categoria);
+
+        ModuleJPA modulo1 = new ModuleJPA(curso, "Módulo 1", "Primeiro", 1);
+        ReflectionTestUtils.setField(modulo1, "id", 10L);
+        ModuleJPA modulo2 = new ModuleJPA(curso, "Módulo 2", "Sem aulas", 2);
+        ReflectionTestUtils.setField(modulo2, "id", 20L);
+        LessonJPA aula1 = new LessonJPA(modulo1, "Aula 1", "Descrição", "https://www.youtube.com/watch?v=aaaaaaaaaaa", 60, 1);
+        LessonJPA aula2 = new LessonJPA(modulo1, "Aula 2", "Descrição", "https://www.youtube.com/watch?v=bbbbbbbbbbb", 90, 2);
+
+        when(courseRepository.findWithInstructorAndCategoryById(5L)).thenReturn(Optional.of(curso));
+        when(moduleRepository.findOutlineRowsByCourseId(5L)).thenReturn(List.of(
+                new Object[]{modulo1, aula1},
+                new Object[]{modulo1, aula2},
+                new Object[]{modulo2, null}));
+
+        DadosOutlineCourse outline = courseService.findOutline(5L).orElseThrow();
+
+        Assertions.assertEquals("Curso", outline.course().title());
+        Assertions.assertEquals(2, outline.modules().size());
+        Assertions.assertEquals(List.of("Aula 1", "Aula 2"),
+                outline.modules().get(0).lessons().stream().map(l -> l.title()).toList());
+        Assertions.assertTrue(outline.modules().get(1).lessons().isEmpty());
+    }
+
+    private CourseJPA cursoComId(String titulo, Long id) {
+        UserJPA instrutor = new UserJPA();
+        instrutor.setId(1L);
+        CategoryJPA categoria = new CategoryJPA();
+        categoria.setId(1);
+        CourseJPA curso = new CourseJPA(titulo, "Descrição", null, true, instrutor, categoria);
+        ReflectionTestUtils.setField(curso, "id", id);
+        return curso;
+    }
+
+    @Test
+    @DisplayName("Deve devolver o cursor do último item quando houver próxima página, sem contar o total")
+    void deveDevolverCursorQuandoHouverProximaPagina() {
+        when(courseRepository.findFirstOrderByTitleAndId(Limit.of(3))).thenReturn(List.of(
+                cursoComId("Angular", 3L), cursoComId("Java", 1L), cursoComId("Python", 2L)));
+
+        DadosPaginaCursor<DadosDetalhamentoCourse> pagina = courseService.findAllByCursor(null, 2, false);
+
+        Assertions.assertEquals(2, pagina.content().size());
+        Assertions.assertEquals(new CourseCursor("Java", 1L), CourseCursor.decode(pagina.nextCursor()));
+        Assertions.assertNull(pagina.totalElements());
+        verify(courseRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Deve continuar a partir do cursor e omitir o próximo cursor na última página")
+    void deveContinuarAPartirDoCursor() {
+        String cursor = new CourseCursor("Java: Módulo 1", 1L).encode();
+        when(courseRepository.findAfterOrderByTitleAndId("Java: Módulo 1", 1L, Limit.of(3)))
+                .thenReturn(List.of(cursoComId("Python", 2L)));
+        when(courseRepository.count()).thenReturn(3L);
+
+        DadosPaginaCursor<DadosDetalhamentoCourse> pagina = courseService.findAllByCursor(cursor, 2, true);
+
+        Assertions.assertEquals(1, pagina.content().size());
+        Assertions.assertNull(pagina.nextCursor());
+        Assertions.assertEquals(3L, pagina.totalElements());
+    }
+
+    @Test
+    @DisplayName("Deve recusar um cursor malformado")
+    void deveRecusarCursorMalformado() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> courseService.findAllByCursor("não-é-base64!", 10, false));
+    }
+
+    private CourseRepository.SearchHit resultado(Long id, float rank) {
+        return new CourseRepository.SearchHit() {
+            public Long getId() { return id; }
+            public Float getRank() { return rank; }
+        };
+    }
+
+    @Test
+    @DisplayName("Deve manter a ordem de relevância da busca e devolver o cursor com a relevância do último item")
+    void deveManterOrdemDeRelevanciaNaBusca() {
+        when(courseRepository.search("spring", 0, Float.MAX_VALUE, Long.MAX_VALUE, 3)).thenReturn(List.of(
+                resultado(7L, 0.9f), resultado(3L, 0.5f), resultado(9L, 0.1f)));
+        when(courseRepository.findAllWithInstructorAndCategoryByIdIn(List.of(7L, 3L)))
+                .thenReturn(List.of(cursoComId("Spring Data", 3L), cursoComId("Spring Boot", 7L)));
+
+        DadosPaginaCursor<DadosDetalhamentoCourse> pagina = courseService.search("  spring ", null, null, 2);
+
+        Assertions.assertEquals(List.of(7L, 3L), pagina.content().stream().map(DadosDetalhamentoCourse::id).toList());
+        CourseCursor cursor = CourseCursor.decode(pagina.nextCursor());
+        Assertions.assertEquals(0.5f, cursor.sortKeyAsFloat());
+        Assertions.assertEquals(3L, cursor.id());
+    }
+
+    @Test
+    @DisplayName("Deve recusar uma busca sem termo")
+    void deveRecusarBuscaSemTermo() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> courseService.search("  ", null, null, 10));
+        verifyNoInteractions(courseRepository);
+    }
+
+    @Test
+    @DisplayName("Deve usar o total das facetas e não consultar cursos depois da última página")
+    void deveNavegarComTotalDasFacetas() {
+        DadosFiltroCourse filtro = new DadosFiltroCourse(1, null, true);
+        DadosFacetasCourse facetas = new DadosFacetasCourse(List.of(), List.of(),
+                List.of(new DadosContagemFaceta("true", "Publicado", 3), new DadosContagemFaceta("false", "Não publicado", 5)));
+        when(courseFacetService.findFacets(filtro)).thenReturn(facetas);
+        when(courseFacetService.total(filtro, facetas)).thenReturn(3L);
+        when(courseRepository.findFiltered(filtro, 2, 2)).thenReturn(List.of(cursoComId("Spring Boot", 7L)));
+
+        DadosNavegacaoCourse pagina = courseService.browse(filtro, 1, 2);
+
+        Assertions.assertEquals(List.of(7L), pagina.content().stream().map(DadosDetalhamentoCourse::id).toList());
+        Assertions.assertEquals(3L, pagina.totalElements());
+        Assertions.assertEquals(2, pagina.totalPages());
+        Assertions.assertSame(facetas, pagina.facets());
+
+        Assertions.assertTrue(courseService.browse(filtro, 2, 2).content().isEmpty());
+        verify(courseRepository, never()).findFiltered(filtro, 4, 2);
+        verify(courseRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Deve listar só as colunas pedidas sem carregar instrutor e categoria")
+    void deveListarSoColunasPedidas() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("title"));
+        Map<String, Object> linha = Map.of("id", 7L, "title", "Spring Boot");
+        when(sparseProjectionRepository.select("CourseJPA", List.of("id", "title"), null, Map.of(),
+                List.of("e.title", "e.id"), 0, 10)).thenReturn(List.of(linha));
+
+        Page<Map<String, Object>> pagina = courseService.findAllSparse(pageable, "id, title");
+
+        Assertions.assertEquals(List.of(linha), pagina.getContent());
+        Assertions.assertEquals(1, pagina.getTotalElements());
+        verify(courseRepository, never()).findAllWithInstructorAndCategory(any());
+    }
+
+    @Test
+    @DisplayName("Deve recortar o curso completo quando fields pede uma associação")
+    void deveRecortarCursoQuandoPedeAssociacao() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(courseRepository.findAllWithInstructorAndCategory(pageable))
+                .thenReturn(new PageImpl<>(List.of(cursoComId("Spring Boot", 7L)), pageable, 1));
+
+        Map<String, Object> curso = courseService.findAllSparse(pageable, "category,id").getContent().get(0);
+
+        Assertions.assertEquals(List.of("category", "id"), List.copyOf(curso.keySet()));
+        Assertions.assertEquals(7L, curso.get("id"));
+        verifyNoInteractions(sparseProjectionRepository);
+    }
+
+    @Test
+    @DisplayName("Deve recusar campo ou ordenação desconhecidos em fields")
+    void deveRecusarCampoDesconhecido() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> courseService.findAllSparse(PageRequest.of(0, 10), "id,password"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> courseService.findAllSparse(PageRequest.of(0, 10, Sort.by("instructor.email")), "id,title"));
+        verifyNoInteractions(sparseProjectionRepository);
+    }
+
+    @Test
+    @DisplayName("Deve recortar os cursos da listagem por cursor nos campos pedidos e manter o próximo cursor")
+    void deveRecortarListagemPorCursor() {
+        when(courseRepository.findFirstOrderByTitleAndId(Limit.of(2))).thenReturn(List.of(
+                cursoComId("Java", 1L), cursoComId("Python", 2L)));
+
+        DadosPaginaCursor<Map<String, Object>> pagina = courseService.findAllByCursorSparse(null, 1, false, "id,title");
+
+        Assertions.assertEquals(List.of(Map.of("id", 1L, "title", "Java")), pagina.content());
+        Assertions.assertEquals(new CourseCursor("Java", 1L), CourseCursor.decode(pagina.nextCursor()));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> courseService.findAllByCursorSparse(null, 1, false, "id,password"));
+    }
+
+    @Test
+    @DisplayName("Deve fazer um único EXISTS de posse para o @PreAuthorize e a checagem do serviço no PUT do curso")
+    void deveCompartilharChecagemDePosseNaRequisicao() {
+        OwnershipService posse = new OwnershipService();
+        ReflectionTestUtils.setField(posse, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(courseService, "ownershipService", posse);
+        UserJPA instrutor = new UserJPA();
+        instrutor.setId(1L);
+        CourseJPA curso = cursoComId("Spring Boot", 7L);
+        when(courseRepository.findById(7L)).thenReturn(Optional.of(curso));
+        when(courseRepository.existsByIdAndInstructorId(7L, 1L)).thenReturn(true);
+        when(courseRepository.save(curso)).thenReturn(curso);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            // A expressão do @PreAuthorize do PUT /courses/{id}, seguida do próprio serviço.
+            Assertions.assertTrue(courseService.isInstructorOfCourse(7L, instrutor));
+            courseService.update(7L, new DadosAtualizacaoCourse("Spring Boot", "Descrição", null, true, null, null), instrutor);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        verify(courseRepository, times(1)).existsByIdAndInstructorId(7L, 1L);
+    }
+}
@@ -15,6 +15,8 @@ import com.thalyson.digitalcourses.course_platform_backend.model.RoleJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.RoleRepository;
 import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
 import com.thalyson.digitalcourses.course_platform_backend.repository.UserRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.EnrollmentProgressService;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -76,6 +78,7 @@ class EnrollmentControllerE2ETest {
     @Autowired private RoleRepository roleRepository;
     @Autowired private EnrollmentRepository enrollmentRepository;
     @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private EnrollmentProgressService enrollmentProgressService;
 
     private UserJPA studentUser1, studentUser2, instructorUser, adminUser;
     private CourseJPA course;
@@ -106,6 +109,8 @@ class EnrollmentControllerE2ETest {
         course = courseRepository.saveAndFlush(new CourseJPA("Curso de Teste", "Desc", "url", true, instructorUser, category));
         ModuleJPA module = moduleRepository.saveAndFlush(new ModuleJPA(course, "Módulo 1", "Desc", 1));
         lesson = lessonRepository.saveAndFlush(new LessonJPA(module, "Aula 1", "Desc", "url", 300, 1));
+        // As aulas acima foram gravadas direto no repositório, sem passar pelo LessonService.
+        enrollmentProgressService.recount();
 
         studentToken1 = getJwtToken("aluno1@test.com", "123");
         studentToken2 = getJwtToken("aluno2@test.com", "123");
@@ -189,6 +194,37 @@ class EnrollmentControllerE2ETest {
                     .andExpect(status().isOk());
         }
 
+        @Test
+        @DisplayName("Deve contar cada aula uma única vez e concluir o curso ao completar todas as aulas")
+        void deveContarAulaUmaUnicaVez() throws Exception {
+            ModuleJPA module = moduleRepository.findAll().get(0);
+            LessonJPA secondLesson = lessonRepository.saveAndFlush(new LessonJPA(module, "Aula 2", "Desc", "url2", 300, 2));
+            enrollmentProgressService.recount();
+            EnrollmentJPA enrollment = createEnrollment(studentUser1, course);
+
+            for (int i = 0; i < 2; i++) {
+                mockMvc.perform(put("/enrollments/{enrollmentId}/progress", enrollment.getId())
+                                .header("Authorization", "Bearer " + studentToken1)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(String.format("{\"lessonId\":%d}", lesson.getId())))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.progressPercentage").value(50.0))
+                        .andExpect(jsonPath("$.completionStatus").value("IN_PROGRESS"));
+            }
+
+            mockMvc.perform(put("/enrollments/{enrollmentId}/progress", enrollment.getId())
+                            .header("Authorization", "Bearer " + studentToken1)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(String.format("{\"lessonId\":%d}", secondLesson.getId())))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.progressPercentage").value(100.0))
+                    .andExpect(jsonPath("$.completionStatus").value("COMPLETED"))
+                    .andExpect(jsonPath("$.completedLessonsIds", hasSize(2)))
+                    .andExpect(jsonPath("$.lastWatchedLesson.id").value(secondLesson.getId()));
+
+            Assertions.assertEquals(2, enrollmentRepository.findById(enrollment.getId()).orElseThrow().getCompletedCount());
+        }
+
         @Test
         @DisplayName("Deve retornar 403 ao tentar atualizar progresso de outro aluno")
         void naoDeveAtualizarProgressoDeOutroAluno() throws Exception {
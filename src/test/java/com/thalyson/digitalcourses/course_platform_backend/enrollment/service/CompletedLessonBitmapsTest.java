@@ -0,0 +1,124 @@
+package com.thalyson.digitalcourses.course_platform_backend.enrollment.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.model.LessonBitmap;
+import com.thalyson.digitalcourses.course_platform_backend.repository.EnrollmentRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.LessonRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.CompletedLessonBitmaps;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompletedLessonBitmapsTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @InjectMocks
+    private CompletedLessonBitmaps completedLessonBitmaps;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(completedLessonBitmaps, "enabled", true);
+    }
+
+    private EnrollmentRepository.CompletedLessonsRow linha(Long matricula, LessonBitmap bitmap, Integer contador) {
+        EnrollmentRepository.CompletedLessonsRow linha = mock(EnrollmentRepository.CompletedLessonsRow.class);
+        lenient().when(linha.getId()).thenReturn(matricula);
+        when(linha.getCompletedLessons()).thenReturn(bitmap.toBytes());
+        lenient().when(linha.getCompletedCount()).thenReturn(contador);
+        return linha;
+    }
+
+    private LessonRepository.LessonPosition aula(Long id, Integer posicao) {
+        LessonRepository.LessonPosition aula = mock(LessonRepository.LessonPosition.class);
+        when(aula.getId()).thenReturn(id);
+        when(aula.getCourseOrdinal()).thenReturn(posicao);
+        return aula;
+    }
+
+    @Test
+    @DisplayName("Não deve marcar no bitmap a posição de uma aula já excluída")
+    void naoDeveMarcarPosicaoSemAula() {
+        EnrollmentRepository.CompletedLessonsRow linha = linha(1L, LessonBitmap.of(0), 1);
+        when(enrollmentRepository.lockCompletedLessons(1L)).thenReturn(Optional.of(linha));
+        when(lessonRepository.lockExistingCourseOrdinals(1L, List.of(1, 2))).thenReturn(List.of(1));
+
+        Assertions.assertEquals(1, completedLessonBitmaps.record(1L, new int[]{1, 2}));
+
+        ArgumentCaptor<byte[]> gravado = ArgumentCaptor.forClass(byte[].class);
+        verify(enrollmentRepository).storeCompletedLessons(eq(1L), gravado.capture(), eq(2));
+        Assertions.assertArrayEquals(new int[]{0, 1}, LessonBitmap.fromBytes(gravado.getValue()).toArray());
+    }
+
+    @Test
+    @DisplayName("Deve juntar ao bitmap as linhas gravadas na tabela enquanto o modo esteve desligado")
+    void deveJuntarLinhasDaTabelaAoBitmap() {
+        // A aula 0 está no bitmap e na tabela: o contador a somou duas vezes.
+        EnrollmentRepository.CompletedLessonsRow linha = linha(1L, LessonBitmap.of(0), 3);
+        when(enrollmentRepository.lockCompletedLessons(1L)).thenReturn(Optional.of(linha));
+        when(enrollmentRepository.findCompletedOrdinalsInTable(1L)).thenReturn(List.of(0, 1));
+        when(lessonRepository.lockExistingCourseOrdinals(1L, List.of(2))).thenReturn(List.of(2));
+
+        Assertions.assertEquals(1, completedLessonBitmaps.record(1L, new int[]{2}));
+
+        ArgumentCaptor<byte[]> gravado = ArgumentCaptor.forClass(byte[].class);
+        verify(enrollmentRepository).storeCompletedLessons(eq(1L), any(), eq(2));
+        verify(enrollmentRepository).storeCompletedLessons(eq(1L), gravado.capture(), eq(3));
+        Assertions.assertArrayEquals(new int[]{0, 1, 2}, LessonBitmap.fromBytes(gravado.getValue()).toArray());
+        verify(enrollmentRepository).deleteCompletedLessonRows(1L);
+    }
+
+    @Test
+    @DisplayName("Deve reconciliar as matrículas convertidas também com o modo desligado")
+    void deveReconciliarComModoDesligado() {
+        ReflectionTestUtils.setField(completedLessonBitmaps, "enabled", false);
+        EnrollmentRepository.CompletedLessonsRow linha = linha(1L, LessonBitmap.of(0), 2);
+        when(enrollmentRepository.findConvertedWithCompletionsInTable()).thenReturn(List.of(1L));
+        when(enrollmentRepository.lockCompletedLessons(1L)).thenReturn(Optional.of(linha));
+        when(enrollmentRepository.findCompletedOrdinalsInTable(1L)).thenReturn(List.of(0));
+
+        Assertions.assertEquals(1, completedLessonBitmaps.reconcile());
+
+        verify(enrollmentRepository).storeCompletedLessons(eq(1L), any(), eq(1));
+        verify(enrollmentRepository).deleteCompletedLessonRows(1L);
+    }
+
+    @Test
+    @DisplayName("Deve tirar dos bitmaps as posições sem aula e acertar o contador pela cardinalidade")
+    void deveReconciliarBitmaps() {
+        EnrollmentRepository.CompletedLessonsRow comPosicaoMorta = linha(1L, LessonBitmap.of(0, 3), 2);
+        EnrollmentRepository.CompletedLessonsRow contadorErrado = linha(2L, LessonBitmap.of(0, 1), 5);
+        EnrollmentRepository.CompletedLessonsRow correta = linha(3L, LessonBitmap.of(1), 1);
+        List<LessonRepository.LessonPosition> aulas = List.of(aula(10L, 0), aula(11L, 1));
+        when(enrollmentRepository.findCourseIdsWithCompletedLessons()).thenReturn(List.of(7L));
+        when(enrollmentRepository.lockCompletedLessonsByCourse(7L)).thenReturn(List.of(comPosicaoMorta, contadorErrado, correta));
+        when(lessonRepository.findPositionsByCourseId(7L)).thenReturn(aulas);
+
+        Assertions.assertEquals(2, completedLessonBitmaps.reconcile());
+
+        ArgumentCaptor<byte[]> gravado = ArgumentCaptor.forClass(byte[].class);
+        verify(enrollmentRepository).storeCompletedLessons(eq(1L), gravado.capture(), eq(1));
+        Assertions.assertArrayEquals(new int[]{0}, LessonBitmap.fromBytes(gravado.getValue()).toArray());
+        verify(enrollmentRepository).storeCompletedLessons(eq(2L), any(), eq(2));
+        verify(enrollmentRepository, never()).storeCompletedLessons(eq(3L), any(), anyInt());
+    }
+}
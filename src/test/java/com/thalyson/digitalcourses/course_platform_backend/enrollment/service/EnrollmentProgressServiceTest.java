@@ -0,0 +1,158 @@
+package com.thalyson.digitalcourses.course_platform_backend.enrollment.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.model.LessonBitmap;
+import com.thalyson.digitalcourses.course_platform_backend.model.LessonJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.CourseRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.EnrollmentRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.LessonRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.CompletedLessonBitmaps;
+import com.thalyson.digitalcourses.course_platform_backend.service.EnrollmentProgressService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentProgressServiceTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private CompletedLessonBitmaps completedLessonBitmaps;
+
+    @InjectMocks
+    private EnrollmentProgressService enrollmentProgressService;
+
+    @Test
+    @DisplayName("Deve somar no contador só na primeira conclusão da aula")
+    void deveSomarSoNaPrimeiraConclusao() {
+        when(enrollmentRepository.insertCompletedLesson(1L, 7L)).thenReturn(1).thenReturn(0);
+
+        Assertions.assertTrue(enrollmentProgressService.recordCompletion(1L, 7L, 0));
+        Assertions.assertFalse(enrollmentProgressService.recordCompletion(1L, 7L, 0));
+
+        verify(enrollmentRepository, times(1)).incrementCompletedCount(1L);
+        verify(enrollmentRepository, times(2)).updateProgressAndLastWatched(eq(1L), eq(7L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Deve gravar a conclusão no bitmap, sem tocar na tabela, quando o modo estiver ligado")
+    void deveGravarNoBitmap() {
+        when(completedLessonBitmaps.usingBitmap(List.of(1L))).thenReturn(Set.of(1L));
+        when(completedLessonBitmaps.record(1L, 4)).thenReturn(true);
+
+        Assertions.assertTrue(enrollmentProgressService.recordCompletion(1L, 7L, 4));
+
+        verify(enrollmentRepository, never()).insertCompletedLesson(anyLong(), anyLong());
+        verify(enrollmentRepository, never()).incrementCompletedCount(anyLong());
+        verify(enrollmentRepository).updateProgressAndLastWatched(eq(1L), eq(7L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Deve seguir no bitmap com o modo desligado e contar cada aula uma vez ao religar")
+    void deveSeguirNoBitmapAoDesligarEReligar() {
+        CompletedLessonBitmaps bitmaps = new CompletedLessonBitmaps();
+        ReflectionTestUtils.setField(bitmaps, "enrollmentRepository", enrollmentRepository);
+        ReflectionTestUtils.setField(bitmaps, "lessonRepository", lessonRepository);
+        ReflectionTestUtils.setField(enrollmentProgressService, "completedLessonBitmaps", bitmaps);
+        // Matrícula 1, convertida com a aula de posição 0 concluída.
+        AtomicReference<byte[]> bitmap = new AtomicReference<>(LessonBitmap.of(0).toBytes());
+        AtomicInteger contador = new AtomicInteger(1);
+        when(enrollmentRepository.lockCompletedLessons(1L)).thenAnswer(invocation -> Optional.of(linha(bitmap.get(), contador.get())));
+        doAnswer(invocation -> {
+            bitmap.set(invocation.getArgument(1));
+            contador.set(invocation.getArgument(2));
+            return null;
+        }).when(enrollmentRepository).storeCompletedLessons(eq(1L), any(), anyInt());
+        when(enrollmentRepository.findConvertedIds(List.of(1L))).thenReturn(List.of(1L));
+        when(lessonRepository.lockExistingCourseOrdinals(eq(1L), any())).thenAnswer(invocation -> invocation.getArgument(1));
+
+        ReflectionTestUtils.setField(bitmaps, "enabled", false);
+        Assertions.assertFalse(enrollmentProgressService.recordCompletion(1L, 10L, 0));
+        Assertions.assertTrue(enrollmentProgressService.recordCompletion(1L, 11L, 1));
+
+        ReflectionTestUtils.setField(bitmaps, "enabled", true);
+        Assertions.assertFalse(enrollmentProgressService.recordCompletion(1L, 11L, 1));
+        Assertions.assertTrue(enrollmentProgressService.recordCompletion(1L, 12L, 2));
+
+        Assertions.assertArrayEquals(new int[]{0, 1, 2}, LessonBitmap.fromBytes(bitmap.get()).toArray());
+        Assertions.assertEquals(3, contador.get());
+        verify(enrollmentRepository, never()).insertCompletedLesson(anyLong(), anyLong());
+        verify(enrollmentRepository, never()).incrementCompletedCount(anyLong());
+    }
+
+    private static EnrollmentRepository.CompletedLessonsRow linha(byte[] bitmap, int contador) {
+        return new EnrollmentRepository.CompletedLessonsRow() {
+            public Long getId() {
+                return 1L;
+            }
+
+            public byte[] getCompletedLessons() {
+                return bitmap;
+            }
+
+            public Integer getCompletedCount() {
+                return contador;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Deve descontar as conclusões e o total de aulas antes de recalcular o progresso do curso")
+    void deveDescontarAntesDeRecalcular() {
+        LessonJPA aula = new LessonJPA();
+        ReflectionTestUtils.setField(aula, "id", 7L);
+        aula.setCourseOrdinal(2);
+        when(lessonRepository.findCourseOrdinalsByModuleId(5L)).thenReturn(List.of(0, 1));
+
+        enrollmentProgressService.lessonRemoved(3L, aula);
+        enrollmentProgressService.moduleRemoved(3L, 5L);
+
+        InOrder ordem = inOrder(enrollmentRepository, courseRepository, completedLessonBitmaps);
+        ordem.verify(enrollmentRepository).discountCompletedLesson(7L);
+        ordem.verify(completedLessonBitmaps).clear(3L, new int[]{2});
+        ordem.verify(courseRepository).adjustLessonCount(3L, -1);
+        ordem.verify(enrollmentRepository).refreshProgress(3L);
+        ordem.verify(enrollmentRepository).discountCompletedLessonsOfModule(5L);
+        ordem.verify(completedLessonBitmaps).clear(3L, new int[]{0, 1});
+        ordem.verify(courseRepository).subtractModuleLessons(3L, 5L);
+        ordem.verify(enrollmentRepository).refreshProgress(3L);
+    }
+
+    @Test
+    @DisplayName("Deve recontar aulas e conclusões e recalcular o progresso de todas as matrículas")
+    void deveRecontarTudo() {
+        enrollmentProgressService.recount();
+
+        verify(lessonRepository).assignMissingCourseOrdinals();
+        verify(courseRepository).recountLessonCounts();
+        verify(enrollmentRepository).recountCompletedCounts();
+        verify(completedLessonBitmaps).reconcile();
+        verify(enrollmentRepository).refreshProgress(0L);
+        verify(enrollmentRepository, never()).discountCompletedLesson(anyLong());
+    }
+}
@@ -0,0 +1,104 @@
+package com.thalyson.digitalcourses.course_platform_backend.enrollment.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosConclusaoLesson;
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosSincronizacaoProgress;
+import com.thalyson.digitalcourses.course_platform_backend.exception.ResourceNotFoundException;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.EnrollmentRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.AuthorizationService;
+import com.thalyson.digitalcourses.course_platform_backend.service.CompletedLessonBitmaps;
+import com.thalyson.digitalcourses.course_platform_backend.service.EnrollmentProgressService;
+import com.thalyson.digitalcourses.course_platform_backend.service.EnrollmentService;
+import com.thalyson.digitalcourses.course_platform_backend.service.ProgressWriteBehind;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentServiceTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private AuthorizationService authorizationService;
+
+    @Mock
+    private EnrollmentProgressService enrollmentProgressService;
+
+    @Mock
+    private CompletedLessonBitmaps completedLessonBitmaps;
+
+    @Mock
+    private ProgressWriteBehind progressWriteBehind;
+
+    @InjectMocks
+    private EnrollmentService enrollmentService;
+
+    private UserJPA aluno;
+
+    @BeforeEach
+    void setup() {
+        aluno = new UserJPA();
+        ReflectionTestUtils.setField(aluno, "id", 5L);
+    }
+
+    private EnrollmentRepository.CompletionTarget alvo(Long matricula, Long aula, Integer posicao) {
+        EnrollmentRepository.CompletionTarget alvo = mock(EnrollmentRepository.CompletionTarget.class);
+        when(alvo.getEnrollmentId()).thenReturn(matricula);
+        lenient().when(alvo.getUserId()).thenReturn(5L);
+        when(alvo.getLessonId()).thenReturn(aula);
+        lenient().when(alvo.getCourseOrdinal()).thenReturn(posicao);
+        return alvo;
+    }
+
+    @Test
+    @DisplayName("Deve validar o lote com uma consulta e gravar as conclusões agrupadas por matrícula")
+    @SuppressWarnings("unchecked")
+    void deveSincronizarAgrupandoPorMatricula() {
+        List<EnrollmentRepository.CompletionTarget> alvos = List.of(alvo(2L, 20L, 0), alvo(1L, 10L, 0), alvo(1L, 11L, 1));
+        when(enrollmentRepository.findCompletionTargets(Set.of(1L, 2L), Set.of(10L, 11L, 20L))).thenReturn(alvos);
+        when(enrollmentRepository.findAllById(any())).thenReturn(List.of());
+
+        enrollmentService.syncProgress(new DadosSincronizacaoProgress(List.of(
+                new DadosConclusaoLesson(2L, 20L),
+                new DadosConclusaoLesson(1L, 11L),
+                new DadosConclusaoLesson(1L, 10L),
+                new DadosConclusaoLesson(1L, 11L))), aluno);
+
+        ArgumentCaptor<Map<Long, ProgressWriteBehind.PendingProgress>> lote = ArgumentCaptor.forClass(Map.class);
+        verify(enrollmentProgressService, times(1)).recordCompletions(lote.capture());
+        Assertions.assertEquals(List.of(1L, 2L), List.copyOf(lote.getValue().keySet()));
+        Assertions.assertEquals(Set.of(10L, 11L), lote.getValue().get(1L).getLessonIds());
+        Assertions.assertEquals(11L, lote.getValue().get(1L).getLastWatchedLessonId());
+        verify(enrollmentRepository, times(1)).findCompletionTargets(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar o lote inteiro quando uma aula não pertence ao curso ou a matrícula não existe")
+    void deveRecusarLoteInvalido() {
+        List<EnrollmentRepository.CompletionTarget> alvos = List.of(alvo(1L, 10L, 0));
+        when(enrollmentRepository.findCompletionTargets(any(), any())).thenReturn(alvos);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> enrollmentService.syncProgress(
+                new DadosSincronizacaoProgress(List.of(new DadosConclusaoLesson(1L, 10L), new DadosConclusaoLesson(1L, 99L))), aluno));
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> enrollmentService.syncProgress(
+                new DadosSincronizacaoProgress(List.of(new DadosConclusaoLesson(1L, 10L), new DadosConclusaoLesson(7L, 10L))), aluno));
+        verify(enrollmentProgressService, never()).recordCompletions(anyMap());
+    }
+}
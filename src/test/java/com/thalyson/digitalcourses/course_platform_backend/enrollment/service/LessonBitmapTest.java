@@ -0,0 +1,69 @@
+package com.thalyson.digitalcourses.course_platform_backend.enrollment.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.model.LessonBitmap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+class LessonBitmapTest {
+
+    @Test
+    @DisplayName("Deve marcar, consultar e desmarcar posições, contando cada uma uma única vez")
+    void deveMarcarEDesmarcar() {
+        LessonBitmap bitmap = LessonBitmap.of(3, 1, 70_000);
+
+        Assertions.assertFalse(bitmap.add(3));
+        Assertions.assertTrue(bitmap.contains(1));
+        Assertions.assertFalse(bitmap.contains(2));
+        Assertions.assertEquals(3, bitmap.cardinality());
+        Assertions.assertArrayEquals(new int[]{1, 3, 70_000}, bitmap.toArray());
+
+        Assertions.assertTrue(bitmap.remove(70_000));
+        Assertions.assertFalse(bitmap.remove(70_000));
+        Assertions.assertArrayEquals(new int[]{1, 3}, bitmap.toArray());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    @Test
+    @DisplayName("Deve ocupar 2 bytes por aula e manter o conteúdo na ida e volta pelos bytes")
+    void deveSerializarCompacto() {
+        LessonBitmap bitmap = new LessonBitmap();
+        for (int i = 0; i < 300; i++) {
+            bitmap.add(i * 2);
+        }
+
+        byte[] bytes = bitmap.toBytes();
+        Assertions.assertEquals(3 + 5 + 300 * 2, bytes.length);
+        Assertions.assertArrayEquals(bitmap.toArray(), LessonBitmap.fromBytes(bytes).toArray());
+        Assertions.assertTrue(LessonBitmap.fromBytes(null).isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> LessonBitmap.fromBytes(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    @Test
+    @DisplayName("Deve trocar de lista para mapa de bits acima de 4096 valores e voltar ao desmarcar")
+    void deveTrocarDeContainer() {
+        LessonBitmap bitmap = new LessonBitmap();
+        BitSet esperado = new BitSet();
+        Random random = new Random(42);
+        for (int i = 0; i < 6000; i++) {
+            int valor = random.nextInt(20_000);
+            Assertions.assertEquals(!esperado.get(valor), bitmap.add(valor));
+            esperado.set(valor);
+        }
+        Assertions.assertEquals(esperado.cardinality(), bitmap.cardinality());
+        Assertions.assertEquals(3 + 5 + 8192, bitmap.toBytes().length);
+
+        LessonBitmap lido = LessonBitmap.fromBytes(bitmap.toBytes());
+        for (int valor = esperado.nextSetBit(0); esperado.cardinality() > 4000; valor = esperado.nextSetBit(valor + 1)) {
+            Assertions.assertTrue(lido.remove(valor));
+            esperado.clear(valor);
+        }
+        Assertions.assertArrayEquals(esperado.stream().toArray(), lido.toArray());
+        Assertions.assertEquals(3 + 5 + 4000 * 2, lido.toBytes().length);
+    }
+}
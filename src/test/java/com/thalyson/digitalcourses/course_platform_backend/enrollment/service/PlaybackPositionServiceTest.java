@@ -0,0 +1,133 @@
+package com.thalyson.digitalcourses.course_platform_backend.enrollment.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.dto.DadosAtualizacaoPlayback;
+import com.thalyson.digitalcourses.course_platform_backend.model.CourseJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.EnrollmentJPA;
+import com.thalyson.digitalcourses.course_platform_backend.model.UserJPA;
+import com.thalyson.digitalcourses.course_platform_backend.repository.LessonRepository;
+import com.thalyson.digitalcourses.course_platform_backend.repository.PlaybackPositionRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.AuthorizationService;
+import com.thalyson.digitalcourses.course_platform_backend.service.EnrollmentProgressService;
+import com.thalyson.digitalcourses.course_platform_backend.service.EnrollmentService;
+import com.thalyson.digitalcourses.course_platform_backend.service.PlaybackPositionService;
+import com.thalyson.digitalcourses.course_platform_backend.service.ProgressWriteBehind;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlaybackPositionServiceTest {
+
+    @Mock
+    private EnrollmentService enrollmentService;
+
+    @Mock
+    private AuthorizationService authorizationService;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private PlaybackPositionRepository playbackPositionRepository;
+
+    @Mock
+    private EnrollmentProgressService enrollmentProgressService;
+
+    @Mock
+    private ProgressWriteBehind progressWriteBehind;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PlaybackPositionService playbackPositionService;
+
+    private UserJPA aluno;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(playbackPositionService, "completionFraction", 0.9);
+        ReflectionTestUtils.setField(playbackPositionService, "idleEvictionMs", 600_000L);
+
+        aluno = new UserJPA();
+        ReflectionTestUtils.setField(aluno, "id", 5L);
+        CourseJPA curso = new CourseJPA();
+        ReflectionTestUtils.setField(curso, "id", 3L);
+        EnrollmentJPA matricula = new EnrollmentJPA(aluno, curso);
+        ReflectionTestUtils.setField(matricula, "id", 1L);
+
+        LessonRepository.LessonPosition aula = mock(LessonRepository.LessonPosition.class);
+        when(aula.getCourseId()).thenReturn(3L);
+        when(aula.getCourseOrdinal()).thenReturn(0);
+        when(aula.getDurationSeconds()).thenReturn(100);
+        when(enrollmentService.findById(1L, aluno)).thenReturn(matricula);
+        when(lessonRepository.findPositionById(10L)).thenReturn(Optional.of(aula));
+    }
+
+    @Test
+    @DisplayName("Deve validar só no primeiro envio e gravar apenas a última posição de cada aula")
+    @SuppressWarnings("unchecked")
+    void deveGuardarUltimaPosicaoEGravarEmLote() {
+        playbackPositionService.report(1L, new DadosAtualizacaoPlayback(10L, 10), aluno);
+        playbackPositionService.report(1L, new DadosAtualizacaoPlayback(10L, 20), aluno);
+        playbackPositionService.report(1L, new DadosAtualizacaoPlayback(10L, 30), aluno);
+
+        verify(enrollmentService, times(1)).findById(1L, aluno);
+        verify(lessonRepository, times(1)).findPositionById(10L);
+
+        playbackPositionService.flush();
+        playbackPositionService.flush();
+
+        ArgumentCaptor<List<PlaybackPositionRepository.PlaybackPosition>> gravadas = ArgumentCaptor.forClass(List.class);
+        verify(playbackPositionRepository, times(1)).upsertAll(gravadas.capture());
+        Assertions.assertEquals(1, gravadas.getValue().size());
+        Assertions.assertEquals(30, gravadas.getValue().get(0).positionSeconds());
+        verifyNoInteractions(enrollmentProgressService);
+    }
+
+    @Test
+    @DisplayName("Deve concluir a aula uma única vez ao passar da fração configurada da duração")
+    void deveConcluirAoPassarDaFracao() {
+        when(progressWriteBehind.offer(any(), any(), any())).thenReturn(Optional.empty());
+
+        playbackPositionService.report(1L, new DadosAtualizacaoPlayback(10L, 89), aluno);
+        verify(enrollmentProgressService, never()).recordCompletion(any(), any(), any());
+
+        playbackPositionService.report(1L, new DadosAtualizacaoPlayback(10L, 95), aluno);
+        playbackPositionService.report(1L, new DadosAtualizacaoPlayback(10L, 500), aluno);
+
+        verify(enrollmentProgressService, times(1)).recordCompletion(1L, 10L, 0);
+        Assertions.assertEquals(100, playbackPositionService.report(1L, new DadosAtualizacaoPlayback(10L, 500), aluno)
+                .positionSeconds());
+    }
+
+    @Test
+    @DisplayName("Deve negar o envio de outro usuário para uma posição já em memória")
+    void deveNegarOutroUsuario() {
+        playbackPositionService.report(1L, new DadosAtualizacaoPlayback(10L, 10), aluno);
+
+        UserJPA outro = new UserJPA();
+        ReflectionTestUtils.setField(outro, "id", 6L);
+        when(authorizationService.isAdmin(outro)).thenReturn(false);
+
+        Assertions.assertThrows(AccessDeniedException.class,
+                () -> playbackPositionService.report(1L, new DadosAtualizacaoPlayback(10L, 50), outro));
+        playbackPositionService.flush();
+        verify(playbackPositionRepository).upsertAll(argThat(posicoes -> posicoes.get(0).positionSeconds() == 10));
+    }
+}
@@ -0,0 +1,127 @@
+package com.thalyson.digitalcourses.course_platform_backend.enrollment.service;
+
+import com.thalyson.digitalcourses.course_platform_backend.repository.ProgressBatchRepository;
+import com.thalyson.digitalcourses.course_platform_backend.service.CompletedLessonBitmaps;
+import com.thalyson.digitalcourses.course_platform_backend.service.EnrollmentProgressService;
+import com.thalyson.digitalcourses.course_platform_backend.service.ProgressWriteBehind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressWriteBehindTest {
+
+    @Mock
+    private ProgressBatchRepository progressBatchRepository;
+
+    @Mock
+    private CompletedLessonBitmaps completedLessonBitmaps;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProgressWriteBehind writeBehind;
+
+    @BeforeEach
+    void setup() {
+        writeBehind = new ProgressWriteBehind();
+        ReflectionTestUtils.setField(writeBehind, "enabled", true);
+        // Intervalo longo: as gravações do teste são feitas à mão.
+        ReflectionTestUtils.setField(writeBehind, "flushIntervalMs", 3_600_000L);
+        ReflectionTestUtils.setField(writeBehind, "maxPending", 2);
+        // Serviço real: o teste confere os lotes que chegam ao repositório.
+        EnrollmentProgressService progressService = new EnrollmentProgressService();
+        ReflectionTestUtils.setField(progressService, "progressBatchRepository", progressBatchRepository);
+        ReflectionTestUtils.setField(progressService, "completedLessonBitmaps", completedLessonBitmaps);
+        ReflectionTestUtils.setField(writeBehind, "enrollmentProgressService", progressService);
+        ReflectionTestUtils.setField(writeBehind, "completedLessonBitmaps", completedLessonBitmaps);
+        ReflectionTestUtils.setField(writeBehind, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(writeBehind, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(writeBehind, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(writeBehind, "shutdown");
+    }
+
+    @Test
+    @DisplayName("Deve juntar as conclusões de cada matrícula e gravá-las em um único lote")
+    @SuppressWarnings("unchecked")
+    void deveJuntarPorMatriculaEGravarEmLote() {
+        writeBehind.offer(1L, 10L, 0);
+        writeBehind.offer(1L, 11L, 1);
+        writeBehind.offer(1L, 10L, 0);
+        writeBehind.offer(2L, 20L, 0);
+
+        ProgressWriteBehind.PendingProgress pendente = writeBehind.pendingFor(1L).orElseThrow();
+        Assertions.assertEquals(Set.of(10L, 11L), pendente.getLessonIds());
+        Assertions.assertEquals(10L, pendente.getLastWatchedLessonId());
+
+        when(progressBatchRepository.insertCompletedLessons(anyList())).thenReturn(new int[]{1, 0, 1});
+        ReflectionTestUtils.invokeMethod(writeBehind, "flush");
+
+        ArgumentCaptor<List<Object[]>> linhas = ArgumentCaptor.forClass(List.class);
+        verify(progressBatchRepository).insertCompletedLessons(linhas.capture());
+        Assertions.assertEquals(3, linhas.getValue().size());
+        // A aula 11 já estava concluída no banco e não soma no contador.
+        verify(progressBatchRepository).incrementCompletedCounts(Map.of(1L, 1, 2L, 1));
+        verify(progressBatchRepository).updateProgressAndLastWatched(eq(Map.of(1L, 10L, 2L, 20L)), any(LocalDateTime.class));
+        Assertions.assertTrue(writeBehind.pendingFor(1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve recusar novas matrículas com a fila cheia e ao desligar, gravando o que restou")
+    void deveRecusarComFilaCheiaEEsvaziarAoDesligar() {
+        Assertions.assertTrue(writeBehind.offer(1L, 10L, 0).isPresent());
+        Assertions.assertTrue(writeBehind.offer(2L, 20L, 0).isPresent());
+        Assertions.assertTrue(writeBehind.offer(3L, 30L, 0).isEmpty());
+        Assertions.assertTrue(writeBehind.offer(1L, 11L, 1).isPresent());
+
+        when(progressBatchRepository.insertCompletedLessons(anyList())).thenReturn(new int[]{1, 1, 1});
+        ReflectionTestUtils.invokeMethod(writeBehind, "shutdown");
+
+        verify(progressBatchRepository).insertCompletedLessons(anyList());
+        Assertions.assertTrue(writeBehind.pendingFor(1L).isEmpty());
+        Assertions.assertTrue(writeBehind.offer(1L, 12L, 2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve gravar uma matrícula por vez quando o lote falha, descartando só a que falhou")
+    void deveIsolarMatriculaQueFalha() {
+        writeBehind.offer(1L, 10L, 0);
+        writeBehind.offer(2L, 20L, 0);
+
+        when(progressBatchRepository.insertCompletedLessons(anyList())).thenAnswer(invocation -> {
+            List<Object[]> linhas = invocation.getArgument(0);
+            if (linhas.stream().anyMatch(linha -> linha[0].equals(2L))) {
+                throw new IllegalStateException("matrícula excluída");
+            }
+            return new int[]{1};
+        });
+        ReflectionTestUtils.invokeMethod(writeBehind, "flush");
+
+        verify(progressBatchRepository, times(3)).insertCompletedLessons(anyList());
+        verify(progressBatchRepository).updateProgressAndLastWatched(eq(Map.of(1L, 10L)), any(LocalDateTime.class));
+        verify(progressBatchRepository, never()).updateProgressAndLastWatched(eq(Map.of(2L, 20L)), any(LocalDateTime.class));
+        Assertions.assertTrue(writeBehind.pendingFor(2L).isEmpty());
+    }
+}